@@ -5,6 +5,8 @@ CREATE TABLE `t_group_0`
     `name`        varchar(64)  DEFAULT NULL COMMENT '分组名称',
     `username`    varchar(256) DEFAULT NULL COMMENT '创建分组用户名',
     `sort_order`  int(3) DEFAULT NULL COMMENT '分组排序',
+    `redirect_type`  smallint(3) DEFAULT NULL COMMENT '组内新建短链接默认跳转状态码，为空时 302',
+    `edge_cacheable` tinyint(1) DEFAULT NULL COMMENT '组内新建短链接默认边缘缓存标识，为空时不可缓存',
     `create_time` datetime     DEFAULT NULL COMMENT '创建时间',
     `update_time` datetime     DEFAULT NULL COMMENT '修改时间',
     `del_flag`    tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
@@ -19,6 +21,8 @@ CREATE TABLE `t_group_1`
     `name`        varchar(64)  DEFAULT NULL COMMENT '分组名称',
     `username`    varchar(256) DEFAULT NULL COMMENT '创建分组用户名',
     `sort_order`  int(3) DEFAULT NULL COMMENT '分组排序',
+    `redirect_type`  smallint(3) DEFAULT NULL COMMENT '组内新建短链接默认跳转状态码，为空时 302',
+    `edge_cacheable` tinyint(1) DEFAULT NULL COMMENT '组内新建短链接默认边缘缓存标识，为空时不可缓存',
     `create_time` datetime     DEFAULT NULL COMMENT '创建时间',
     `update_time` datetime     DEFAULT NULL COMMENT '修改时间',
     `del_flag`    tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
@@ -33,6 +37,8 @@ CREATE TABLE `t_group_10`
     `name`        varchar(64)  DEFAULT NULL COMMENT '分组名称',
     `username`    varchar(256) DEFAULT NULL COMMENT '创建分组用户名',
     `sort_order`  int(3) DEFAULT NULL COMMENT '分组排序',
+    `redirect_type`  smallint(3) DEFAULT NULL COMMENT '组内新建短链接默认跳转状态码，为空时 302',
+    `edge_cacheable` tinyint(1) DEFAULT NULL COMMENT '组内新建短链接默认边缘缓存标识，为空时不可缓存',
     `create_time` datetime     DEFAULT NULL COMMENT '创建时间',
     `update_time` datetime     DEFAULT NULL COMMENT '修改时间',
     `del_flag`    tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
@@ -47,6 +53,8 @@ CREATE TABLE `t_group_11`
     `name`        varchar(64)  DEFAULT NULL COMMENT '分组名称',
     `username`    varchar(256) DEFAULT NULL COMMENT '创建分组用户名',
     `sort_order`  int(3) DEFAULT NULL COMMENT '分组排序',
+    `redirect_type`  smallint(3) DEFAULT NULL COMMENT '组内新建短链接默认跳转状态码，为空时 302',
+    `edge_cacheable` tinyint(1) DEFAULT NULL COMMENT '组内新建短链接默认边缘缓存标识，为空时不可缓存',
     `create_time` datetime     DEFAULT NULL COMMENT '创建时间',
     `update_time` datetime     DEFAULT NULL COMMENT '修改时间',
     `del_flag`    tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
@@ -61,6 +69,8 @@ CREATE TABLE `t_group_12`
     `name`        varchar(64)  DEFAULT NULL COMMENT '分组名称',
     `username`    varchar(256) DEFAULT NULL COMMENT '创建分组用户名',
     `sort_order`  int(3) DEFAULT NULL COMMENT '分组排序',
+    `redirect_type`  smallint(3) DEFAULT NULL COMMENT '组内新建短链接默认跳转状态码，为空时 302',
+    `edge_cacheable` tinyint(1) DEFAULT NULL COMMENT '组内新建短链接默认边缘缓存标识，为空时不可缓存',
     `create_time` datetime     DEFAULT NULL COMMENT '创建时间',
     `update_time` datetime     DEFAULT NULL COMMENT '修改时间',
     `del_flag`    tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
@@ -75,6 +85,8 @@ CREATE TABLE `t_group_13`
     `name`        varchar(64)  DEFAULT NULL COMMENT '分组名称',
     `username`    varchar(256) DEFAULT NULL COMMENT '创建分组用户名',
     `sort_order`  int(3) DEFAULT NULL COMMENT '分组排序',
+    `redirect_type`  smallint(3) DEFAULT NULL COMMENT '组内新建短链接默认跳转状态码，为空时 302',
+    `edge_cacheable` tinyint(1) DEFAULT NULL COMMENT '组内新建短链接默认边缘缓存标识，为空时不可缓存',
     `create_time` datetime     DEFAULT NULL COMMENT '创建时间',
     `update_time` datetime     DEFAULT NULL COMMENT '修改时间',
     `del_flag`    tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
@@ -89,6 +101,8 @@ CREATE TABLE `t_group_14`
     `name`        varchar(64)  DEFAULT NULL COMMENT '分组名称',
     `username`    varchar(256) DEFAULT NULL COMMENT '创建分组用户名',
     `sort_order`  int(3) DEFAULT NULL COMMENT '分组排序',
+    `redirect_type`  smallint(3) DEFAULT NULL COMMENT '组内新建短链接默认跳转状态码，为空时 302',
+    `edge_cacheable` tinyint(1) DEFAULT NULL COMMENT '组内新建短链接默认边缘缓存标识，为空时不可缓存',
     `create_time` datetime     DEFAULT NULL COMMENT '创建时间',
     `update_time` datetime     DEFAULT NULL COMMENT '修改时间',
     `del_flag`    tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
@@ -103,6 +117,8 @@ CREATE TABLE `t_group_15`
     `name`        varchar(64)  DEFAULT NULL COMMENT '分组名称',
     `username`    varchar(256) DEFAULT NULL COMMENT '创建分组用户名',
     `sort_order`  int(3) DEFAULT NULL COMMENT '分组排序',
+    `redirect_type`  smallint(3) DEFAULT NULL COMMENT '组内新建短链接默认跳转状态码，为空时 302',
+    `edge_cacheable` tinyint(1) DEFAULT NULL COMMENT '组内新建短链接默认边缘缓存标识，为空时不可缓存',
     `create_time` datetime     DEFAULT NULL COMMENT '创建时间',
     `update_time` datetime     DEFAULT NULL COMMENT '修改时间',
     `del_flag`    tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
@@ -117,6 +133,8 @@ CREATE TABLE `t_group_2`
     `name`        varchar(64)  DEFAULT NULL COMMENT '分组名称',
     `username`    varchar(256) DEFAULT NULL COMMENT '创建分组用户名',
     `sort_order`  int(3) DEFAULT NULL COMMENT '分组排序',
+    `redirect_type`  smallint(3) DEFAULT NULL COMMENT '组内新建短链接默认跳转状态码，为空时 302',
+    `edge_cacheable` tinyint(1) DEFAULT NULL COMMENT '组内新建短链接默认边缘缓存标识，为空时不可缓存',
     `create_time` datetime     DEFAULT NULL COMMENT '创建时间',
     `update_time` datetime     DEFAULT NULL COMMENT '修改时间',
     `del_flag`    tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
@@ -131,6 +149,8 @@ CREATE TABLE `t_group_3`
     `name`        varchar(64)  DEFAULT NULL COMMENT '分组名称',
     `username`    varchar(256) DEFAULT NULL COMMENT '创建分组用户名',
     `sort_order`  int(3) DEFAULT NULL COMMENT '分组排序',
+    `redirect_type`  smallint(3) DEFAULT NULL COMMENT '组内新建短链接默认跳转状态码，为空时 302',
+    `edge_cacheable` tinyint(1) DEFAULT NULL COMMENT '组内新建短链接默认边缘缓存标识，为空时不可缓存',
     `create_time` datetime     DEFAULT NULL COMMENT '创建时间',
     `update_time` datetime     DEFAULT NULL COMMENT '修改时间',
     `del_flag`    tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
@@ -145,6 +165,8 @@ CREATE TABLE `t_group_4`
     `name`        varchar(64)  DEFAULT NULL COMMENT '分组名称',
     `username`    varchar(256) DEFAULT NULL COMMENT '创建分组用户名',
     `sort_order`  int(3) DEFAULT NULL COMMENT '分组排序',
+    `redirect_type`  smallint(3) DEFAULT NULL COMMENT '组内新建短链接默认跳转状态码，为空时 302',
+    `edge_cacheable` tinyint(1) DEFAULT NULL COMMENT '组内新建短链接默认边缘缓存标识，为空时不可缓存',
     `create_time` datetime     DEFAULT NULL COMMENT '创建时间',
     `update_time` datetime     DEFAULT NULL COMMENT '修改时间',
     `del_flag`    tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
@@ -159,6 +181,8 @@ CREATE TABLE `t_group_5`
     `name`        varchar(64)  DEFAULT NULL COMMENT '分组名称',
     `username`    varchar(256) DEFAULT NULL COMMENT '创建分组用户名',
     `sort_order`  int(3) DEFAULT NULL COMMENT '分组排序',
+    `redirect_type`  smallint(3) DEFAULT NULL COMMENT '组内新建短链接默认跳转状态码，为空时 302',
+    `edge_cacheable` tinyint(1) DEFAULT NULL COMMENT '组内新建短链接默认边缘缓存标识，为空时不可缓存',
     `create_time` datetime     DEFAULT NULL COMMENT '创建时间',
     `update_time` datetime     DEFAULT NULL COMMENT '修改时间',
     `del_flag`    tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
@@ -173,6 +197,8 @@ CREATE TABLE `t_group_6`
     `name`        varchar(64)  DEFAULT NULL COMMENT '分组名称',
     `username`    varchar(256) DEFAULT NULL COMMENT '创建分组用户名',
     `sort_order`  int(3) DEFAULT NULL COMMENT '分组排序',
+    `redirect_type`  smallint(3) DEFAULT NULL COMMENT '组内新建短链接默认跳转状态码，为空时 302',
+    `edge_cacheable` tinyint(1) DEFAULT NULL COMMENT '组内新建短链接默认边缘缓存标识，为空时不可缓存',
     `create_time` datetime     DEFAULT NULL COMMENT '创建时间',
     `update_time` datetime     DEFAULT NULL COMMENT '修改时间',
     `del_flag`    tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
@@ -187,6 +213,8 @@ CREATE TABLE `t_group_7`
     `name`        varchar(64)  DEFAULT NULL COMMENT '分组名称',
     `username`    varchar(256) DEFAULT NULL COMMENT '创建分组用户名',
     `sort_order`  int(3) DEFAULT NULL COMMENT '分组排序',
+    `redirect_type`  smallint(3) DEFAULT NULL COMMENT '组内新建短链接默认跳转状态码，为空时 302',
+    `edge_cacheable` tinyint(1) DEFAULT NULL COMMENT '组内新建短链接默认边缘缓存标识，为空时不可缓存',
     `create_time` datetime     DEFAULT NULL COMMENT '创建时间',
     `update_time` datetime     DEFAULT NULL COMMENT '修改时间',
     `del_flag`    tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
@@ -201,6 +229,8 @@ CREATE TABLE `t_group_8`
     `name`        varchar(64)  DEFAULT NULL COMMENT '分组名称',
     `username`    varchar(256) DEFAULT NULL COMMENT '创建分组用户名',
     `sort_order`  int(3) DEFAULT NULL COMMENT '分组排序',
+    `redirect_type`  smallint(3) DEFAULT NULL COMMENT '组内新建短链接默认跳转状态码，为空时 302',
+    `edge_cacheable` tinyint(1) DEFAULT NULL COMMENT '组内新建短链接默认边缘缓存标识，为空时不可缓存',
     `create_time` datetime     DEFAULT NULL COMMENT '创建时间',
     `update_time` datetime     DEFAULT NULL COMMENT '修改时间',
     `del_flag`    tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
@@ -215,6 +245,8 @@ CREATE TABLE `t_group_9`
     `name`        varchar(64)  DEFAULT NULL COMMENT '分组名称',
     `username`    varchar(256) DEFAULT NULL COMMENT '创建分组用户名',
     `sort_order`  int(3) DEFAULT NULL COMMENT '分组排序',
+    `redirect_type`  smallint(3) DEFAULT NULL COMMENT '组内新建短链接默认跳转状态码，为空时 302',
+    `edge_cacheable` tinyint(1) DEFAULT NULL COMMENT '组内新建短链接默认边缘缓存标识，为空时不可缓存',
     `create_time` datetime     DEFAULT NULL COMMENT '创建时间',
     `update_time` datetime     DEFAULT NULL COMMENT '修改时间',
     `del_flag`    tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
@@ -245,6 +277,10 @@ CREATE TABLE `t_link_0`
     `valid_date_type` tinyint(1) DEFAULT NULL COMMENT '有效期类型 0：永久有效 1：自定义',
     `valid_date`      datetime                                       DEFAULT NULL COMMENT '有效期',
     `describe`        varchar(1024)                                  DEFAULT NULL COMMENT '描述',
+    `redirect_type`   smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable`  tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules`  json                                           DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json                                         DEFAULT NULL COMMENT '加权分流目标',
     `total_pv`        int(11) DEFAULT NULL COMMENT '历史PV',
     `total_uv`        int(11) DEFAULT NULL COMMENT '历史UV',
     `total_uip`       int(11) DEFAULT NULL COMMENT '历史UIP',
@@ -271,6 +307,10 @@ CREATE TABLE `t_link_1`
     `valid_date_type` tinyint(1) DEFAULT NULL COMMENT '有效期类型 0：永久有效 1：自定义',
     `valid_date`      datetime                                       DEFAULT NULL COMMENT '有效期',
     `describe`        varchar(1024)                                  DEFAULT NULL COMMENT '描述',
+    `redirect_type`   smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable`  tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules`  json                                           DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json                                         DEFAULT NULL COMMENT '加权分流目标',
     `total_pv`        int(11) DEFAULT NULL COMMENT '历史PV',
     `total_uv`        int(11) DEFAULT NULL COMMENT '历史UV',
     `total_uip`       int(11) DEFAULT NULL COMMENT '历史UIP',
@@ -297,6 +337,10 @@ CREATE TABLE `t_link_10`
     `valid_date_type` tinyint(1) DEFAULT NULL COMMENT '有效期类型 0：永久有效 1：自定义',
     `valid_date`      datetime                                       DEFAULT NULL COMMENT '有效期',
     `describe`        varchar(1024)                                  DEFAULT NULL COMMENT '描述',
+    `redirect_type`   smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable`  tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules`  json                                           DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json                                         DEFAULT NULL COMMENT '加权分流目标',
     `total_pv`        int(11) DEFAULT NULL COMMENT '历史PV',
     `total_uv`        int(11) DEFAULT NULL COMMENT '历史UV',
     `total_uip`       int(11) DEFAULT NULL COMMENT '历史UIP',
@@ -323,6 +367,10 @@ CREATE TABLE `t_link_11`
     `valid_date_type` tinyint(1) DEFAULT NULL COMMENT '有效期类型 0：永久有效 1：自定义',
     `valid_date`      datetime                                       DEFAULT NULL COMMENT '有效期',
     `describe`        varchar(1024)                                  DEFAULT NULL COMMENT '描述',
+    `redirect_type`   smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable`  tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules`  json                                           DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json                                         DEFAULT NULL COMMENT '加权分流目标',
     `total_pv`        int(11) DEFAULT NULL COMMENT '历史PV',
     `total_uv`        int(11) DEFAULT NULL COMMENT '历史UV',
     `total_uip`       int(11) DEFAULT NULL COMMENT '历史UIP',
@@ -349,6 +397,10 @@ CREATE TABLE `t_link_12`
     `valid_date_type` tinyint(1) DEFAULT NULL COMMENT '有效期类型 0：永久有效 1：自定义',
     `valid_date`      datetime                                       DEFAULT NULL COMMENT '有效期',
     `describe`        varchar(1024)                                  DEFAULT NULL COMMENT '描述',
+    `redirect_type`   smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable`  tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules`  json                                           DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json                                         DEFAULT NULL COMMENT '加权分流目标',
     `total_pv`        int(11) DEFAULT NULL COMMENT '历史PV',
     `total_uv`        int(11) DEFAULT NULL COMMENT '历史UV',
     `total_uip`       int(11) DEFAULT NULL COMMENT '历史UIP',
@@ -375,6 +427,10 @@ CREATE TABLE `t_link_13`
     `valid_date_type` tinyint(1) DEFAULT NULL COMMENT '有效期类型 0：永久有效 1：自定义',
     `valid_date`      datetime                                       DEFAULT NULL COMMENT '有效期',
     `describe`        varchar(1024)                                  DEFAULT NULL COMMENT '描述',
+    `redirect_type`   smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable`  tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules`  json                                           DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json                                         DEFAULT NULL COMMENT '加权分流目标',
     `total_pv`        int(11) DEFAULT NULL COMMENT '历史PV',
     `total_uv`        int(11) DEFAULT NULL COMMENT '历史UV',
     `total_uip`       int(11) DEFAULT NULL COMMENT '历史UIP',
@@ -401,6 +457,10 @@ CREATE TABLE `t_link_14`
     `valid_date_type` tinyint(1) DEFAULT NULL COMMENT '有效期类型 0：永久有效 1：自定义',
     `valid_date`      datetime                                       DEFAULT NULL COMMENT '有效期',
     `describe`        varchar(1024)                                  DEFAULT NULL COMMENT '描述',
+    `redirect_type`   smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable`  tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules`  json                                           DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json                                         DEFAULT NULL COMMENT '加权分流目标',
     `total_pv`        int(11) DEFAULT NULL COMMENT '历史PV',
     `total_uv`        int(11) DEFAULT NULL COMMENT '历史UV',
     `total_uip`       int(11) DEFAULT NULL COMMENT '历史UIP',
@@ -427,6 +487,10 @@ CREATE TABLE `t_link_15`
     `valid_date_type` tinyint(1) DEFAULT NULL COMMENT '有效期类型 0：永久有效 1：自定义',
     `valid_date`      datetime                                       DEFAULT NULL COMMENT '有效期',
     `describe`        varchar(1024)                                  DEFAULT NULL COMMENT '描述',
+    `redirect_type`   smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable`  tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules`  json                                           DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json                                         DEFAULT NULL COMMENT '加权分流目标',
     `total_pv`        int(11) DEFAULT NULL COMMENT '历史PV',
     `total_uv`        int(11) DEFAULT NULL COMMENT '历史UV',
     `total_uip`       int(11) DEFAULT NULL COMMENT '历史UIP',
@@ -453,6 +517,10 @@ CREATE TABLE `t_link_2`
     `valid_date_type` tinyint(1) DEFAULT NULL COMMENT '有效期类型 0：永久有效 1：自定义',
     `valid_date`      datetime                                       DEFAULT NULL COMMENT '有效期',
     `describe`        varchar(1024)                                  DEFAULT NULL COMMENT '描述',
+    `redirect_type`   smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable`  tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules`  json                                           DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json                                         DEFAULT NULL COMMENT '加权分流目标',
     `total_pv`        int(11) DEFAULT NULL COMMENT '历史PV',
     `total_uv`        int(11) DEFAULT NULL COMMENT '历史UV',
     `total_uip`       int(11) DEFAULT NULL COMMENT '历史UIP',
@@ -479,6 +547,10 @@ CREATE TABLE `t_link_3`
     `valid_date_type` tinyint(1) DEFAULT NULL COMMENT '有效期类型 0：永久有效 1：自定义',
     `valid_date`      datetime                                       DEFAULT NULL COMMENT '有效期',
     `describe`        varchar(1024)                                  DEFAULT NULL COMMENT '描述',
+    `redirect_type`   smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable`  tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules`  json                                           DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json                                         DEFAULT NULL COMMENT '加权分流目标',
     `total_pv`        int(11) DEFAULT NULL COMMENT '历史PV',
     `total_uv`        int(11) DEFAULT NULL COMMENT '历史UV',
     `total_uip`       int(11) DEFAULT NULL COMMENT '历史UIP',
@@ -505,6 +577,10 @@ CREATE TABLE `t_link_4`
     `valid_date_type` tinyint(1) DEFAULT NULL COMMENT '有效期类型 0：永久有效 1：自定义',
     `valid_date`      datetime                                       DEFAULT NULL COMMENT '有效期',
     `describe`        varchar(1024)                                  DEFAULT NULL COMMENT '描述',
+    `redirect_type`   smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable`  tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules`  json                                           DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json                                         DEFAULT NULL COMMENT '加权分流目标',
     `total_pv`        int(11) DEFAULT NULL COMMENT '历史PV',
     `total_uv`        int(11) DEFAULT NULL COMMENT '历史UV',
     `total_uip`       int(11) DEFAULT NULL COMMENT '历史UIP',
@@ -531,6 +607,10 @@ CREATE TABLE `t_link_5`
     `valid_date_type` tinyint(1) DEFAULT NULL COMMENT '有效期类型 0：永久有效 1：自定义',
     `valid_date`      datetime                                       DEFAULT NULL COMMENT '有效期',
     `describe`        varchar(1024)                                  DEFAULT NULL COMMENT '描述',
+    `redirect_type`   smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable`  tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules`  json                                           DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json                                         DEFAULT NULL COMMENT '加权分流目标',
     `total_pv`        int(11) DEFAULT NULL COMMENT '历史PV',
     `total_uv`        int(11) DEFAULT NULL COMMENT '历史UV',
     `total_uip`       int(11) DEFAULT NULL COMMENT '历史UIP',
@@ -557,6 +637,10 @@ CREATE TABLE `t_link_6`
     `valid_date_type` tinyint(1) DEFAULT NULL COMMENT '有效期类型 0：永久有效 1：自定义',
     `valid_date`      datetime                                       DEFAULT NULL COMMENT '有效期',
     `describe`        varchar(1024)                                  DEFAULT NULL COMMENT '描述',
+    `redirect_type`   smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable`  tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules`  json                                           DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json                                         DEFAULT NULL COMMENT '加权分流目标',
     `total_pv`        int(11) DEFAULT NULL COMMENT '历史PV',
     `total_uv`        int(11) DEFAULT NULL COMMENT '历史UV',
     `total_uip`       int(11) DEFAULT NULL COMMENT '历史UIP',
@@ -583,6 +667,10 @@ CREATE TABLE `t_link_7`
     `valid_date_type` tinyint(1) DEFAULT NULL COMMENT '有效期类型 0：永久有效 1：自定义',
     `valid_date`      datetime                                       DEFAULT NULL COMMENT '有效期',
     `describe`        varchar(1024)                                  DEFAULT NULL COMMENT '描述',
+    `redirect_type`   smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable`  tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules`  json                                           DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json                                         DEFAULT NULL COMMENT '加权分流目标',
     `total_pv`        int(11) DEFAULT NULL COMMENT '历史PV',
     `total_uv`        int(11) DEFAULT NULL COMMENT '历史UV',
     `total_uip`       int(11) DEFAULT NULL COMMENT '历史UIP',
@@ -609,6 +697,10 @@ CREATE TABLE `t_link_8`
     `valid_date_type` tinyint(1) DEFAULT NULL COMMENT '有效期类型 0：永久有效 1：自定义',
     `valid_date`      datetime                                       DEFAULT NULL COMMENT '有效期',
     `describe`        varchar(1024)                                  DEFAULT NULL COMMENT '描述',
+    `redirect_type`   smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable`  tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules`  json                                           DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json                                         DEFAULT NULL COMMENT '加权分流目标',
     `total_pv`        int(11) DEFAULT NULL COMMENT '历史PV',
     `total_uv`        int(11) DEFAULT NULL COMMENT '历史UV',
     `total_uip`       int(11) DEFAULT NULL COMMENT '历史UIP',
@@ -635,6 +727,10 @@ CREATE TABLE `t_link_9`
     `valid_date_type` tinyint(1) DEFAULT NULL COMMENT '有效期类型 0：永久有效 1：自定义',
     `valid_date`      datetime                                       DEFAULT NULL COMMENT '有效期',
     `describe`        varchar(1024)                                  DEFAULT NULL COMMENT '描述',
+    `redirect_type`   smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable`  tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules`  json                                           DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json                                         DEFAULT NULL COMMENT '加权分流目标',
     `total_pv`        int(11) DEFAULT NULL COMMENT '历史PV',
     `total_uv`        int(11) DEFAULT NULL COMMENT '历史UV',
     `total_uip`       int(11) DEFAULT NULL COMMENT '历史UIP',
@@ -712,12 +808,35 @@ CREATE TABLE `t_link_device_stats`
     UNIQUE KEY `idx_unique_browser_stats` (`full_short_url`,`date`,`device`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+CREATE TABLE `t_link_variant_stats`
+(
+    `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
+    `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `date`           date         DEFAULT NULL COMMENT '日期',
+    `cnt`            int(11) DEFAULT NULL COMMENT '访问量',
+    `variant`        int(11) DEFAULT NULL COMMENT '分流目标下标',
+    `create_time`    datetime     DEFAULT NULL COMMENT '创建时间',
+    `update_time`    datetime     DEFAULT NULL COMMENT '修改时间',
+    `del_flag`       tinyint(1) DEFAULT NULL COMMENT '删除标识 0：未删除 1：已删除',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `idx_unique_variant_stats` (`full_short_url`,`date`,`variant`) USING BTREE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
 
 CREATE TABLE `t_link_goto_0`
 (
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接（冗余 t_link 跳转字段，为空表示尚未回填）',
+    `valid_date`     datetime     DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)   DEFAULT '0' COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)   DEFAULT '0' COMMENT '删除标识 0：未删除 1：已删除',
+    `redirect_type`  smallint(3)  DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable` tinyint(1)   DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules` json         DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json      DEFAULT NULL COMMENT '加权分流目标',
+    `update_time`    datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -727,6 +846,15 @@ CREATE TABLE `t_link_goto_1`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接（冗余 t_link 跳转字段，为空表示尚未回填）',
+    `valid_date`     datetime     DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)   DEFAULT '0' COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)   DEFAULT '0' COMMENT '删除标识 0：未删除 1：已删除',
+    `redirect_type`  smallint(3)  DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable` tinyint(1)   DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules` json         DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json      DEFAULT NULL COMMENT '加权分流目标',
+    `update_time`    datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -736,6 +864,15 @@ CREATE TABLE `t_link_goto_10`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接（冗余 t_link 跳转字段，为空表示尚未回填）',
+    `valid_date`     datetime     DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)   DEFAULT '0' COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)   DEFAULT '0' COMMENT '删除标识 0：未删除 1：已删除',
+    `redirect_type`  smallint(3)  DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable` tinyint(1)   DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules` json         DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json      DEFAULT NULL COMMENT '加权分流目标',
+    `update_time`    datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -745,6 +882,15 @@ CREATE TABLE `t_link_goto_11`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接（冗余 t_link 跳转字段，为空表示尚未回填）',
+    `valid_date`     datetime     DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)   DEFAULT '0' COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)   DEFAULT '0' COMMENT '删除标识 0：未删除 1：已删除',
+    `redirect_type`  smallint(3)  DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable` tinyint(1)   DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules` json         DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json      DEFAULT NULL COMMENT '加权分流目标',
+    `update_time`    datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -754,6 +900,15 @@ CREATE TABLE `t_link_goto_12`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接（冗余 t_link 跳转字段，为空表示尚未回填）',
+    `valid_date`     datetime     DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)   DEFAULT '0' COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)   DEFAULT '0' COMMENT '删除标识 0：未删除 1：已删除',
+    `redirect_type`  smallint(3)  DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable` tinyint(1)   DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules` json         DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json      DEFAULT NULL COMMENT '加权分流目标',
+    `update_time`    datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -763,6 +918,15 @@ CREATE TABLE `t_link_goto_13`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接（冗余 t_link 跳转字段，为空表示尚未回填）',
+    `valid_date`     datetime     DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)   DEFAULT '0' COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)   DEFAULT '0' COMMENT '删除标识 0：未删除 1：已删除',
+    `redirect_type`  smallint(3)  DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable` tinyint(1)   DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules` json         DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json      DEFAULT NULL COMMENT '加权分流目标',
+    `update_time`    datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -772,6 +936,15 @@ CREATE TABLE `t_link_goto_14`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接（冗余 t_link 跳转字段，为空表示尚未回填）',
+    `valid_date`     datetime     DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)   DEFAULT '0' COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)   DEFAULT '0' COMMENT '删除标识 0：未删除 1：已删除',
+    `redirect_type`  smallint(3)  DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable` tinyint(1)   DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules` json         DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json      DEFAULT NULL COMMENT '加权分流目标',
+    `update_time`    datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -781,6 +954,15 @@ CREATE TABLE `t_link_goto_15`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接（冗余 t_link 跳转字段，为空表示尚未回填）',
+    `valid_date`     datetime     DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)   DEFAULT '0' COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)   DEFAULT '0' COMMENT '删除标识 0：未删除 1：已删除',
+    `redirect_type`  smallint(3)  DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable` tinyint(1)   DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules` json         DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json      DEFAULT NULL COMMENT '加权分流目标',
+    `update_time`    datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -790,6 +972,15 @@ CREATE TABLE `t_link_goto_2`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接（冗余 t_link 跳转字段，为空表示尚未回填）',
+    `valid_date`     datetime     DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)   DEFAULT '0' COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)   DEFAULT '0' COMMENT '删除标识 0：未删除 1：已删除',
+    `redirect_type`  smallint(3)  DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable` tinyint(1)   DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules` json         DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json      DEFAULT NULL COMMENT '加权分流目标',
+    `update_time`    datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -799,6 +990,15 @@ CREATE TABLE `t_link_goto_3`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接（冗余 t_link 跳转字段，为空表示尚未回填）',
+    `valid_date`     datetime     DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)   DEFAULT '0' COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)   DEFAULT '0' COMMENT '删除标识 0：未删除 1：已删除',
+    `redirect_type`  smallint(3)  DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable` tinyint(1)   DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules` json         DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json      DEFAULT NULL COMMENT '加权分流目标',
+    `update_time`    datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -808,6 +1008,15 @@ CREATE TABLE `t_link_goto_4`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接（冗余 t_link 跳转字段，为空表示尚未回填）',
+    `valid_date`     datetime     DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)   DEFAULT '0' COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)   DEFAULT '0' COMMENT '删除标识 0：未删除 1：已删除',
+    `redirect_type`  smallint(3)  DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable` tinyint(1)   DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules` json         DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json      DEFAULT NULL COMMENT '加权分流目标',
+    `update_time`    datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -817,6 +1026,15 @@ CREATE TABLE `t_link_goto_5`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接（冗余 t_link 跳转字段，为空表示尚未回填）',
+    `valid_date`     datetime     DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)   DEFAULT '0' COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)   DEFAULT '0' COMMENT '删除标识 0：未删除 1：已删除',
+    `redirect_type`  smallint(3)  DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable` tinyint(1)   DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules` json         DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json      DEFAULT NULL COMMENT '加权分流目标',
+    `update_time`    datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -826,6 +1044,15 @@ CREATE TABLE `t_link_goto_6`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接（冗余 t_link 跳转字段，为空表示尚未回填）',
+    `valid_date`     datetime     DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)   DEFAULT '0' COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)   DEFAULT '0' COMMENT '删除标识 0：未删除 1：已删除',
+    `redirect_type`  smallint(3)  DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable` tinyint(1)   DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules` json         DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json      DEFAULT NULL COMMENT '加权分流目标',
+    `update_time`    datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -835,6 +1062,15 @@ CREATE TABLE `t_link_goto_7`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接（冗余 t_link 跳转字段，为空表示尚未回填）',
+    `valid_date`     datetime     DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)   DEFAULT '0' COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)   DEFAULT '0' COMMENT '删除标识 0：未删除 1：已删除',
+    `redirect_type`  smallint(3)  DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable` tinyint(1)   DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules` json         DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json      DEFAULT NULL COMMENT '加权分流目标',
+    `update_time`    datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -844,6 +1080,15 @@ CREATE TABLE `t_link_goto_8`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接（冗余 t_link 跳转字段，为空表示尚未回填）',
+    `valid_date`     datetime     DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)   DEFAULT '0' COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)   DEFAULT '0' COMMENT '删除标识 0：未删除 1：已删除',
+    `redirect_type`  smallint(3)  DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable` tinyint(1)   DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules` json         DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json      DEFAULT NULL COMMENT '加权分流目标',
+    `update_time`    datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -853,6 +1098,15 @@ CREATE TABLE `t_link_goto_9`
     `id`             bigint(20) NOT NULL AUTO_INCREMENT COMMENT 'ID',
     `gid`            varchar(32)  DEFAULT 'default' COMMENT '分组标识',
     `full_short_url` varchar(128) DEFAULT NULL COMMENT '完整短链接',
+    `origin_url`     varchar(1024) DEFAULT NULL COMMENT '原始链接（冗余 t_link 跳转字段，为空表示尚未回填）',
+    `valid_date`     datetime     DEFAULT NULL COMMENT '有效期',
+    `enable_status`  tinyint(1)   DEFAULT '0' COMMENT '启用标识 0：启用 1：未启用',
+    `del_flag`       tinyint(1)   DEFAULT '0' COMMENT '删除标识 0：未删除 1：已删除',
+    `redirect_type`  smallint(3)  DEFAULT '302' COMMENT '跳转状态码 301/302/307/308',
+    `edge_cacheable` tinyint(1)   DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存',
+    `redirect_rules` json         DEFAULT NULL COMMENT '条件跳转规则',
+    `redirect_variants` json      DEFAULT NULL COMMENT '加权分流目标',
+    `update_time`    datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间',
     PRIMARY KEY (`id`),
     UNIQUE KEY `idx_full_short_url` (`full_short_url`) USING BTREE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -961,4 +1215,24 @@ CREATE TABLE `t_link_first_visit`
     PRIMARY KEY (`id`),
     UNIQUE KEY `uniq_url_user` (`full_short_url`, `user`) USING BTREE,
     KEY              `idx_create_time` (`create_time`) USING BTREE
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='首次访问判重表，利用唯一索引实现高并发去重';
\ No newline at end of file
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='首次访问判重表，利用唯一索引实现高并发去重';
+-- 已有部署升级：t_link_0 ~ t_link_15 新增跳转策略字段（逐表执行）
+-- ALTER TABLE `t_link_0` ADD COLUMN `redirect_type` smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308' AFTER `describe`,
+--     ADD COLUMN `edge_cacheable` tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存' AFTER `redirect_type`;
+-- 已有部署升级：t_group_0 ~ t_group_15 新增分组默认跳转策略字段（逐表执行）
+-- ALTER TABLE `t_group_0` ADD COLUMN `redirect_type` smallint(3) DEFAULT NULL COMMENT '组内新建短链接默认跳转状态码，为空时 302' AFTER `sort_order`,
+--     ADD COLUMN `edge_cacheable` tinyint(1) DEFAULT NULL COMMENT '组内新建短链接默认边缘缓存标识，为空时不可缓存' AFTER `redirect_type`;
+-- 已有部署升级：t_link_0 ~ t_link_15 新增条件跳转规则字段（逐表执行）
+-- ALTER TABLE `t_link_0` ADD COLUMN `redirect_rules` json DEFAULT NULL COMMENT '条件跳转规则' AFTER `edge_cacheable`;
+-- 已有部署升级：t_link_0 ~ t_link_15 新增加权分流目标字段（逐表执行），并创建 t_link_variant_stats
+-- ALTER TABLE `t_link_0` ADD COLUMN `redirect_variants` json DEFAULT NULL COMMENT '加权分流目标' AFTER `redirect_rules`;
+-- 已有部署升级：t_link_goto_0 ~ t_link_goto_15 冗余跳转字段（逐表执行），随后以 short-link.redirect.goto-backfill.enable=true 启动一次回填存量数据
+-- ALTER TABLE `t_link_goto_0` ADD COLUMN `origin_url` varchar(1024) DEFAULT NULL COMMENT '原始链接（冗余 t_link 跳转字段，为空表示尚未回填）' AFTER `full_short_url`,
+--     ADD COLUMN `valid_date` datetime DEFAULT NULL COMMENT '有效期' AFTER `origin_url`,
+--     ADD COLUMN `enable_status` tinyint(1) DEFAULT '0' COMMENT '启用标识 0：启用 1：未启用' AFTER `valid_date`,
+--     ADD COLUMN `del_flag` tinyint(1) DEFAULT '0' COMMENT '删除标识 0：未删除 1：已删除' AFTER `enable_status`,
+--     ADD COLUMN `redirect_type` smallint(3) DEFAULT '302' COMMENT '跳转状态码 301/302/307/308' AFTER `del_flag`,
+--     ADD COLUMN `edge_cacheable` tinyint(1) DEFAULT '0' COMMENT '边缘缓存标识 0：不可缓存 1：可缓存' AFTER `redirect_type`,
+--     ADD COLUMN `redirect_rules` json DEFAULT NULL COMMENT '条件跳转规则' AFTER `edge_cacheable`,
+--     ADD COLUMN `redirect_variants` json DEFAULT NULL COMMENT '加权分流目标' AFTER `redirect_rules`,
+--     ADD COLUMN `update_time` datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '修改时间' AFTER `redirect_variants`;
@@ -0,0 +1,107 @@
+package dev.chanler.shortlink.benchmark;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import dev.chanler.shortlink.common.cache.RedirectEntry;
+import dev.chanler.shortlink.common.cache.RedirectLocalCache;
+import dev.chanler.shortlink.common.cache.RedirectRefresher;
+import dev.chanler.shortlink.common.cache.RedirectStaleCache;
+import dev.chanler.shortlink.common.config.LocalCacheConfiguration;
+import dev.chanler.shortlink.common.config.RedirectProperties;
+import dev.chanler.shortlink.toolkit.LinkUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地跳转缓存两种模式的查询基准
+ * caffeine 为以完整短链接 String 为 key 的 Caffeine 缓存（code-indexed: false），
+ * codeIndexed 为按域名分表、以解码后短码 long 为 key 的有界线性探测数组（code-indexed: true）；
+ * 每次操作都按请求路径重新构建完整短链接，hit 查询已写入的短码，miss 查询未写入的短码，put 覆盖写入已有短码；
+ * 以 -prof gc 运行，gc.alloc.rate.norm 即每次查询分配的字节数
+ * @author: Chanler
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodeIndexedCacheBenchmark {
+
+    private static final String BASE62 = "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String SERVER_NAME = "nurl.ink";
+    private static final int SERVER_PORT = 8001;
+    private static final String ORIGIN_URL = "https://chanler.dev/posts/shortlink?utm_source=benchmark";
+    private static final int LINKS = 1 << 16;
+
+    @Param({"caffeine", "codeIndexed"})
+    public String mode;
+
+    private final String[] cached = new String[LINKS];
+    private final String[] absent = new String[LINKS];
+    private int cursor;
+
+    private RedirectRefresher redirectRefresher;
+    private RedirectLocalCache redirectLocalCache;
+    private RedirectEntry entry;
+
+    @Setup
+    public void setup() {
+        RedirectProperties redirectProperties = new RedirectProperties();
+        redirectProperties.getLocalCache().setCodeIndexed("codeIndexed".equals(mode));
+        RedirectStaleCache redirectStaleCache = new RedirectStaleCache(redirectProperties);
+        redirectStaleCache.init();
+        redirectRefresher = new RedirectRefresher(redirectProperties);
+        redirectRefresher.init();
+        Cache<String, RedirectEntry> redirectCache = new LocalCacheConfiguration()
+                .redirectCache(redirectProperties, redirectStaleCache, redirectRefresher);
+        redirectLocalCache = new RedirectLocalCache(redirectProperties, redirectCache, redirectStaleCache, redirectRefresher);
+        entry = RedirectEntry.ofRedis(ORIGIN_URL, -1L, null);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < LINKS; i++) {
+            cached[i] = randomCode(random);
+            absent[i] = randomCode(random);
+            redirectLocalCache.put(LinkUtil.buildFullShortUrl(SERVER_NAME, SERVER_PORT, cached[i]), entry);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        redirectRefresher.shutdown();
+    }
+
+    private static String randomCode(SplittableRandom random) {
+        char[] chars = new char[6];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = BASE62.charAt(random.nextInt(BASE62.length()));
+        }
+        return new String(chars);
+    }
+
+    @Benchmark
+    public RedirectEntry hit() {
+        return redirectLocalCache.getIfPresent(LinkUtil.buildFullShortUrl(SERVER_NAME, SERVER_PORT, cached[cursor++ & (LINKS - 1)]));
+    }
+
+    @Benchmark
+    public RedirectEntry miss() {
+        return redirectLocalCache.getIfPresent(LinkUtil.buildFullShortUrl(SERVER_NAME, SERVER_PORT, absent[cursor++ & (LINKS - 1)]));
+    }
+
+    @Benchmark
+    public void put() {
+        redirectLocalCache.put(LinkUtil.buildFullShortUrl(SERVER_NAME, SERVER_PORT, cached[cursor++ & (LINKS - 1)]), entry);
+    }
+}
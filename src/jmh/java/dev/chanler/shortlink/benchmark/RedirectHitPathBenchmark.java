@@ -0,0 +1,131 @@
+package dev.chanler.shortlink.benchmark;
+
+import cn.hutool.core.text.StrBuilder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.chanler.shortlink.common.cache.RedirectEntry;
+import dev.chanler.shortlink.common.cache.RedirectLocalCache;
+import dev.chanler.shortlink.common.cache.RedirectRefresher;
+import dev.chanler.shortlink.common.cache.RedirectStaleCache;
+import dev.chanler.shortlink.common.config.LocalCacheConfiguration;
+import dev.chanler.shortlink.common.config.RedirectProperties;
+import dev.chanler.shortlink.toolkit.LinkUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_IS_NULL_SHORT_LINK_KEY_PREFIX;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_POLICY_SHORT_LINK_KEY_PREFIX;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY_PREFIX;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.linkKey;
+
+/**
+ * 跳转命中路径分配基准
+ * legacy* 为改造前写法（Optional 拼端口 + StrBuilder 拼完整短链接、String.format 拼 Redis key），
+ * 其余为当前写法（线程复用前缀的构建器、预编码 Location 的本地缓存条目、前缀拼接 key）；
+ * 以 -prof gc 运行，gc.alloc.rate.norm 即每次跳转分配的字节数
+ * @author: Chanler
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedirectHitPathBenchmark {
+
+    private static final String SERVER_NAME = "nurl.ink";
+    private static final int SERVER_PORT = 8001;
+    private static final String ORIGIN_URL = "https://chanler.dev/posts/shortlink?utm_source=benchmark";
+    private static final int LINKS = 1024;
+
+    private final String[] shortUris = new String[LINKS];
+    private int cursor;
+
+    private RedirectRefresher redirectRefresher;
+    private RedirectLocalCache redirectLocalCache;
+    private Cache<String, String> legacyRedirectCache;
+
+    @Setup
+    public void setup() {
+        RedirectProperties redirectProperties = new RedirectProperties();
+        RedirectStaleCache redirectStaleCache = new RedirectStaleCache(redirectProperties);
+        redirectStaleCache.init();
+        redirectRefresher = new RedirectRefresher(redirectProperties);
+        redirectRefresher.init();
+        Cache<String, RedirectEntry> redirectCache = new LocalCacheConfiguration()
+                .redirectCache(redirectProperties, redirectStaleCache, redirectRefresher);
+        redirectLocalCache = new RedirectLocalCache(redirectProperties, redirectCache, redirectStaleCache, redirectRefresher);
+        // 改造前的 redirectCache 配置
+        legacyRedirectCache = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterAccess(Duration.ofMinutes(5))
+                .recordStats()
+                .build();
+        RedirectEntry entry = RedirectEntry.ofRedis(ORIGIN_URL, -1L, null);
+        for (int i = 0; i < LINKS; i++) {
+            shortUris[i] = String.format("%06d", i * 7919);
+            String fullShortUrl = SERVER_NAME + ":" + SERVER_PORT + "/" + shortUris[i];
+            redirectLocalCache.put(fullShortUrl, entry);
+            legacyRedirectCache.put(fullShortUrl, ORIGIN_URL);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        redirectRefresher.shutdown();
+    }
+
+    private String nextShortUri() {
+        return shortUris[cursor++ & (LINKS - 1)];
+    }
+
+    @Benchmark
+    public String legacyHit() {
+        String serverPort = Optional.of(SERVER_PORT)
+                .filter(each -> !Objects.equals(each, 80))
+                .map(String::valueOf)
+                .map(each -> ":" + each)
+                .orElse("");
+        String fullShortUrl = StrBuilder.create(SERVER_NAME)
+                .append(serverPort)
+                .append("/")
+                .append(nextShortUri())
+                .toString();
+        return legacyRedirectCache.getIfPresent(fullShortUrl);
+    }
+
+    @Benchmark
+    public String hit() {
+        String fullShortUrl = LinkUtil.buildFullShortUrl(SERVER_NAME, SERVER_PORT, nextShortUri());
+        return redirectLocalCache.getIfPresent(fullShortUrl).location();
+    }
+
+    @Benchmark
+    public int legacyRedisKeys() {
+        String fullShortUrl = LinkUtil.buildFullShortUrl(SERVER_NAME, SERVER_PORT, nextShortUri());
+        return String.format("short-link:goto:%s", fullShortUrl).length()
+                + String.format("short-link:is-null:goto_%s", fullShortUrl).length();
+    }
+
+    @Benchmark
+    public int redisKeys() {
+        String fullShortUrl = LinkUtil.buildFullShortUrl(SERVER_NAME, SERVER_PORT, nextShortUri());
+        return linkKey(GOTO_SHORT_LINK_KEY_PREFIX, fullShortUrl).length()
+                + linkKey(GOTO_IS_NULL_SHORT_LINK_KEY_PREFIX, fullShortUrl).length()
+                + linkKey(GOTO_POLICY_SHORT_LINK_KEY_PREFIX, fullShortUrl).length();
+    }
+}
@@ -0,0 +1,139 @@
+package dev.chanler.shortlink.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import dev.chanler.shortlink.common.web.RedirectListenerExecutor;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 独立跳转监听器过载基准
+ * 以与监听器相同的 JDK HttpServer 承载一个耗时 {@value #SERVICE_MICROS} 微秒的模拟跳转处理，
+ * {@value #CLIENTS} 个并发客户端压 {@value #WORKERS} 个处理线程：
+ * unbounded 为改造前的 Executors.newFixedThreadPool（无界队列），bounded 为 {@link RedirectListenerExecutor}（有界队列，满时 503）；
+ * 对比 p99 延迟与 ok / rejected（503）/ dropped（连接被关闭）三类结果的吞吐
+ * @author: Chanler
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(RedirectListenerOverloadBenchmark.CLIENTS)
+@Fork(1)
+public class RedirectListenerOverloadBenchmark {
+
+    static final int CLIENTS = 64;
+    static final int WORKERS = 2;
+    static final int QUEUE_CAPACITY = 8;
+    static final long SERVICE_MICROS = 2000;
+
+    @Param({"unbounded", "bounded"})
+    public String pool;
+
+    private HttpServer server;
+    private ExecutorService unboundedExecutor;
+    private RedirectListenerExecutor boundedExecutor;
+    private URL url;
+
+    @Setup
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/", exchange -> {
+            try {
+                if (RedirectListenerExecutor.isShedding()) {
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    exchange.sendResponseHeaders(503, -1);
+                    return;
+                }
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(SERVICE_MICROS));
+                exchange.getResponseHeaders().set("Location", "https://chanler.dev/");
+                exchange.sendResponseHeaders(302, -1);
+            } finally {
+                exchange.close();
+            }
+        });
+        if ("bounded".equals(pool)) {
+            boundedExecutor = new RedirectListenerExecutor(WORKERS, QUEUE_CAPACITY);
+            server.setExecutor(boundedExecutor);
+        } else {
+            unboundedExecutor = Executors.newFixedThreadPool(WORKERS);
+            server.setExecutor(unboundedExecutor);
+        }
+        server.start();
+        url = new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/abc123");
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+        if (boundedExecutor != null) {
+            boundedExecutor.shutdown();
+        }
+        if (unboundedExecutor != null) {
+            unboundedExecutor.shutdown();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Responses {
+
+        public long ok;
+        public long rejected;
+        public long dropped;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ok = 0;
+            rejected = 0;
+            dropped = 0;
+        }
+    }
+
+    @Benchmark
+    public int redirect(Responses responses) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setInstanceFollowRedirects(false);
+        int status;
+        try {
+            status = connection.getResponseCode();
+        } catch (IOException ex) {
+            // 拒绝通道也已满时连接被直接关闭
+            responses.dropped++;
+            return -1;
+        }
+        InputStream body = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+        if (body != null) {
+            body.close();
+        }
+        if (status == 503) {
+            responses.rejected++;
+        } else {
+            responses.ok++;
+        }
+        return status;
+    }
+}
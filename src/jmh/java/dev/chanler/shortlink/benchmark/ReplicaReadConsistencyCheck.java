@@ -0,0 +1,97 @@
+package dev.chanler.shortlink.benchmark;
+
+import dev.chanler.shortlink.common.cache.RedisReplicaReader;
+import dev.chanler.shortlink.common.config.RedirectProperties;
+import dev.chanler.shortlink.common.enums.ReplicaReadModeEnum;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+
+import java.util.List;
+
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_IS_NULL_SHORT_LINK_KEY_PREFIX;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_POLICY_SHORT_LINK_KEY_PREFIX;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY_PREFIX;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.linkKey;
+
+/**
+ * 副本读一致性检查（非 JMH 基准，针对本地一主一从 Redis 进程运行）
+ * 以 REPLICA_PREFERRED 模式读取，在副本上执行 REPLICAOF NO ONE 冻结其数据模拟复制延迟，主节点改写跳转目标后依次校验：
+ * 1. 未失效时读到副本旧值（确认延迟已模拟）；
+ * 2. {@link RedisReplicaReader#pinToPrimary} 后窗口内读到主节点新值；
+ * 3. 窗口结束后重新读副本；
+ * 结束时恢复复制并删除测试 key，任一校验失败以非零状态码退出
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Djmh.main=dev.chanler.shortlink.benchmark.ReplicaReadConsistencyCheck -Djmh.args="127.0.0.1:6379 127.0.0.1:6380"
+ * @author: Chanler
+ */
+public class ReplicaReadConsistencyCheck {
+
+    private static final String FULL_SHORT_URL = "nurl.ink/replica-check";
+    private static final long WINDOW_MILLIS = 500;
+
+    public static void main(String[] args) throws InterruptedException {
+        String primaryAddress = args.length > 0 ? args[0] : "127.0.0.1:6379";
+        String replicaAddress = args.length > 1 ? args[1] : "127.0.0.1:6380";
+        String primaryHost = primaryAddress.substring(0, primaryAddress.lastIndexOf(':'));
+        int primaryPort = Integer.parseInt(primaryAddress.substring(primaryAddress.lastIndexOf(':') + 1));
+        String gotoKey = linkKey(GOTO_SHORT_LINK_KEY_PREFIX, FULL_SHORT_URL);
+        String gotoIsNullKey = linkKey(GOTO_IS_NULL_SHORT_LINK_KEY_PREFIX, FULL_SHORT_URL);
+        String gotoPolicyKey = linkKey(GOTO_POLICY_SHORT_LINK_KEY_PREFIX, FULL_SHORT_URL);
+
+        RedirectProperties redirectProperties = new RedirectProperties();
+        RedirectProperties.ReplicaReadProperties props = redirectProperties.getReplicaRead();
+        props.setEnable(true);
+        props.setMode(ReplicaReadModeEnum.REPLICA_PREFERRED);
+        props.setReplicas(List.of(replicaAddress));
+        props.setPrimaryWindowMillis(WINDOW_MILLIS);
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setHost(primaryHost);
+        redisProperties.setPort(primaryPort);
+        RedisReplicaReader reader = new RedisReplicaReader(redirectProperties, redisProperties);
+        reader.init();
+
+        RedisClient client = RedisClient.create();
+        boolean passed = false;
+        try (StatefulRedisConnection<String, String> primaryConnection = client.connect(RedisURI.create("redis://" + primaryAddress));
+             StatefulRedisConnection<String, String> replicaConnection = client.connect(RedisURI.create("redis://" + replicaAddress))) {
+            RedisCommands<String, String> primary = primaryConnection.sync();
+            RedisCommands<String, String> replica = replicaConnection.sync();
+            if (!reader.isEnabled()) {
+                throw new IllegalStateException("RedisReplicaReader not enabled");
+            }
+            primary.set(gotoKey, "https://chanler.dev/v1", SetArgs.Builder.px(60_000));
+            if (primary.waitForReplication(1, 2_000) < 1) {
+                throw new IllegalStateException("Replica " + replicaAddress + " is not replicating from " + primaryAddress);
+            }
+            replica.replicaofNoOne();
+            try {
+                primary.set(gotoKey, "https://chanler.dev/v2", SetArgs.Builder.px(60_000));
+                passed = expect(reader, gotoKey, gotoIsNullKey, gotoPolicyKey, "https://chanler.dev/v1", "未失效时读副本（旧值）");
+                reader.pinToPrimary(FULL_SHORT_URL);
+                passed &= expect(reader, gotoKey, gotoIsNullKey, gotoPolicyKey, "https://chanler.dev/v2", "失效窗口内只读主节点（新值）");
+                Thread.sleep(WINDOW_MILLIS + 200);
+                passed &= expect(reader, gotoKey, gotoIsNullKey, gotoPolicyKey, "https://chanler.dev/v1", "窗口结束后恢复读副本");
+                passed &= reader.getPinnedReadCount() == 1;
+            } finally {
+                replica.replicaof(primaryHost, primaryPort);
+                primary.del(gotoKey);
+            }
+        } finally {
+            reader.shutdown();
+            client.shutdown();
+        }
+        System.out.println(passed ? "副本读一致性检查通过" : "副本读一致性检查失败");
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static boolean expect(RedisReplicaReader reader, String gotoKey, String gotoIsNullKey, String gotoPolicyKey,
+                                  String expected, String step) {
+        Object actual = reader.lookupRedirect(gotoKey, gotoIsNullKey, gotoPolicyKey).get(0);
+        boolean matched = expected.equals(actual);
+        System.out.printf("[%s] %s: expected=%s, actual=%s%n", matched ? "OK" : "FAIL", step, expected, actual);
+        return matched;
+    }
+}
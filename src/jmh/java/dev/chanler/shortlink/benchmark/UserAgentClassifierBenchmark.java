@@ -0,0 +1,143 @@
+package dev.chanler.shortlink.benchmark;
+
+import dev.chanler.shortlink.toolkit.LinkUtil;
+import dev.chanler.shortlink.toolkit.useragent.UserAgentClassifier;
+import dev.chanler.shortlink.toolkit.useragent.UserAgentInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 统计记录的 User-Agent 与客户端 IP 解析基准
+ * legacy* 为改造前 LinkUtil 的写法（getOs / getBrowser / getDevice 各自转小写并逐项 contains，X-Forwarded-For 按逗号 split），
+ * 其余为 {@link UserAgentClassifier} 与当前 {@link LinkUtil#getActualIp}；
+ * 每次操作复制一次 UA（与容器为每个请求创建新的请求头 String 一致，缓存查询需重新计算哈希），两侧均计入这部分分配
+ * @author: Chanler
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserAgentClassifierBenchmark {
+
+    private static final String[] USER_AGENTS = {
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0.0.0 Safari/537.36 Edg/124.0.0.0",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.4 Safari/605.1.15",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_4 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.4 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (Linux; Android 14; Pixel 8) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0.6367.82 Mobile Safari/537.36",
+            "Mozilla/5.0 (X11; Linux x86_64; rv:125.0) Gecko/20100101 Firefox/125.0",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_4 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Mobile/15E148 MicroMessenger/8.0.47",
+            "Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)"
+    };
+
+    private static final Map<String, String> HEADERS = Map.of(
+            "X-Forwarded-For", "203.0.113.7, 10.0.0.2, 10.0.0.1",
+            "X-Real-IP", "10.0.0.1");
+    private static final Function<String, String> HEADER_LOOKUP = HEADERS::get;
+    private static final String REMOTE_ADDR = "127.0.0.1";
+
+    private int cursor;
+
+    private String nextUserAgent() {
+        return new String(USER_AGENTS[cursor++ & (USER_AGENTS.length - 1)]);
+    }
+
+    @Benchmark
+    public void legacyClassify(Blackhole blackhole) {
+        String userAgent = nextUserAgent();
+        blackhole.consume(legacyOs(userAgent));
+        blackhole.consume(legacyBrowser(userAgent));
+        blackhole.consume(legacyDevice(userAgent));
+    }
+
+    @Benchmark
+    public void classify(Blackhole blackhole) {
+        UserAgentInfo info = UserAgentClassifier.classify(nextUserAgent());
+        blackhole.consume(info.os());
+        blackhole.consume(info.browser());
+        blackhole.consume(info.device());
+    }
+
+    @Benchmark
+    public String legacyActualIp() {
+        String[] headerNames = {
+                "X-Forwarded-For",
+                "X-Real-IP",
+                "Proxy-Client-IP",
+                "WL-Proxy-Client-IP",
+                "HTTP_CLIENT_IP",
+                "HTTP_X_FORWARDED_FOR"
+        };
+        for (String header : headerNames) {
+            String ip = HEADER_LOOKUP.apply(header);
+            if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+                continue;
+            }
+            String first = ip.split(",")[0].trim();
+            if (!first.isEmpty() && !"unknown".equalsIgnoreCase(first)) {
+                return first;
+            }
+        }
+        return REMOTE_ADDR;
+    }
+
+    @Benchmark
+    public String actualIp() {
+        return LinkUtil.getActualIp(HEADER_LOOKUP, REMOTE_ADDR);
+    }
+
+    private static String legacyOs(String header) {
+        String userAgent = header.toLowerCase();
+        if (userAgent.contains("windows")) {
+            return "Windows";
+        } else if (userAgent.contains("mac")) {
+            return "Mac";
+        } else if (userAgent.contains("x11") || userAgent.contains("linux")) {
+            return "Unix";
+        } else if (userAgent.contains("android")) {
+            return "Android";
+        } else if (userAgent.contains("iphone") || userAgent.contains("ipad")) {
+            return "iOS";
+        } else {
+            return "Unknown";
+        }
+    }
+
+    private static String legacyBrowser(String header) {
+        String userAgent = header.toLowerCase();
+        if (userAgent.contains("edg")) {
+            return "Edge";
+        } else if (userAgent.contains("msie") || userAgent.contains("trident")) {
+            return "Internet Explorer";
+        } else if (userAgent.contains("chrome")) {
+            return "Chrome";
+        } else if (userAgent.contains("safari") && !userAgent.contains("chrome")) {
+            return "Safari";
+        } else if (userAgent.contains("firefox")) {
+            return "Firefox";
+        } else if (userAgent.contains("opera") || userAgent.contains("opr")) {
+            return "Opera";
+        } else {
+            return "Unknown";
+        }
+    }
+
+    private static String legacyDevice(String header) {
+        String userAgent = header.toLowerCase();
+        return userAgent.contains("mobile") ? "Mobile" : "Desktop";
+    }
+}
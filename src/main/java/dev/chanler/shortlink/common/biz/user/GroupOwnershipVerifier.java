@@ -19,4 +19,11 @@ public interface GroupOwnershipVerifier {
      * @param gids 分组标识列表
      */
     void assertAllOwnedByCurrentUser(List<String> gids);
+
+    /**
+     * 失效各节点本地的归属校验结果（分组删除时调用）
+     * @param username 用户名
+     * @param gid 分组标识
+     */
+    void invalidate(String username, String gid);
 }
@@ -3,9 +3,15 @@ package dev.chanler.shortlink.common.biz.user;
 import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.chanler.shortlink.common.cache.LocalCacheInvalidationBus;
+import dev.chanler.shortlink.common.cache.RedisReplicaReader;
 import dev.chanler.shortlink.common.convention.exception.ServiceException;
 import dev.chanler.shortlink.dao.entity.GroupDO;
+import dev.chanler.shortlink.common.enums.LocalCacheTypeEnum;
 import dev.chanler.shortlink.dao.mapper.GroupMapper;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -24,6 +30,19 @@ public class GroupOwnershipVerifierImpl implements GroupOwnershipVerifier {
 
     private final StringRedisTemplate stringRedisTemplate;
     private final GroupMapper groupMapper;
+    private final LocalCacheInvalidationBus localCacheInvalidationBus;
+    private final RedisReplicaReader redisReplicaReader;
+
+    // 本地归属校验缓存（仅缓存通过的结果），key: username:gid；分组删除通过失效总线广播
+    private final Cache<String, Boolean> ownershipCache = Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .expireAfterWrite(1, TimeUnit.HOURS)
+            .build();
+
+    @PostConstruct
+    public void init() {
+        localCacheInvalidationBus.register(LocalCacheTypeEnum.OWNERSHIP, ownershipCache::invalidate, ownershipCache::invalidateAll);
+    }
 
     @Override
     public void assertOwnedByCurrentUser(String gid) {
@@ -32,14 +51,22 @@ public class GroupOwnershipVerifierImpl implements GroupOwnershipVerifier {
         }
         String username = Optional.ofNullable(UserContext.getUsername())
                 .orElseThrow(() -> new ServiceException("用户未登录"));
+        String cacheKey = username + ":" + gid;
+        if (ownershipCache.getIfPresent(cacheKey) != null) return;
         String setKey = String.format(USER_GIDS_KEY, username);
         Boolean hit = null;
         try {
-            hit = stringRedisTemplate.opsForSet().isMember(setKey, gid);
+            // 副本复制延迟导致的未命中会回源 DB 校验，不影响正确性
+            hit = redisReplicaReader.isEnabled()
+                    ? redisReplicaReader.isMember(setKey, gid)
+                    : stringRedisTemplate.opsForSet().isMember(setKey, gid);
         } catch (Throwable t) {
             log.error("Redis SISMEMBER user-gids error, username={}, gid={}", username, gid, t);
         }
-        if (Boolean.TRUE.equals(hit)) return;
+        if (Boolean.TRUE.equals(hit)) {
+            ownershipCache.put(cacheKey, Boolean.TRUE);
+            return;
+        }
         // 回源 DB 校验，并在缺失时回填索引（设置 TTL，但不做续期）
         LambdaQueryWrapper<GroupDO> queryWrapper = Wrappers.lambdaQuery(GroupDO.class)
                 .eq(GroupDO::getGid, gid)
@@ -49,6 +76,7 @@ public class GroupOwnershipVerifierImpl implements GroupOwnershipVerifier {
         if (group == null || StrUtil.isBlank(group.getUsername())) {
             throw new ServiceException("用户信息与分组标识不匹配");
         }
+        ownershipCache.put(cacheKey, Boolean.TRUE);
         try {
             stringRedisTemplate.opsForSet().add(setKey, gid);
             stringRedisTemplate.expire(setKey, 30, TimeUnit.MINUTES);
@@ -62,4 +90,9 @@ public class GroupOwnershipVerifierImpl implements GroupOwnershipVerifier {
         if (gids == null || gids.isEmpty()) return;
         gids.forEach(this::assertOwnedByCurrentUser);
     }
+
+    @Override
+    public void invalidate(String username, String gid) {
+        localCacheInvalidationBus.publish(LocalCacheTypeEnum.OWNERSHIP, username + ":" + gid);
+    }
 }
@@ -0,0 +1,79 @@
+package dev.chanler.shortlink.common.cache;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 并发计数最小草图（Count-Min Sketch）
+ * depth 行 × width 列计数器，双重哈希定位，估计值只会偏高不会偏低；
+ * 通过 {@link #decay()} 定期减半实现老化，使估计值反映近期访问频率
+ * @author: Chanler
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int widthMask;
+    private final AtomicIntegerArray counters;
+
+    /**
+     * @param depth 哈希行数
+     * @param width 每行计数器数，向上取整为 2 的幂
+     */
+    public CountMinSketch(int depth, int width) {
+        int normalizedWidth = Integer.highestOneBit(Math.max(16, width));
+        if (normalizedWidth < width) {
+            normalizedWidth <<= 1;
+        }
+        this.depth = Math.max(1, depth);
+        this.widthMask = normalizedWidth - 1;
+        this.counters = new AtomicIntegerArray(this.depth * normalizedWidth);
+    }
+
+    /**
+     * 计数加一并返回加一后的估计值
+     */
+    public int incrementAndEstimate(String key) {
+        int h1 = spread(key.hashCode());
+        int h2 = spread(h1 * 0x9E3779B9) | 1;
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            int index = i * (widthMask + 1) + ((h1 + i * h2) & widthMask);
+            int value = counters.incrementAndGet(index);
+            if (value < min) {
+                min = value;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * 返回估计值（不计数）
+     */
+    public int estimate(String key) {
+        int h1 = spread(key.hashCode());
+        int h2 = spread(h1 * 0x9E3779B9) | 1;
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            int value = counters.get(i * (widthMask + 1) + ((h1 + i * h2) & widthMask));
+            if (value < min) {
+                min = value;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * 全部计数器减半
+     */
+    public void decay() {
+        for (int i = 0, n = counters.length(); i < n; i++) {
+            counters.updateAndGet(i, value -> value >>> 1);
+        }
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+}
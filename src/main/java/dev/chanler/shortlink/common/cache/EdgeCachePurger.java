@@ -0,0 +1,88 @@
+package dev.chanler.shortlink.common.cache;
+
+import dev.chanler.shortlink.common.config.RedirectProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * 边缘缓存清除
+ * 可边缘缓存的短链接跳转响应由 CDN / nginx 按 Cache-Control 缓存，短链接修改、移入回收站、恢复时向各清除地址异步发送清除请求
+ * 处于事务中时延迟到提交后发送，避免边缘节点在提交前回源又缓存旧响应
+ * 清除失败仅记录日志，边缘缓存按 s-maxage 兜底过期
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EdgeCachePurger {
+
+    private final RedirectProperties redirectProperties;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    /**
+     * 清除短链接在各边缘节点上的缓存
+     * @param fullShortUrl 完整短链接（domain[:port]/shortUri）
+     */
+    public void purge(String fullShortUrl) {
+        RedirectProperties.EdgeCacheProperties props = redirectProperties.getEdgeCache();
+        if (!props.isPurgeEnable() || props.getPurgeEndpoints().isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(fullShortUrl, props);
+                }
+            });
+            return;
+        }
+        send(fullShortUrl, props);
+    }
+
+    private void send(String fullShortUrl, RedirectProperties.EdgeCacheProperties props) {
+        // nginx 缓存 key 为 $host$request_uri，$host 不含端口
+        int slash = fullShortUrl.indexOf('/');
+        if (slash < 0) {
+            return;
+        }
+        String hostPort = fullShortUrl.substring(0, slash);
+        int colon = hostPort.indexOf(':');
+        String host = colon < 0 ? hostPort : hostPort.substring(0, colon);
+        String path = props.getPurgePathPrefix() + "/" + host + fullShortUrl.substring(slash);
+        for (String endpoint : props.getPurgeEndpoints()) {
+            HttpRequest request;
+            try {
+                request = HttpRequest.newBuilder(URI.create(endpoint + path))
+                        .method(props.getPurgeMethod(), HttpRequest.BodyPublishers.noBody())
+                        .timeout(Duration.ofMillis(props.getPurgeTimeoutMillis()))
+                        .build();
+            } catch (IllegalArgumentException e) {
+                log.warn("Invalid edge cache purge request, endpoint={}, fullShortUrl={}", endpoint, fullShortUrl, e);
+                continue;
+            }
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        if (ex != null) {
+                            log.warn("Edge cache purge error, endpoint={}, fullShortUrl={}", endpoint, fullShortUrl, ex);
+                        } else if (response.statusCode() >= 400 && response.statusCode() != 404) {
+                            // 404 表示边缘节点上没有该缓存
+                            log.warn("Edge cache purge failed, endpoint={}, fullShortUrl={}, status={}",
+                                    endpoint, fullShortUrl, response.statusCode());
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package dev.chanler.shortlink.common.cache;
+
+import dev.chanler.shortlink.common.config.RedirectProperties;
+import dev.chanler.shortlink.common.enums.LocalCacheTypeEnum;
+import dev.chanler.shortlink.dto.resp.HotLinkRespDTO;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static dev.chanler.shortlink.common.constant.LinkConstant.DEFAULT_CACHE_VALID_TIME;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_POLICY_SHORT_LINK_KEY_PREFIX;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY_PREFIX;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.HOT_LINKS_SNAPSHOT_KEY;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.linkKey;
+
+/**
+ * 热点短链接检测与固定
+ * 1. 检测：跳转成功时计入 Count-Min Sketch，估计值达到准入阈值的短链接进入候选集；定期按估计值取 Top-K 作为热点集合，并将草图减半老化
+ * 2. 固定：热点短链接的跳转条目复制到受保护层（不受 本地跳转缓存 容量淘汰与本地最大 TTL 影响，仅按短链接有效期过期），通过失效总线随 本地跳转缓存 一起失效
+ * 3. 续期：永久有效的热点短链接定期续期 Redis 跳转 key，并将热点集合写入 Redis 快照供启动预热使用
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotLinkDetector {
+
+    private final RedirectProperties redirectProperties;
+    private final RedirectLocalCache redirectLocalCache;
+    private final LocalCacheInvalidationBus localCacheInvalidationBus;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private static final byte[] HOT_LINKS_SNAPSHOT_KEY_BYTES = HOT_LINKS_SNAPSHOT_KEY.getBytes(StandardCharsets.UTF_8);
+
+    private CountMinSketch sketch;
+    // 候选集：fullShortUrl -> 最近一次估计值，容量上限为 Top-K 的 4 倍
+    private final Map<String, Integer> candidates = new ConcurrentHashMap<>();
+    // 受保护层：热点短链接的跳转条目
+    private final Map<String, RedirectEntry> pinned = new ConcurrentHashMap<>();
+    private volatile Set<String> hotKeys = Collections.emptySet();
+    private volatile List<HotLinkRespDTO> hotLinks = Collections.emptyList();
+    // 候选集已满时的准入下限（上一轮 Top-K 中的最小估计值）
+    private volatile int admissionFloor;
+
+    @PostConstruct
+    public void init() {
+        RedirectProperties.HotKeyProperties props = redirectProperties.getHotKey();
+        sketch = new CountMinSketch(props.getSketchDepth(), props.getSketchWidth());
+        admissionFloor = props.getAdmissionThreshold();
+        localCacheInvalidationBus.register(LocalCacheTypeEnum.REDIRECT, pinned::remove, pinned::clear);
+    }
+
+    /**
+     * 记录一次成功跳转
+     */
+    public void record(String fullShortUrl) {
+        RedirectProperties.HotKeyProperties props = redirectProperties.getHotKey();
+        if (!props.isEnable()) {
+            return;
+        }
+        int estimate = sketch.incrementAndEstimate(fullShortUrl);
+        if (estimate < admissionFloor) {
+            return;
+        }
+        if (candidates.size() < props.getTopK() * 4 || candidates.containsKey(fullShortUrl)) {
+            candidates.put(fullShortUrl, estimate);
+        }
+    }
+
+    /**
+     * 查询受保护层，已过有效期的条目顺带移除
+     * @return 未固定或已过期返回 null
+     */
+    public RedirectEntry getPinned(String fullShortUrl) {
+        RedirectEntry entry = pinned.get(fullShortUrl);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.validUntil() <= System.currentTimeMillis()) {
+            pinned.remove(fullShortUrl, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * 热点短链接回填缓存时同步刷新受保护层
+     */
+    public void pinIfHot(String fullShortUrl, RedirectEntry entry) {
+        if (hotKeys.contains(fullShortUrl)) {
+            pinned.put(fullShortUrl, entry);
+        }
+    }
+
+    public boolean isHot(String fullShortUrl) {
+        return hotKeys.contains(fullShortUrl);
+    }
+
+    /**
+     * 受保护层当前条目数
+     */
+    public int getPinnedCount() {
+        return pinned.size();
+    }
+
+    /**
+     * 当前热点集合（按估计值降序）
+     */
+    public List<HotLinkRespDTO> listHotLinks() {
+        return hotLinks;
+    }
+
+    /**
+     * 计算 Top-K 热点集合、调整受保护层并老化草图
+     */
+    @Scheduled(fixedDelay = 5_000)
+    public void detect() {
+        RedirectProperties.HotKeyProperties props = redirectProperties.getHotKey();
+        if (!props.isEnable()) {
+            return;
+        }
+        int topK = props.getTopK();
+        // 小顶堆保留估计值最大的 K 个
+        PriorityQueue<Map.Entry<String, Integer>> heap = new PriorityQueue<>(topK + 1, Map.Entry.comparingByValue());
+        for (String key : candidates.keySet()) {
+            int estimate = sketch.estimate(key);
+            if (estimate < props.getAdmissionThreshold()) {
+                candidates.remove(key);
+                continue;
+            }
+            heap.offer(Map.entry(key, estimate));
+            if (heap.size() > topK) {
+                candidates.remove(heap.poll().getKey());
+            }
+        }
+        List<Map.Entry<String, Integer>> top = new ArrayList<>(heap);
+        top.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()));
+        Set<String> newHotKeys = ConcurrentHashMap.newKeySet(top.size());
+        List<HotLinkRespDTO> newHotLinks = new ArrayList<>(top.size());
+        for (Map.Entry<String, Integer> each : top) {
+            String fullShortUrl = each.getKey();
+            newHotKeys.add(fullShortUrl);
+            if (!pinned.containsKey(fullShortUrl)) {
+                RedirectEntry entry = redirectLocalCache.getIfPresent(fullShortUrl);
+                if (entry != null) {
+                    pinned.put(fullShortUrl, entry);
+                }
+            }
+            newHotLinks.add(HotLinkRespDTO.builder()
+                    .fullShortUrl(fullShortUrl)
+                    .estimatedHits(each.getValue())
+                    .pinned(pinned.containsKey(fullShortUrl))
+                    .build());
+        }
+        pinned.keySet().removeIf(key -> !newHotKeys.contains(key));
+        hotKeys = newHotKeys;
+        hotLinks = Collections.unmodifiableList(newHotLinks);
+        admissionFloor = top.size() >= topK
+                ? Math.max(props.getAdmissionThreshold(), top.get(top.size() - 1).getValue() >> 1)
+                : props.getAdmissionThreshold();
+        sketch.decay();
+    }
+
+    /**
+     * 续期永久有效热点短链接的 Redis 跳转 key，并写入热点快照
+     * 有自定义有效期的短链接 Redis TTL 已与有效期一致，不做续期
+     */
+    @Scheduled(fixedDelay = 30_000)
+    public void snapshot() {
+        RedirectProperties.HotKeyProperties props = redirectProperties.getHotKey();
+        List<HotLinkRespDTO> current = hotLinks;
+        if (!props.isEnable() || current.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (HotLinkRespDTO each : current) {
+                    byte[] member = each.getFullShortUrl().getBytes(StandardCharsets.UTF_8);
+                    connection.zSetCommands().zAdd(HOT_LINKS_SNAPSHOT_KEY_BYTES, each.getEstimatedHits(), member);
+                    RedirectEntry entry = pinned.get(each.getFullShortUrl());
+                    if (entry != null && entry.validUntil() == RedirectEntry.PERMANENT) {
+                        connection.keyCommands().pExpire(
+                                linkKey(GOTO_SHORT_LINK_KEY_PREFIX, each.getFullShortUrl()).getBytes(StandardCharsets.UTF_8),
+                                DEFAULT_CACHE_VALID_TIME);
+                        if (!entry.hasDefaultPolicy()) {
+                            connection.keyCommands().pExpire(
+                                    linkKey(GOTO_POLICY_SHORT_LINK_KEY_PREFIX, each.getFullShortUrl()).getBytes(StandardCharsets.UTF_8),
+                                    DEFAULT_CACHE_VALID_TIME);
+                        }
+                    }
+                }
+                // 仅保留分数最高的 snapshotSize 个
+                connection.zSetCommands().zRemRange(HOT_LINKS_SNAPSHOT_KEY_BYTES, 0, -(props.getSnapshotSize() + 1L));
+                connection.keyCommands().expire(HOT_LINKS_SNAPSHOT_KEY_BYTES, props.getSnapshotTtlSeconds());
+                return null;
+            });
+        } catch (Throwable t) {
+            log.warn("Hot link snapshot error", t);
+        }
+    }
+}
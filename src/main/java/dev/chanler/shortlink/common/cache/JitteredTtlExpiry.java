@@ -0,0 +1,45 @@
+package dev.chanler.shortlink.common.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 随机抖动过期策略
+ * 条目存活时间 = 基础 TTL + [0, 抖动上限) 的随机值，写入时确定、读取不续期
+ * 避免同一批扫描写入的条目在同一时刻集中过期、同时回源
+ * @author: Chanler
+ */
+public class JitteredTtlExpiry<K, V> implements Expiry<K, V> {
+
+    private final long baseTtlNanos;
+    private final long jitterNanos;
+
+    public JitteredTtlExpiry(long baseTtlSeconds, long jitterSeconds) {
+        this.baseTtlNanos = TimeUnit.SECONDS.toNanos(baseTtlSeconds);
+        this.jitterNanos = TimeUnit.SECONDS.toNanos(jitterSeconds);
+    }
+
+    @Override
+    public long expireAfterCreate(K key, V value, long currentTime) {
+        return ttlNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+        return ttlNanos();
+    }
+
+    @Override
+    public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+
+    private long ttlNanos() {
+        if (jitterNanos <= 0) {
+            return baseTtlNanos;
+        }
+        return baseTtlNanos + ThreadLocalRandom.current().nextLong(jitterNanos);
+    }
+}
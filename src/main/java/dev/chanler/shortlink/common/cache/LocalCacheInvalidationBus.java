@@ -0,0 +1,225 @@
+package dev.chanler.shortlink.common.cache;
+
+import dev.chanler.shortlink.common.enums.LocalCacheTypeEnum;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.CACHE_INVALIDATION_CHANNEL_KEY;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.CACHE_INVALIDATION_SEQ_KEY;
+
+/**
+ * 节点本地缓存失效总线
+ * 1. 发布：先失效本节点，再通过 Lua 原子地 INCR 序号并 PUBLISH；处于事务中时延迟到提交后广播，避免其他节点回源读到旧数据，随失效一同传入的 Redis 缓存 key 在提交后广播前再删除一次
+ * 2. 订阅：按序号顺序处理，序号不连续（Pub/Sub 断线漏收、Redis 重置计数）时清空全部已注册的本地缓存
+ * 3. 兜底：定时比对 Redis 中的最新序号，连续两轮落后说明消息已丢失，同样清空
+ * 各本地缓存通过 {@link #register} 注册单键失效与全量清空回调
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocalCacheInvalidationBus implements MessageListener {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer cacheInvalidationListenerContainer;
+
+    private static final String CACHE_INVALIDATE_PUBLISH_LUA = "lua/cache_invalidate_publish.lua";
+    private static final long UNKNOWN_SEQ = -1L;
+
+    private final Map<LocalCacheTypeEnum, List<Registration>> registrations = new ConcurrentHashMap<>();
+    private DefaultRedisScript<Long> publishScript;
+
+    // 已处理的最大序号，UNKNOWN_SEQ 表示尚未建立基线
+    private long lastSeq = UNKNOWN_SEQ;
+    // 上一轮定时检查发现的落后目标序号，0 表示无
+    private long suspectSeq = 0L;
+
+    @PostConstruct
+    public void init() {
+        publishScript = new DefaultRedisScript<>();
+        publishScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(CACHE_INVALIDATE_PUBLISH_LUA)));
+        publishScript.setResultType(Long.class);
+        cacheInvalidationListenerContainer.addMessageListener(this, new ChannelTopic(CACHE_INVALIDATION_CHANNEL_KEY));
+    }
+
+    /**
+     * 注册本地缓存
+     * @param type 缓存类型
+     * @param invalidator 单键失效回调
+     * @param flusher 全量清空回调
+     */
+    public void register(LocalCacheTypeEnum type, Consumer<String> invalidator, Runnable flusher) {
+        registrations.computeIfAbsent(type, k -> new CopyOnWriteArrayList<>()).add(new Registration(invalidator, flusher));
+    }
+
+    /**
+     * 失效全集群节点上的本地缓存条目
+     */
+    public void publish(LocalCacheTypeEnum type, String key) {
+        publish(type, key, Collections.emptyList());
+    }
+
+    /**
+     * 删除 Redis 缓存并失效全集群节点上的本地缓存条目
+     * 处于事务中时提交后先再次删除 Redis 缓存、再广播，避免提交前未命中的请求把旧数据回填到 Redis 后被各节点重新缓存
+     * @param redisKeys 需删除的 Redis 缓存 key
+     */
+    public void publish(LocalCacheTypeEnum type, String key, List<String> redisKeys) {
+        invalidateLocal(type, key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // 提交前可能已有请求用旧数据回填，提交后再失效一次
+                    deleteRedisKeys(redisKeys);
+                    invalidateLocal(type, key);
+                    broadcast(type, key);
+                }
+            });
+            if (!redisKeys.isEmpty()) {
+                stringRedisTemplate.delete(redisKeys);
+            }
+            return;
+        }
+        if (!redisKeys.isEmpty()) {
+            stringRedisTemplate.delete(redisKeys);
+        }
+        broadcast(type, key);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int first = body.indexOf('|');
+        int second = first < 0 ? -1 : body.indexOf('|', first + 1);
+        if (second < 0) {
+            log.warn("Malformed cache invalidation message: {}", body);
+            return;
+        }
+        long seq;
+        LocalCacheTypeEnum type;
+        try {
+            seq = Long.parseLong(body.substring(0, first));
+            type = LocalCacheTypeEnum.valueOf(body.substring(first + 1, second));
+        } catch (IllegalArgumentException e) {
+            log.warn("Unrecognized cache invalidation message: {}", body);
+            return;
+        }
+        acceptSeq(seq);
+        invalidateLocal(type, body.substring(second + 1));
+    }
+
+    /**
+     * 定时比对 Redis 中的最新序号，覆盖订阅断线期间无后续消息、无法通过序号跳变发现漏收的情况
+     */
+    @Scheduled(fixedDelay = 5_000)
+    public void checkSequence() {
+        long remote;
+        try {
+            String value = stringRedisTemplate.opsForValue().get(CACHE_INVALIDATION_SEQ_KEY);
+            remote = value == null ? 0L : Long.parseLong(value);
+        } catch (Throwable t) {
+            log.error("Read cache invalidation seq error", t);
+            return;
+        }
+        synchronized (this) {
+            if (lastSeq == UNKNOWN_SEQ) {
+                lastSeq = remote;
+                return;
+            }
+            if (remote <= lastSeq) {
+                suspectSeq = 0L;
+                return;
+            }
+            // 首次发现落后时消息可能仍在途中，下一轮仍未追上才判定丢失
+            if (suspectSeq != 0L && lastSeq < suspectSeq) {
+                flushAll("seq behind, local=" + lastSeq + ", remote=" + remote);
+                lastSeq = remote;
+                suspectSeq = 0L;
+                return;
+            }
+            suspectSeq = remote;
+        }
+    }
+
+    /**
+     * 已处理的最大失效事件序号
+     * @return 尚未建立基线时返回 -1
+     */
+    public synchronized long getLastSeq() {
+        return lastSeq;
+    }
+
+    private synchronized void acceptSeq(long seq) {
+        if (lastSeq != UNKNOWN_SEQ && seq != lastSeq + 1) {
+            flushAll("seq gap, expected=" + (lastSeq + 1) + ", actual=" + seq);
+        }
+        lastSeq = seq;
+    }
+
+    private void broadcast(LocalCacheTypeEnum type, String key) {
+        try {
+            stringRedisTemplate.execute(publishScript,
+                    Collections.singletonList(CACHE_INVALIDATION_SEQ_KEY),
+                    CACHE_INVALIDATION_CHANNEL_KEY, type.name(), key);
+        } catch (Throwable t) {
+            // 广播失败时其他节点只能依赖本地 TTL 兜底
+            log.error("Publish cache invalidation error, type={}, key={}", type, key, t);
+        }
+    }
+
+    private void deleteRedisKeys(List<String> redisKeys) {
+        if (redisKeys.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.delete(redisKeys);
+        } catch (Throwable t) {
+            // 已提交，无法回滚，只能依赖 Redis 缓存 TTL 兜底
+            log.error("Delete redis cache after commit error, keys={}", redisKeys, t);
+        }
+    }
+
+    private void invalidateLocal(LocalCacheTypeEnum type, String key) {
+        List<Registration> list = registrations.get(type);
+        if (list == null) {
+            return;
+        }
+        for (Registration registration : list) {
+            registration.invalidator().accept(key);
+        }
+    }
+
+    private void flushAll(String reason) {
+        log.warn("Flush all local caches: {}", reason);
+        for (List<Registration> list : registrations.values()) {
+            for (Registration registration : list) {
+                registration.flusher().run();
+            }
+        }
+    }
+
+    private record Registration(Consumer<String> invalidator, Runnable flusher) {
+    }
+}
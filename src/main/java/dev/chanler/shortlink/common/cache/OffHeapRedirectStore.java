@@ -0,0 +1,883 @@
+package dev.chanler.shortlink.common.cache;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import dev.chanler.shortlink.common.config.RedirectProperties;
+import dev.chanler.shortlink.common.enums.LocalCacheTypeEnum;
+import dev.chanler.shortlink.dao.entity.LinkDO;
+import dev.chanler.shortlink.dao.entity.LinkGotoDO;
+import dev.chanler.shortlink.dao.mapper.LinkGotoMapper;
+import dev.chanler.shortlink.dao.mapper.LinkMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.CACHE_INVALIDATION_SEQ_KEY;
+
+/**
+ * 堆外内存映射跳转副本
+ * 以完整短链接为 key 保存全量有效短链接的跳转目标，数据位于 mmap 文件中，不占用堆、不参与 GC，重启后直接复用
+ * 1. 文件：按 key 哈希分段，每段一个文件 = 64 字节头 + 开放寻址槽位区（[hash][记录偏移]）+ 追加写入的记录区
+ * 2. 读：无锁，槽位与记录有效期通过 VarHandle acquire 读取，命中后校验 key 字节与有效期
+ * 3. 写：段内加锁，新记录写完后再以 release 语义切换槽位偏移；删除仅标记记录失效，新 key 优先复用已删除或已过期记录所在的槽位
+ * 4. 回收：记录区追加写入，分段写满（或定时检查超过水位）时在后台把存活记录压缩拷贝到新文件，再原子替换分段，
+ *    压缩期间读取继续使用旧映射；请求线程的写入不等待段锁，转交同步线程在压缩完成后执行（删除先无锁标记旧记录失效）
+ * 5. 同步：建库时流式扫描 t_link 全量写入；之后随跳转缓存回填写入；失效总线的跳转失效（修改、移入回收站、删除）与
+ *    空值失效（新建、恢复）事件先删除本地记录，再按 full_short_url 单分片查询 t_link_goto 重新写入有效记录；
+ *    总线判定漏收消息时按 update_time 增量追赶；重启时若文件完整且序号与 Redis 一致直接服务，否则从检查点追赶
+ * 副本未命中不代表短链接不存在，仍走 Redis / DB 正常路径
+ * 带条件跳转规则或分流目标的短链接不进入副本，始终走 Redis / DB 路径并缓存在堆内
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OffHeapRedirectStore {
+
+    private final RedirectProperties redirectProperties;
+    private final LocalCacheInvalidationBus localCacheInvalidationBus;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LinkMapper linkMapper;
+    private final LinkGotoMapper linkGotoMapper;
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final long MAGIC = 0x53484F52544C4E4BL;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int SLOT_BYTES = 16;
+    private static final int RECORD_HEADER_BYTES = 18;
+    private static final long DELETED = Long.MIN_VALUE;
+    private static final long CATCH_UP_MARGIN_MILLIS = 60_000L;
+    private static final long COMPACT_MIN_INTERVAL_MILLIS = 60_000L;
+    private static final long LOCK_POLL_MICROS = 100L;
+    private static final int MAX_DEFERRED_WRITES = 10_000;
+
+    private static final int PUT_OK = 1;
+    private static final int PUT_FULL = 0;
+    private static final int PUT_RETIRED = -1;
+
+    // 头部字段偏移
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 8;
+    private static final int H_SLOT_COUNT = 12;
+    private static final int H_DATA_CAPACITY = 16;
+    private static final int H_DATA_END = 20;
+    private static final int H_CHECKPOINT = 24;
+    private static final int H_BUS_SEQ = 32;
+    private static final int H_CLEAN = 40;
+    private static final int H_USED_SLOTS = 44;
+
+    private volatile Segment[] segments;
+    private Path dir;
+    private ExecutorService syncExecutor;
+    private volatile boolean serving;
+    private volatile boolean building;
+    // 建库与追赶期间收到的失效 key，扫描结束后重放，避免扫描读到的旧行覆盖已失效的条目
+    private final Set<String> pendingRemovals = ConcurrentHashMap.newKeySet();
+    private final AtomicLong droppedPuts = new AtomicLong();
+    private final AtomicLong compactions = new AtomicLong();
+    // 压缩期间转交同步线程的写入数，超过上限时丢弃（副本未命中仍走 Redis / DB）
+    private final AtomicInteger deferredWrites = new AtomicInteger();
+
+    @PostConstruct
+    public void init() {
+        if (!redirectProperties.getOffHeap().isEnable()) {
+            return;
+        }
+        syncExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "redirect_store_sync");
+            t.setDaemon(true);
+            return t;
+        });
+        localCacheInvalidationBus.register(LocalCacheTypeEnum.REDIRECT, this::reload, this::requestCatchUp);
+        localCacheInvalidationBus.register(LocalCacheTypeEnum.NEGATIVE, this::reload, () -> { });
+        syncExecutor.execute(this::open);
+    }
+
+    /**
+     * 查询跳转目标
+     * @return 副本未就绪、未命中、已删除或已过期时返回 null
+     */
+    public RedirectEntry get(String fullShortUrl) {
+        if (!serving) {
+            return null;
+        }
+        byte[] key = fullShortUrl.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(key);
+        Segment segment = segmentOf(hash);
+        MappedByteBuffer buffer = segment.buffer;
+        // 只读取已校验过 key 的记录：槽位偏移可能在校验之后被删除并复用给其他 key
+        int record = segment.find(hash, key);
+        if (record < 0) {
+            return null;
+        }
+        long validUntil = (long) LONG_VIEW.getAcquire(buffer, record);
+        if (validUntil == DELETED || validUntil <= System.currentTimeMillis()) {
+            return null;
+        }
+        int status = buffer.getShort(record + 8);
+        boolean edgeCacheable = buffer.get(record + 10) == 1;
+        int keyLength = buffer.getShort(record + 12);
+        int locationLength = buffer.getInt(record + 14);
+        byte[] location = new byte[locationLength];
+        buffer.get(record + RECORD_HEADER_BYTES + keyLength, location);
+        return new RedirectEntry(new String(location, StandardCharsets.UTF_8), validUntil, null, 0L, status, edgeCacheable, null, null);
+    }
+
+    /**
+     * 写入或覆盖跳转目标
+     */
+    public void put(String fullShortUrl, RedirectEntry entry) {
+        if (segments == null || entry == null) {
+            return;
+        }
+        if (entry.personalized()) {
+            // 条件跳转与分流短链接不进入堆外副本，移除旧记录使其回退到 Redis / DB
+            remove(fullShortUrl);
+            return;
+        }
+        byte[] key = fullShortUrl.getBytes(StandardCharsets.UTF_8);
+        byte[] location = entry.location().getBytes(StandardCharsets.UTF_8);
+        long hash = hash(key);
+        int result;
+        Segment segment;
+        do {
+            segment = segmentOf(hash);
+            if (!lockUnlessCompacting(segment)) {
+                defer(() -> put(fullShortUrl, entry));
+                return;
+            }
+            try {
+                result = segment.put(hash, key, location, entry.validUntil(), entry.status(), entry.edgeCacheable(), System.currentTimeMillis());
+            } finally {
+                segment.lock.unlock();
+            }
+        } while (result == PUT_RETIRED);
+        if (result == PUT_FULL) {
+            long dropped = droppedPuts.incrementAndGet();
+            if ((dropped & 1023) == 1) {
+                log.warn("Off-heap redirect store segment full, segment={}, dropped={}, compacting", segment.index, dropped);
+            }
+            requestCompaction(segment, 1, true);
+        } else if (segment.aboveWatermark()) {
+            // 提前压缩，在写满前留出余量
+            requestCompaction(segment, segment.slotCount >>> 3, false);
+        }
+    }
+
+    /**
+     * 删除跳转目标（标记失效）
+     */
+    public void remove(String fullShortUrl) {
+        if (segments == null) {
+            return;
+        }
+        if (building) {
+            pendingRemovals.add(fullShortUrl);
+        }
+        byte[] key = fullShortUrl.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(key);
+        while (true) {
+            Segment segment = segmentOf(hash);
+            if (!lockUnlessCompacting(segment)) {
+                // 先无锁标记旧记录失效，读取立即不再命中；压缩可能已拷贝该记录，压缩完成后在新分段上再删除一次
+                segment.markDeleted(hash, key);
+                defer(() -> remove(fullShortUrl));
+                return;
+            }
+            try {
+                if (segment.remove(hash, key)) {
+                    return;
+                }
+                // 分段刚被压缩替换，重试新分段
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 获取段锁；分段正在压缩时不等待，返回 false 由调用方转交同步线程
+     */
+    private static boolean lockUnlessCompacting(Segment segment) {
+        try {
+            while (!segment.lock.tryLock(LOCK_POLL_MICROS, TimeUnit.MICROSECONDS)) {
+                if (segment.compacting) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 把写入转交同步线程：压缩任务同样在同步线程执行，转交的写入排在压缩之后，按提交顺序作用于新分段
+     */
+    private void defer(Runnable write) {
+        if (deferredWrites.incrementAndGet() > MAX_DEFERRED_WRITES) {
+            deferredWrites.decrementAndGet();
+            droppedPuts.incrementAndGet();
+            return;
+        }
+        try {
+            syncExecutor.execute(() -> {
+                deferredWrites.decrementAndGet();
+                write.run();
+            });
+        } catch (RejectedExecutionException ex) {
+            deferredWrites.decrementAndGet();
+        }
+    }
+
+    /**
+     * 处理失效总线事件：立即删除本地记录，再由同步线程按 full_short_url 读取 t_link_goto 写入最新状态
+     * 发布节点在事务提交前后各收到一次事件，同步线程串行执行，最后一次读取必然在提交之后
+     */
+    private void reload(String fullShortUrl) {
+        if (segments == null) {
+            return;
+        }
+        remove(fullShortUrl);
+        syncExecutor.execute(() -> {
+            try {
+                LinkGotoDO linkGotoDO = linkGotoMapper.selectOne(Wrappers.lambdaQuery(LinkGotoDO.class)
+                        .eq(LinkGotoDO::getFullShortUrl, fullShortUrl));
+                // 跳转表尚未回填冗余字段时不写入，跳转回源后再随缓存回填写入
+                if (linkGotoDO != null && linkGotoDO.getOriginUrl() != null
+                        && Objects.equals(linkGotoDO.getEnableStatus(), 0) && Objects.equals(linkGotoDO.getDelFlag(), 0)
+                        && (linkGotoDO.getValidDate() == null || linkGotoDO.getValidDate().getTime() > System.currentTimeMillis())) {
+                    put(fullShortUrl, RedirectEntry.of(linkGotoDO));
+                } else {
+                    remove(fullShortUrl);
+                }
+            } catch (Throwable t) {
+                log.warn("Off-heap redirect store reload error, fullShortUrl={}, cause={}", fullShortUrl, t.toString());
+            }
+        });
+    }
+
+    public boolean isServing() {
+        return serving;
+    }
+
+    public long getDroppedPuts() {
+        return droppedPuts.get();
+    }
+
+    public long getCompactions() {
+        return compactions.get();
+    }
+
+    /**
+     * 定时检查各分段水位：记录区或槽位占用超过压缩水位且上次压缩后有新写入时，后台压缩回收已删除与已过期记录
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void compactIfNeeded() {
+        Segment[] current = segments;
+        if (current == null || !serving) {
+            return;
+        }
+        for (Segment segment : current) {
+            if (segment.aboveWatermark()) {
+                requestCompaction(segment, 1, false);
+            }
+        }
+    }
+
+    /**
+     * 定时写检查点：记录时间与已处理的失效总线序号，重启时据此决定是否追赶
+     */
+    @Scheduled(fixedDelay = 10_000)
+    public void checkpoint() {
+        if (!serving) {
+            return;
+        }
+        writeCheckpoint(System.currentTimeMillis(), localCacheInvalidationBus.getLastSeq());
+    }
+
+    @PreDestroy
+    public void close() {
+        if (syncExecutor != null) {
+            syncExecutor.shutdownNow();
+        }
+        if (segments == null) {
+            return;
+        }
+        boolean complete = serving;
+        serving = false;
+        if (complete) {
+            writeCheckpoint(System.currentTimeMillis(), localCacheInvalidationBus.getLastSeq());
+        }
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                // 建库或追赶未完成时保持 dirty，下次启动重建
+                segment.buffer.putInt(H_CLEAN, complete ? 1 : 0);
+                segment.buffer.force();
+            } finally {
+                segment.lock.unlock();
+            }
+            try {
+                segment.channel.close();
+            } catch (IOException e) {
+                log.warn("Close off-heap redirect store segment error, segment={}", segment.index, e);
+            }
+        }
+    }
+
+    private void open() {
+        RedirectProperties.OffHeapProperties props = redirectProperties.getOffHeap();
+        int slotCount = Integer.highestOneBit(Math.max(props.getSlotsPerSegment(), 16));
+        long mappedBytes = (long) HEADER_BYTES + (long) slotCount * SLOT_BYTES + props.getDataBytesPerSegment();
+        if (props.getSegments() <= 0 || mappedBytes > Integer.MAX_VALUE) {
+            log.error("Invalid off-heap redirect store size, segments={}, mappedBytesPerSegment={}", props.getSegments(), mappedBytes);
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long startSeq = localCacheInvalidationBus.getLastSeq();
+        boolean rebuild = false;
+        long checkpoint = Long.MAX_VALUE;
+        long busSeq = -1L;
+        Segment[] opened = new Segment[props.getSegments()];
+        try {
+            dir = Paths.get(props.getPath());
+            Files.createDirectories(dir);
+            for (int i = 0; i < opened.length; i++) {
+                Path file = dir.resolve(String.format("segment-%03d.dat", i));
+                Segment segment = Segment.open(i, file, slotCount, props.getDataBytesPerSegment());
+                opened[i] = segment;
+                MappedByteBuffer buffer = segment.buffer;
+                if (segment.created || buffer.getInt(H_CLEAN) != 1) {
+                    rebuild = true;
+                }
+                checkpoint = Math.min(checkpoint, buffer.getLong(H_CHECKPOINT));
+                long seq = buffer.getLong(H_BUS_SEQ);
+                busSeq = i == 0 ? seq : (seq == busSeq ? busSeq : -1L);
+            }
+        } catch (IOException e) {
+            log.error("Open off-heap redirect store error, path={}", props.getPath(), e);
+            return;
+        }
+        segments = opened;
+        // 运行期间文件始终标记为 dirty，正常关闭时才标记完整
+        for (Segment segment : segments) {
+            segment.buffer.putInt(H_CLEAN, 0);
+        }
+        try {
+            if (rebuild) {
+                for (Segment segment : segments) {
+                    segment.reset();
+                }
+                scan(null);
+                log.info("堆外跳转副本建库完成，耗时 {}ms", System.currentTimeMillis() - start);
+            } else if (busSeq < 0 || !Objects.equals(String.valueOf(busSeq), readRemoteSeq())) {
+                scan(new Date(checkpoint - CATCH_UP_MARGIN_MILLIS));
+                log.info("堆外跳转副本增量追赶完成，检查点 {}，耗时 {}ms", new Date(checkpoint), System.currentTimeMillis() - start);
+            } else {
+                log.info("堆外跳转副本序号一致，直接复用，序号 {}", busSeq);
+            }
+            // 副本至少包含扫描开始时刻的数据，以此作为首个检查点
+            writeCheckpoint(start, startSeq);
+            serving = true;
+        } catch (Throwable t) {
+            log.error("Build off-heap redirect store error", t);
+        }
+    }
+
+    /**
+     * 失效总线判定漏收消息时，按检查点增量追赶，追赶期间暂停服务
+     */
+    private void requestCatchUp() {
+        if (segments == null || !serving) {
+            return;
+        }
+        serving = false;
+        long since = segments[0].buffer.getLong(H_CHECKPOINT) - CATCH_UP_MARGIN_MILLIS;
+        syncExecutor.execute(() -> {
+            try {
+                long start = System.currentTimeMillis();
+                scan(new Date(since));
+                writeCheckpoint(start, localCacheInvalidationBus.getLastSeq());
+                serving = true;
+            } catch (Throwable t) {
+                log.error("Off-heap redirect store catch-up error", t);
+            }
+        });
+    }
+
+    /**
+     * 流式扫描 t_link 写入副本
+     * @param since 为空时全量写入有效短链接；否则按 update_time 增量写入有效、删除其余
+     */
+    private void scan(Date since) {
+        building = true;
+        pendingRemovals.clear();
+        try {
+            linkMapper.scanForRedirectStore(since, context -> {
+                LinkDO linkDO = context.getResultObject();
+                if (isLive(linkDO)) {
+                    put(linkDO.getFullShortUrl(), RedirectEntry.of(linkDO));
+                } else {
+                    remove(linkDO.getFullShortUrl());
+                }
+            });
+        } finally {
+            building = false;
+        }
+        for (String fullShortUrl : pendingRemovals) {
+            remove(fullShortUrl);
+        }
+        pendingRemovals.clear();
+    }
+
+    /**
+     * 提交分段压缩任务，同一分段同时只排队一次
+     * 上次压缩后存活记录可能已占满水位，要求期间有足够的新写入才再次压缩，避免反复拷贝
+     * @param minAppends 上次压缩后至少追加的记录数
+     * @param afterInterval 写满时另允许距上次压缩超过最小间隔即压缩（期间可能有记录过期）
+     */
+    private void requestCompaction(Segment segment, long minAppends, boolean afterInterval) {
+        if (segment.compactionQueued.get()
+                || !segment.shouldCompact(minAppends, afterInterval, System.currentTimeMillis())
+                || !segment.compactionQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            syncExecutor.execute(() -> compact(segment));
+        } catch (RuntimeException ex) {
+            segment.compactionQueued.set(false);
+        }
+    }
+
+    /**
+     * 把分段中的存活记录拷贝到新文件，原子替换旧文件后切换分段引用
+     * 持有旧分段锁期间请求线程的写入转交同步线程，排在压缩之后执行；读线程继续读取旧映射，旧文件替换后映射仍然有效，直至被回收
+     */
+    private void compact(Segment old) {
+        long start = System.currentTimeMillis();
+        Path file = dir.resolve(String.format("segment-%03d.dat", old.index));
+        Path temp = dir.resolve(String.format("segment-%03d.dat.compact", old.index));
+        Segment fresh;
+        int live;
+        old.compacting = true;
+        old.lock.lock();
+        try {
+            if (old.retired) {
+                return;
+            }
+            int usedBefore = old.buffer.getInt(H_DATA_END) - old.dataStart;
+            try {
+                fresh = Segment.open(old.index, temp, old.slotCount, old.dataLimit - old.dataStart);
+                if (!fresh.created) {
+                    fresh.reset();
+                }
+                live = old.copyLiveTo(fresh, start);
+                fresh.buffer.putLong(H_CHECKPOINT, old.buffer.getLong(H_CHECKPOINT));
+                fresh.buffer.putLong(H_BUS_SEQ, old.buffer.getLong(H_BUS_SEQ));
+                fresh.buffer.putInt(H_CLEAN, 0);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException ex) {
+                log.error("Compact off-heap redirect store segment error, segment={}", old.index, ex);
+                old.compactedAtMillis = start;
+                old.compactionQueued.set(false);
+                return;
+            }
+            fresh.compactedAtMillis = start;
+            Segment[] next = segments.clone();
+            next[old.index] = fresh;
+            segments = next;
+            old.retired = true;
+            compactions.incrementAndGet();
+            log.info("堆外跳转副本分段 {} 压缩完成，存活 {} 条，记录区 {} -> {} 字节，耗时 {}ms", old.index, live,
+                    usedBefore, fresh.buffer.getInt(H_DATA_END) - fresh.dataStart, System.currentTimeMillis() - start);
+        } finally {
+            old.compacting = false;
+            old.lock.unlock();
+        }
+        try {
+            old.channel.close();
+        } catch (IOException e) {
+            log.warn("Close compacted off-heap redirect store segment error, segment={}", old.index, e);
+        }
+        if (fresh.aboveWatermark()) {
+            log.warn("Off-heap redirect store segment still above watermark after compaction, segment={}, liveRecords={}, "
+                    + "increase slots-per-segment or data-bytes-per-segment", fresh.index, live);
+        }
+    }
+
+    private void writeCheckpoint(long checkpointMillis, long busSeq) {
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.buffer.putLong(H_CHECKPOINT, checkpointMillis);
+                segment.buffer.putLong(H_BUS_SEQ, busSeq);
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    private String readRemoteSeq() {
+        try {
+            String value = stringRedisTemplate.opsForValue().get(CACHE_INVALIDATION_SEQ_KEY);
+            return value == null ? "0" : value;
+        } catch (Throwable t) {
+            log.warn("Read cache invalidation seq error", t);
+            return null;
+        }
+    }
+
+    private static boolean isLive(LinkDO linkDO) {
+        return Objects.equals(linkDO.getEnableStatus(), 0)
+                && Objects.equals(linkDO.getDelFlag(), 0)
+                && (linkDO.getValidDate() == null || linkDO.getValidDate().getTime() > System.currentTimeMillis());
+    }
+
+    private Segment segmentOf(long hash) {
+        return segments[(int) ((hash >>> 32) % segments.length)];
+    }
+
+    /**
+     * 64 位 FNV-1a + fmix64 混淆，0 保留为空槽位
+     */
+    private static long hash(byte[] key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe1a85a63L;
+        h ^= h >>> 33;
+        return h == 0L ? 1L : h;
+    }
+
+    private static final class Segment {
+
+        private final int index;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final int slotCount;
+        private final int dataStart;
+        private final int dataLimit;
+        private final boolean created;
+        private final AtomicBoolean compactionQueued = new AtomicBoolean();
+        // 段锁：写入、删除、压缩与检查点互斥；读取无锁
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile boolean compacting;
+        // 以下字段在段锁内读写
+        private boolean retired;
+        private long appendsSinceCompaction;
+        private volatile long compactedAtMillis;
+
+        private Segment(int index, FileChannel channel, MappedByteBuffer buffer, int slotCount, int dataStart, int dataLimit, boolean created) {
+            this.index = index;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.slotCount = slotCount;
+            this.dataStart = dataStart;
+            this.dataLimit = dataLimit;
+            this.created = created;
+        }
+
+        static Segment open(int index, Path file, int slotCount, int dataBytes) throws IOException {
+            int dataStart = HEADER_BYTES + slotCount * SLOT_BYTES;
+            int size = dataStart + dataBytes;
+            boolean created = !Files.exists(file);
+            if (!created) {
+                try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+                    // 布局参数变化时删除重建
+                    if (raf.length() != size || raf.readLong() != MAGIC || raf.readInt() != FORMAT_VERSION
+                            || raf.readInt() != slotCount || raf.readInt() != dataBytes) {
+                        created = true;
+                    }
+                }
+                if (created) {
+                    Files.delete(file);
+                }
+            }
+            RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw");
+            FileChannel channel = raf.getChannel();
+            if (created) {
+                // 稀疏文件，未写入的页不占用磁盘
+                raf.setLength(size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (created) {
+                buffer.putLong(H_MAGIC, MAGIC);
+                buffer.putInt(H_VERSION, FORMAT_VERSION);
+                buffer.putInt(H_SLOT_COUNT, slotCount);
+                buffer.putInt(H_DATA_CAPACITY, dataBytes);
+                buffer.putInt(H_DATA_END, dataStart);
+            }
+            return new Segment(index, channel, buffer, slotCount, dataStart, size, created);
+        }
+
+        /**
+         * 清空槽位区与记录区，仅在未对外服务时调用
+         */
+        void reset() {
+            lock.lock();
+            try {
+                for (int offset = HEADER_BYTES; offset < dataStart; offset += 8) {
+                    buffer.putLong(offset, 0L);
+                }
+                buffer.putInt(H_DATA_END, dataStart);
+                buffer.putInt(H_USED_SLOTS, 0);
+                buffer.putLong(H_CHECKPOINT, 0L);
+                buffer.putLong(H_BUS_SEQ, -1L);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 查找 key 对应的记录，槽位偏移只读取一次，返回的记录 key 已校验；记录只追加不复用，返回后内容不会被其他 key 覆盖
+         * @return 记录字节偏移，不存在返回 -1
+         */
+        int find(long hash, byte[] key) {
+            int mask = slotCount - 1;
+            for (int i = 0, slot = (int) hash & mask; i < slotCount; i++, slot = (slot + 1) & mask) {
+                int offset = HEADER_BYTES + slot * SLOT_BYTES;
+                long slotHash = (long) LONG_VIEW.getAcquire(buffer, offset);
+                if (slotHash == 0L) {
+                    return -1;
+                }
+                if (slotHash == hash) {
+                    int record = (int) (long) LONG_VIEW.getAcquire(buffer, offset + 8);
+                    if (keyEquals(record, key)) {
+                        return record;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * 调用方需持有段锁
+         * @return {@link #PUT_OK}；槽位或记录区已满返回 {@link #PUT_FULL}；分段已被压缩替换返回 {@link #PUT_RETIRED}
+         */
+        int put(long hash, byte[] key, byte[] location, long validUntil, int status, boolean edgeCacheable, long now) {
+            if (retired) {
+                return PUT_RETIRED;
+            }
+            int mask = slotCount - 1;
+            int slot = (int) hash & mask;
+            int offset = -1;
+            int empty = -1;
+            int reusable = -1;
+            for (int i = 0; i < slotCount; i++, slot = (slot + 1) & mask) {
+                int candidate = HEADER_BYTES + slot * SLOT_BYTES;
+                long slotHash = buffer.getLong(candidate);
+                if (slotHash == 0L) {
+                    empty = candidate;
+                    break;
+                }
+                int record = (int) buffer.getLong(candidate + 8);
+                if (slotHash == hash && keyEquals(record, key)) {
+                    offset = candidate;
+                    break;
+                }
+                if (reusable < 0 && isDead(record, now)) {
+                    reusable = candidate;
+                }
+            }
+            if (offset >= 0) {
+                int record = (int) buffer.getLong(offset + 8);
+                if (sameContent(record, location, status, edgeCacheable)) {
+                    LONG_VIEW.setRelease(buffer, record, validUntil);
+                    return PUT_OK;
+                }
+            } else if (reusable < 0 && (empty < 0 || buffer.getInt(H_USED_SLOTS) >= slotCount - (slotCount >>> 2))) {
+                return PUT_FULL;
+            }
+            int record = append(key, location, validUntil, status, edgeCacheable);
+            if (record < 0) {
+                return PUT_FULL;
+            }
+            appendsSinceCompaction++;
+            if (offset >= 0) {
+                int previous = (int) buffer.getLong(offset + 8);
+                LONG_VIEW.setRelease(buffer, offset + 8, (long) record);
+                LONG_VIEW.setRelease(buffer, previous, DELETED);
+                return PUT_OK;
+            }
+            if (reusable >= 0) {
+                // 复用已删除或已过期记录的槽位：先切换偏移再改 hash，读线程看到旧 hash 配新记录时 key 校验不通过，继续探测
+                LONG_VIEW.setRelease(buffer, reusable + 8, (long) record);
+                LONG_VIEW.setRelease(buffer, reusable, hash);
+                return PUT_OK;
+            }
+            // 先写偏移再发布 hash，读线程看到 hash 时偏移已可见
+            LONG_VIEW.setRelease(buffer, empty + 8, (long) record);
+            LONG_VIEW.setRelease(buffer, empty, hash);
+            buffer.putInt(H_USED_SLOTS, buffer.getInt(H_USED_SLOTS) + 1);
+            return PUT_OK;
+        }
+
+        /**
+         * 调用方需持有段锁
+         * @return 分段已被压缩替换时返回 false，由调用方重试
+         */
+        boolean remove(long hash, byte[] key) {
+            if (retired) {
+                return false;
+            }
+            markDeleted(hash, key);
+            return true;
+        }
+
+        /**
+         * 标记 key 对应的记录失效，单次 release 写入，压缩期间不持锁调用
+         */
+        void markDeleted(long hash, byte[] key) {
+            int record = find(hash, key);
+            if (record >= 0) {
+                LONG_VIEW.setRelease(buffer, record, DELETED);
+            }
+        }
+
+        /**
+         * 把存活记录原样拷贝到新分段（新分段尚未对外可见，直接写入），返回存活记录数
+         */
+        int copyLiveTo(Segment target, long now) {
+            int mask = target.slotCount - 1;
+            int live = 0;
+            int end = target.dataStart;
+            for (int offset = HEADER_BYTES; offset < dataStart; offset += SLOT_BYTES) {
+                long hash = buffer.getLong(offset);
+                if (hash == 0L) {
+                    continue;
+                }
+                int record = (int) buffer.getLong(offset + 8);
+                if (isDead(record, now)) {
+                    continue;
+                }
+                int length = RECORD_HEADER_BYTES + buffer.getShort(record + 12) + buffer.getInt(record + 14);
+                target.buffer.put(end, buffer, record, length);
+                int slot = (int) hash & mask;
+                while (target.buffer.getLong(HEADER_BYTES + slot * SLOT_BYTES) != 0L) {
+                    slot = (slot + 1) & mask;
+                }
+                target.buffer.putLong(HEADER_BYTES + slot * SLOT_BYTES + 8, end);
+                target.buffer.putLong(HEADER_BYTES + slot * SLOT_BYTES, hash);
+                end = (end + length + 7) & ~7;
+                live++;
+            }
+            target.buffer.putInt(H_DATA_END, end);
+            target.buffer.putInt(H_USED_SLOTS, live);
+            return live;
+        }
+
+        /**
+         * 记录区或槽位占用是否超过压缩水位（5/8，槽位写入上限为 3/4）
+         */
+        boolean aboveWatermark() {
+            int dataCapacity = dataLimit - dataStart;
+            int dataUsed = buffer.getInt(H_DATA_END) - dataStart;
+            return dataUsed >= (dataCapacity >>> 3) * 5 || buffer.getInt(H_USED_SLOTS) >= (slotCount >>> 3) * 5;
+        }
+
+        /**
+         * 段锁被占用（正在压缩或写入）时不等待，直接返回 false
+         */
+        boolean shouldCompact(long minAppends, boolean afterInterval, long now) {
+            if (!lock.tryLock()) {
+                return false;
+            }
+            try {
+                if (retired) {
+                    return false;
+                }
+                return appendsSinceCompaction >= minAppends || (afterInterval && now - compactedAtMillis >= COMPACT_MIN_INTERVAL_MILLIS);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean isDead(int record, long now) {
+            long validUntil = (long) LONG_VIEW.getAcquire(buffer, record);
+            return validUntil == DELETED || validUntil <= now;
+        }
+
+        private int append(byte[] key, byte[] location, long validUntil, int status, boolean edgeCacheable) {
+            int record = buffer.getInt(H_DATA_END);
+            long end = (long) record + RECORD_HEADER_BYTES + key.length + location.length;
+            long aligned = (end + 7) & ~7L;
+            if (aligned > dataLimit || key.length > Short.MAX_VALUE) {
+                return -1;
+            }
+            buffer.putLong(record, validUntil);
+            buffer.putShort(record + 8, (short) status);
+            buffer.put(record + 10, (byte) (edgeCacheable ? 1 : 0));
+            buffer.putShort(record + 12, (short) key.length);
+            buffer.putInt(record + 14, location.length);
+            buffer.put(record + RECORD_HEADER_BYTES, key);
+            buffer.put(record + RECORD_HEADER_BYTES + key.length, location);
+            buffer.putInt(H_DATA_END, (int) aligned);
+            return record;
+        }
+
+        private boolean keyEquals(int record, byte[] key) {
+            if (buffer.getShort(record + 12) != key.length) {
+                return false;
+            }
+            int base = record + RECORD_HEADER_BYTES;
+            for (int i = 0; i < key.length; i++) {
+                if (buffer.get(base + i) != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean sameContent(int record, byte[] location, int status, boolean edgeCacheable) {
+            if (buffer.getShort(record + 8) != status
+                    || (buffer.get(record + 10) == 1) != edgeCacheable
+                    || buffer.getInt(record + 14) != location.length) {
+                return false;
+            }
+            int base = record + RECORD_HEADER_BYTES + buffer.getShort(record + 12);
+            for (int i = 0; i < location.length; i++) {
+                if (buffer.get(base + i) != location[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package dev.chanler.shortlink.common.cache;
+
+import dev.chanler.shortlink.common.config.RedirectProperties;
+import dev.chanler.shortlink.dao.entity.LinkDO;
+import dev.chanler.shortlink.dao.mapper.LinkMapper;
+import dev.chanler.shortlink.mq.consumer.LinkStatsSaver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_POLICY_SHORT_LINK_KEY_PREFIX;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY_PREFIX;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.HOT_LINKS_SNAPSHOT_KEY;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.linkKey;
+
+/**
+ * 启动预热本地跳转缓存
+ * ApplicationRunner 执行完毕后 Spring Boot 才发布 ReadinessState.ACCEPTING_TRAFFIC，因此预热期间节点不会报告就绪
+ * 1. Redis 热点快照（各节点近期热点）：pipeline 批量读取跳转目标、剩余 TTL 与跳转策略
+ * 2. DB 访问量排行（跨 16 个分片归并）：同时预热跳转缓存与统计落库的 gid 缓存
+ * 预热在独立线程执行，超出时间预算后停止并直接就绪
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedirectCacheWarmer implements ApplicationRunner {
+
+    private final RedirectProperties redirectProperties;
+    private final RedirectLocalCache redirectLocalCache;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LinkMapper linkMapper;
+    private final LinkStatsSaver linkStatsSaver;
+
+    private static final int REDIS_BATCH_SIZE = 500;
+
+    private volatile long deadlineNanos;
+    private volatile boolean stopped;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        RedirectProperties.WarmUpProperties props = redirectProperties.getWarmUp();
+        if (!props.isEnable() || props.getTopN() <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        deadlineNanos = start + TimeUnit.MILLISECONDS.toNanos(props.getTimeBudgetMillis());
+        CompletableFuture<Void> warmUp = CompletableFuture.runAsync(() -> warmUp(props.getTopN()), r -> {
+            Thread t = new Thread(r, "redirect_cache_warmer");
+            t.setDaemon(true);
+            t.start();
+        });
+        try {
+            warmUp.get(props.getTimeBudgetMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("跳转缓存预热超出时间预算 {}ms，停止预热", props.getTimeBudgetMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("跳转缓存预热失败", e);
+        } finally {
+            // 通知预热线程尽快退出
+            stopped = true;
+        }
+        log.info("跳转缓存预热结束，耗时 {}ms，本地缓存条目 {}",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), redirectLocalCache.estimatedSize());
+    }
+
+    private void warmUp(int topN) {
+        int fromSnapshot = warmFromHotSnapshot(topN);
+        int fromDatabase = warmFromDatabase(topN);
+        log.info("跳转缓存预热：Redis 热点快照 {} 条，DB 访问量排行 {} 条", fromSnapshot, fromDatabase);
+    }
+
+    private int warmFromHotSnapshot(int topN) {
+        Set<String> hotLinks = stringRedisTemplate.opsForZSet().reverseRange(HOT_LINKS_SNAPSHOT_KEY, 0, topN - 1L);
+        if (hotLinks == null || hotLinks.isEmpty()) {
+            return 0;
+        }
+        List<String> keys = new ArrayList<>(hotLinks);
+        int loaded = 0;
+        for (int from = 0; from < keys.size() && !expired(); from += REDIS_BATCH_SIZE) {
+            List<String> batch = keys.subList(from, Math.min(keys.size(), from + REDIS_BATCH_SIZE));
+            List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String fullShortUrl : batch) {
+                    byte[] rawKey = linkKey(GOTO_SHORT_LINK_KEY_PREFIX, fullShortUrl).getBytes(StandardCharsets.UTF_8);
+                    connection.stringCommands().get(rawKey);
+                    connection.keyCommands().pTtl(rawKey);
+                    connection.stringCommands().get(linkKey(GOTO_POLICY_SHORT_LINK_KEY_PREFIX, fullShortUrl).getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                if (results.get(i * 3) instanceof String originUrl && !originUrl.isEmpty()) {
+                    long pttl = results.get(i * 3 + 1) instanceof Number number ? number.longValue() : -1L;
+                    String policy = results.get(i * 3 + 2) instanceof String value ? value : null;
+                    redirectLocalCache.put(batch.get(i), RedirectEntry.ofRedis(originUrl, pttl, policy));
+                    loaded++;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private int warmFromDatabase(int topN) {
+        if (expired()) {
+            return 0;
+        }
+        List<LinkDO> links = linkMapper.listTopByTotalPv(topN);
+        int loaded = 0;
+        for (LinkDO each : links) {
+            if (expired()) {
+                break;
+            }
+            linkStatsSaver.warmGidCache(each.getFullShortUrl(), each.getGid());
+            // Redis 快照已预热的条目带有实时 TTL，不覆盖
+            if (redirectLocalCache.getIfPresent(each.getFullShortUrl()) == null) {
+                redirectLocalCache.put(each.getFullShortUrl(), RedirectEntry.of(each));
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    private boolean expired() {
+        return stopped || System.nanoTime() - deadlineNanos >= 0;
+    }
+}
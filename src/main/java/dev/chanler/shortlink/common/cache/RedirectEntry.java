@@ -0,0 +1,243 @@
+package dev.chanler.shortlink.common.cache;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import dev.chanler.shortlink.dao.entity.LinkDO;
+import dev.chanler.shortlink.dao.entity.LinkGotoDO;
+import dev.chanler.shortlink.toolkit.LinkUtil;
+import dev.chanler.shortlink.toolkit.ipgeo.IpGeoClient;
+
+import java.util.Objects;
+
+/**
+ * 短链接跳转本地缓存条目
+ * @param location 预编码后的 Location 响应头值
+ * @param validUntil 有效期截止时间戳（ms），永久有效为 {@link #PERMANENT}
+ * @param gid 分组标识，Redis 回填时未知为 null
+ * @param version 版本号（t_link / t_link_goto 的 update_time 毫秒值），Redis 回填时未知为 0
+ * @param status 跳转状态码 301/302/307/308
+ * @param edgeCacheable 是否允许 CDN / nginx 缓存跳转响应
+ * @param rules 条件跳转规则，未设置为 null
+ * @param variants 加权分流目标，未设置为 null
+ * @author: Chanler
+ */
+public record RedirectEntry(String location, long validUntil, String gid, long version, int status, boolean edgeCacheable,
+                            RedirectRules rules, RedirectVariants variants) {
+
+    /**
+     * 永久有效
+     */
+    public static final long PERMANENT = Long.MAX_VALUE;
+
+    /**
+     * 条目固定开销估算（字节）：record 对象头与字段、各 String 对象头与数组头、Caffeine 节点
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 240;
+
+    /**
+     * 默认跳转状态码
+     */
+    public static final int DEFAULT_STATUS = 302;
+
+    /**
+     * 跳转目标编码：原始链接
+     */
+    public static final int TARGET_ORIGIN = -1;
+
+    /**
+     * 跳转目标编码：分流目标起始值，小于该值的非负数为条件跳转规则下标
+     */
+    public static final int VARIANT_TARGET_BASE = RedirectRules.MAX_RULES;
+
+    /**
+     * 跳转策略标志位：允许边缘缓存
+     */
+    private static final int POLICY_FLAG_EDGE_CACHEABLE = 1;
+
+    /**
+     * 跳转策略标志位：短链接设置了有效期，跳转 key 的 TTL 即有效期而非缓存时长
+     */
+    private static final int POLICY_FLAG_VALID_DATE = 2;
+
+    private static final String POLICY_RULES = "rules";
+    private static final String POLICY_VARIANTS = "variants";
+
+    /**
+     * 由数据库记录构建
+     */
+    public static RedirectEntry of(LinkDO linkDO) {
+        return new RedirectEntry(
+                LinkUtil.encodeLocation(linkDO.getOriginUrl()),
+                linkDO.getValidDate() == null ? PERMANENT : linkDO.getValidDate().getTime(),
+                linkDO.getGid(),
+                linkDO.getUpdateTime() == null ? 0L : linkDO.getUpdateTime().getTime(),
+                linkDO.getRedirectType() == null ? DEFAULT_STATUS : linkDO.getRedirectType(),
+                Objects.equals(linkDO.getEdgeCacheable(), 1),
+                RedirectRules.parse(linkDO.getRedirectRules()),
+                RedirectVariants.parse(linkDO.getRedirectVariants())
+        );
+    }
+
+    /**
+     * 由跳转表冗余的跳转字段构建（调用方需确认 originUrl 已回填）
+     */
+    public static RedirectEntry of(LinkGotoDO linkGotoDO) {
+        return new RedirectEntry(
+                LinkUtil.encodeLocation(linkGotoDO.getOriginUrl()),
+                linkGotoDO.getValidDate() == null ? PERMANENT : linkGotoDO.getValidDate().getTime(),
+                linkGotoDO.getGid(),
+                linkGotoDO.getUpdateTime() == null ? 0L : linkGotoDO.getUpdateTime().getTime(),
+                linkGotoDO.getRedirectType() == null ? DEFAULT_STATUS : linkGotoDO.getRedirectType(),
+                Objects.equals(linkGotoDO.getEdgeCacheable(), 1),
+                RedirectRules.parse(linkGotoDO.getRedirectRules()),
+                RedirectVariants.parse(linkGotoDO.getRedirectVariants())
+        );
+    }
+
+    /**
+     * 由 Redis 缓存值构建
+     * @param originUrl 原始链接
+     * @param pttlMillis 跳转 key 剩余 TTL（ms），-1 表示无过期
+     * @param policy 跳转策略 key 的值（{@link #encodePolicy}），不存在时为 null 或空串，按默认策略处理
+     */
+    public static RedirectEntry ofRedis(String originUrl, long pttlMillis, String policy) {
+        long validUntil = pttlMillis < 0 ? PERMANENT : System.currentTimeMillis() + pttlMillis;
+        int status = DEFAULT_STATUS;
+        boolean edgeCacheable = false;
+        RedirectRules rules = null;
+        RedirectVariants variants = null;
+        int separator = policy == null ? -1 : policy.indexOf('|');
+        if (separator > 0) {
+            try {
+                status = Integer.parseInt(policy, 0, separator, 10);
+            } catch (NumberFormatException ignored) {
+                // 格式异常按默认策略处理
+            }
+            edgeCacheable = (policyFlags(policy, separator) & POLICY_FLAG_EDGE_CACHEABLE) != 0;
+            if (policy.startsWith("|", separator + 2)) {
+                JSONObject targets = parseTargets(policy.substring(separator + 3));
+                if (targets != null) {
+                    rules = RedirectRules.parse(targets.getString(POLICY_RULES));
+                    variants = RedirectVariants.parse(targets.getString(POLICY_VARIANTS));
+                }
+            }
+        }
+        return new RedirectEntry(LinkUtil.encodeLocation(originUrl), validUntil, null, 0L, status, edgeCacheable, rules, variants);
+    }
+
+    /**
+     * Redis 跳转 key 的 TTL 是否为短链接有效期（而非永久短链接的缓存时长），此类 key 到期即短链接失效，不提前回源
+     * @param policy 跳转策略 key 的值，不存在时为 null 或空串
+     */
+    public static boolean hasValidDate(String policy) {
+        int separator = policy == null ? -1 : policy.indexOf('|');
+        return separator > 0 && (policyFlags(policy, separator) & POLICY_FLAG_VALID_DATE) != 0;
+    }
+
+    private static int policyFlags(String policy, int separator) {
+        if (policy.length() <= separator + 1) {
+            return 0;
+        }
+        int flags = policy.charAt(separator + 1) - '0';
+        return flags >= 0 && flags <= 9 ? flags : 0;
+    }
+
+    /**
+     * 是否为默认跳转策略（302、不可边缘缓存且未设置条件跳转规则与分流目标），默认策略的永久短链接不写入 Redis 跳转策略 key
+     */
+    public static boolean isDefaultPolicy(int status, boolean edgeCacheable, String rules, String variants) {
+        return status == DEFAULT_STATUS && !edgeCacheable && rules == null && variants == null;
+    }
+
+    /**
+     * 当前条目是否为默认跳转策略
+     */
+    public boolean hasDefaultPolicy() {
+        return isDefaultPolicy(status, edgeCacheable, rules == null ? null : rules.source(), variants == null ? null : variants.source());
+    }
+
+    /**
+     * 编码跳转策略，格式：{status}|{flags}，flags 为标志位（1 允许边缘缓存，2 设置了有效期），
+     * 设置条件跳转规则或分流目标时追加 |{"rules":[...],"variants":[...]}
+     * @param validDate 短链接是否设置了有效期
+     */
+    public static String encodePolicy(int status, boolean edgeCacheable, boolean validDate, String rules, String variants) {
+        int flags = (edgeCacheable ? POLICY_FLAG_EDGE_CACHEABLE : 0) | (validDate ? POLICY_FLAG_VALID_DATE : 0);
+        String policy = status + "|" + flags;
+        if (rules == null && variants == null) {
+            return policy;
+        }
+        StringBuilder builder = new StringBuilder(policy).append("|{");
+        if (rules != null) {
+            builder.append('"').append(POLICY_RULES).append("\":").append(rules);
+        }
+        if (variants != null) {
+            if (rules != null) {
+                builder.append(',');
+            }
+            builder.append('"').append(POLICY_VARIANTS).append("\":").append(variants);
+        }
+        return builder.append('}').toString();
+    }
+
+    /**
+     * 是否按访客选择跳转目标（条件跳转规则或分流），此类响应不可共享缓存
+     */
+    public boolean personalized() {
+        return rules != null || variants != null;
+    }
+
+    /**
+     * 选择本次访问的跳转目标：条件跳转规则优先，未命中时按访客分流，均未设置时为原始链接
+     * 目标以 int 编码返回，避免跳转路径上创建结果对象
+     * @param uv 访客 uv Cookie，分流按其哈希保持粘性
+     * @return {@link #TARGET_ORIGIN}、规则下标或 {@link #VARIANT_TARGET_BASE} + 分流目标下标
+     */
+    public int selectTarget(String userAgent, String ip, String uv, IpGeoClient ipGeoClient) {
+        if (rules != null) {
+            int rule = rules.select(userAgent, ip, ipGeoClient);
+            if (rule >= 0) {
+                return rule;
+            }
+        }
+        return variants == null ? TARGET_ORIGIN : VARIANT_TARGET_BASE + variants.select(uv);
+    }
+
+    /**
+     * 跳转目标对应的 Location
+     */
+    public String locationOf(int target) {
+        if (target == TARGET_ORIGIN) {
+            return location;
+        }
+        return target >= VARIANT_TARGET_BASE ? variants.location(target - VARIANT_TARGET_BASE) : rules.location(target);
+    }
+
+    /**
+     * 跳转目标对应的分流目标下标，非分流目标返回 -1
+     */
+    public static int variantOf(int target) {
+        return target >= VARIANT_TARGET_BASE ? target - VARIANT_TARGET_BASE : -1;
+    }
+
+    private static JSONObject parseTargets(String json) {
+        try {
+            return JSON.parseObject(json);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * 估算条目占用字节数（Latin-1 紧凑字符串按 1 字节/字符计）
+     */
+    public int weigh(String fullShortUrl) {
+        long bytes = ENTRY_OVERHEAD_BYTES
+                + fullShortUrl.length()
+                + location.length()
+                + (gid == null ? 0 : gid.length())
+                + (rules == null ? 0 : rules.weight())
+                + (variants == null ? 0 : variants.weight());
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+}
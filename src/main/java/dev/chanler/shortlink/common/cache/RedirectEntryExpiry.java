@@ -0,0 +1,45 @@
+package dev.chanler.shortlink.common.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 跳转缓存逐条过期策略
+ * 条目存活时间 = min(短链接剩余有效期, 本地最大 TTL)，读取不续期
+ * @author: Chanler
+ */
+public class RedirectEntryExpiry implements Expiry<String, RedirectEntry> {
+
+    private final long maxTtlNanos;
+
+    public RedirectEntryExpiry(long maxTtlSeconds) {
+        this.maxTtlNanos = TimeUnit.SECONDS.toNanos(maxTtlSeconds);
+    }
+
+    @Override
+    public long expireAfterCreate(String key, RedirectEntry value, long currentTime) {
+        return ttlNanos(value);
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, RedirectEntry value, long currentTime, long currentDuration) {
+        return ttlNanos(value);
+    }
+
+    @Override
+    public long expireAfterRead(String key, RedirectEntry value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+
+    private long ttlNanos(RedirectEntry value) {
+        if (value.validUntil() == RedirectEntry.PERMANENT) {
+            return maxTtlNanos;
+        }
+        long remainingMillis = value.validUntil() - System.currentTimeMillis();
+        if (remainingMillis <= 0) {
+            return 0L;
+        }
+        return Math.min(maxTtlNanos, TimeUnit.MILLISECONDS.toNanos(remainingMillis));
+    }
+}
@@ -0,0 +1,127 @@
+package dev.chanler.shortlink.common.cache;
+
+import cn.hutool.core.lang.UUID;
+import dev.chanler.shortlink.common.config.RedirectProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.LEASE_GOTO_SHORT_LINK_KEY_PREFIX;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.linkKey;
+
+/**
+ * 跳转回源租约（跨节点单飞）
+ * 本地单飞只能合并同一 JVM 内的并发回源，集群冷启动或热点 key 同时过期时每个节点仍各自查询一次 DB；
+ * 启用后未命中的节点先以 SET NX PX 抢占短租约，持有者回源 DB 并回填 Redis，其余节点轮询 Redis 等待结果，
+ * 等待超时（持有者宕机、回源过慢）后各自回源，租约只用于削峰，不影响可用性
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedirectLoadLease {
+
+    /**
+     * Redis 不可用时返回的令牌：调用方视为已持有租约直接回源，释放时忽略
+     */
+    public static final String UNGUARDED = "";
+
+    private static final String REDIRECT_LEASE_RELEASE_LUA = "lua/redirect_lease_release.lua";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final RedirectProperties redirectProperties;
+
+    private DefaultRedisScript<Long> releaseScript;
+
+    private final LongAdder acquiredCount = new LongAdder();
+    private final LongAdder awaitedCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        releaseScript = new DefaultRedisScript<>();
+        releaseScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(REDIRECT_LEASE_RELEASE_LUA)));
+        releaseScript.setResultType(Long.class);
+    }
+
+    public boolean isEnabled() {
+        return redirectProperties.getLoadLease().isEnable();
+    }
+
+    /**
+     * 尝试抢占回源租约（受熔断保护）
+     * @return 抢占成功返回持有者令牌；已被其他节点持有返回 null；Redis 不可用返回 {@link #UNGUARDED}
+     */
+    public String tryAcquire(String fullShortUrl) {
+        if (!redisCircuitBreaker.allowRequest()) {
+            return UNGUARDED;
+        }
+        String token = UUID.fastUUID().toString();
+        long startNanos = System.nanoTime();
+        try {
+            Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(linkKey(LEASE_GOTO_SHORT_LINK_KEY_PREFIX, fullShortUrl),
+                    token, redirectProperties.getLoadLease().getLeaseMillis(), TimeUnit.MILLISECONDS);
+            redisCircuitBreaker.onSuccess(System.nanoTime() - startNanos);
+            if (Boolean.TRUE.equals(acquired)) {
+                acquiredCount.increment();
+                return token;
+            }
+            return null;
+        } catch (RuntimeException ex) {
+            redisCircuitBreaker.onFailure(ex);
+            log.warn("Redirect lease acquire error, fullShortUrl={}, cause={}", fullShortUrl, ex.toString());
+            return UNGUARDED;
+        }
+    }
+
+    /**
+     * 释放租约，仅删除自己持有的租约；失败时等待租约自然过期
+     */
+    public void release(String fullShortUrl, String token) {
+        if (token == null || token.isEmpty() || !redisCircuitBreaker.allowRequest()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            stringRedisTemplate.execute(releaseScript, List.of(linkKey(LEASE_GOTO_SHORT_LINK_KEY_PREFIX, fullShortUrl)), token);
+            redisCircuitBreaker.onSuccess(System.nanoTime() - startNanos);
+        } catch (RuntimeException ex) {
+            redisCircuitBreaker.onFailure(ex);
+            log.warn("Redirect lease release error, fullShortUrl={}, cause={}", fullShortUrl, ex.toString());
+        }
+    }
+
+    /**
+     * 记录一次等待结果
+     * @param published 是否在等待期间读到持有者回填的结果
+     */
+    public void recordAwait(boolean published) {
+        if (published) {
+            awaitedCount.increment();
+        } else {
+            timeoutCount.increment();
+        }
+    }
+
+    public long getAcquiredCount() {
+        return acquiredCount.sum();
+    }
+
+    public long getAwaitedCount() {
+        return awaitedCount.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+}
@@ -0,0 +1,408 @@
+package dev.chanler.shortlink.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import dev.chanler.shortlink.common.config.RedirectProperties;
+import dev.chanler.shortlink.toolkit.ShortCodeUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 短链接跳转本地缓存入口
+ * 1. 默认模式：以完整短链接为 key 的 Caffeine 缓存（redirectCache），按估算字节数淘汰
+ * 2. 短码索引模式：短码是定长 Base62 编码，解码后的 long 与短码一一对应；按域名分表，每表为 long 哈希定位、
+ *    有界线性探测（最多 {@value #PROBE_LIMIT} 个相邻槽位）的 AtomicReferenceArray，查询只比较 long，不计算 String 哈希、
+ *    不做字符串比较、不创建 key 对象；探测窗口已满时淘汰窗口内最早到期的条目；
+ *    所有域名表共用 max-weight-bytes 字节预算，超出时由时钟指针清除槽位直到回到预算内；
+ *    无法索引的短链接（域名超限、短码非法）回退到 Caffeine
+ * 两种模式条目存活时间一致：min(短链接剩余有效期, 本地最大 TTL)，写入超过刷新间隔后被读取时后台刷新；超过本地最大 TTL 的条目在短链接有效期内仍可通过
+ * {@link #getStale} 读取（Caffeine 模式转存到 {@link RedirectStaleCache}，短码索引模式保留在槽位中直到被覆盖），供 Redis 熔断期间使用
+ * @author: Chanler
+ */
+@Component
+@RequiredArgsConstructor
+public class RedirectLocalCache {
+
+    private final RedirectProperties redirectProperties;
+    private final Cache<String, RedirectEntry> redirectCache;
+    private final RedirectStaleCache redirectStaleCache;
+    private final RedirectRefresher redirectRefresher;
+
+    /**
+     * 探测窗口槽位数，查询最多读取这么多个相邻引用（同一或相邻缓存行）
+     */
+    private static final int PROBE_LIMIT = 8;
+    /**
+     * 单次写入超出预算时时钟指针最多扫描的槽位数
+     */
+    private static final int SWEEP_LIMIT = 1024;
+
+    private final Object tablesLock = new Object();
+    private volatile DomainTable[] tables = new DomainTable[0];
+    private final AtomicLong indexedWeight = new AtomicLong();
+
+    private final LongAdder indexedHits = new LongAdder();
+    private final LongAdder indexedMisses = new LongAdder();
+    private final LongAdder indexedCollisions = new LongAdder();
+    private final LongAdder indexedEvictions = new LongAdder();
+
+    public RedirectEntry getIfPresent(String fullShortUrl) {
+        if (!redirectProperties.getLocalCache().isCodeIndexed()) {
+            return redirectCache.getIfPresent(fullShortUrl);
+        }
+        int slash = fullShortUrl.lastIndexOf('/');
+        long code = slash < 0 ? -1L : codeOf(fullShortUrl, slash);
+        DomainTable table = code < 0 ? null : findTable(fullShortUrl, slash);
+        if (table == null) {
+            return redirectCache.getIfPresent(fullShortUrl);
+        }
+        int index = table.find(code);
+        if (index < 0) {
+            return miss();
+        }
+        Slot slot = table.slots.get(index);
+        if (slot == null || slot.code() != code) {
+            return miss();
+        }
+        long now = System.currentTimeMillis();
+        if (slot.expireAtMillis() <= now) {
+            // 过期槽位保留到被覆盖，熔断期间仍可读取
+            return miss();
+        }
+        if (slot.refreshAtMillis() <= now) {
+            refresh(fullShortUrl, table, index, slot);
+        }
+        indexedHits.increment();
+        return slot.entry();
+    }
+
+    /**
+     * 短码索引模式的提前刷新：抢占槽位后后台重新加载，期间其他读取不再触发；
+     * 回填时槽位已被覆盖或失效则放弃结果，语义与 Caffeine refreshAfterWrite 一致
+     */
+    private void refresh(String fullShortUrl, DomainTable table, int index, Slot slot) {
+        Slot claimed = new Slot(slot.code(), slot.expireAtMillis(), Long.MAX_VALUE, slot.weight(), slot.entry());
+        if (!table.slots.compareAndSet(index, slot, claimed)) {
+            return;
+        }
+        redirectRefresher.refreshAsync(fullShortUrl, slot.entry(), refreshed -> {
+            if (refreshed == null) {
+                replace(table, index, claimed, null);
+                return;
+            }
+            long expireAtMillis = expireAtMillis(refreshed);
+            replace(table, index, claimed,
+                    new Slot(slot.code(), expireAtMillis, refreshAtMillis(expireAtMillis), refreshed.weigh(fullShortUrl), refreshed));
+        });
+    }
+
+    /**
+     * 读取已超过本地最大 TTL、但仍在短链接有效期内的条目，仅在 Redis 熔断期间使用
+     */
+    public RedirectEntry getStale(String fullShortUrl) {
+        if (redirectProperties.getLocalCache().isCodeIndexed()) {
+            int slash = fullShortUrl.lastIndexOf('/');
+            long code = slash < 0 ? -1L : codeOf(fullShortUrl, slash);
+            DomainTable table = code < 0 ? null : findTable(fullShortUrl, slash);
+            if (table != null) {
+                int index = table.find(code);
+                Slot slot = index < 0 ? null : table.slots.get(index);
+                if (slot != null && slot.code() == code && slot.entry().validUntil() > System.currentTimeMillis()) {
+                    return slot.entry();
+                }
+                return null;
+            }
+        }
+        return redirectStaleCache.getIfPresent(fullShortUrl);
+    }
+
+    public void put(String fullShortUrl, RedirectEntry entry) {
+        if (!redirectProperties.getLocalCache().isCodeIndexed()) {
+            redirectCache.put(fullShortUrl, entry);
+            return;
+        }
+        int slash = fullShortUrl.lastIndexOf('/');
+        long code = slash < 0 ? -1L : codeOf(fullShortUrl, slash);
+        DomainTable table = code < 0 ? null : findOrCreateTable(fullShortUrl, slash);
+        if (table == null) {
+            redirectCache.put(fullShortUrl, entry);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expireAtMillis = expireAtMillis(entry);
+        if (expireAtMillis <= now) {
+            return;
+        }
+        Slot slot = new Slot(code, expireAtMillis, refreshAtMillis(expireAtMillis), entry.weigh(fullShortUrl), entry);
+        int index;
+        Slot previous;
+        do {
+            index = table.slotFor(code, now);
+            previous = table.slots.get(index);
+        } while (!replace(table, index, previous, slot));
+        if (previous != null && previous.code() != code && previous.expireAtMillis() > now) {
+            indexedCollisions.increment();
+        }
+        // 并发写入同一短码可能落在窗口内两个槽位，保留本次写入
+        table.removeDuplicates(code, index, this);
+        if (indexedWeight.get() > redirectProperties.getLocalCache().getMaxWeightBytes()) {
+            sweep(table);
+        }
+    }
+
+    public void invalidate(String fullShortUrl) {
+        // 模式可能在运行期切换，两侧都失效
+        redirectCache.invalidate(fullShortUrl);
+        redirectStaleCache.invalidate(fullShortUrl);
+        int slash = fullShortUrl.lastIndexOf('/');
+        long code = slash < 0 ? -1L : codeOf(fullShortUrl, slash);
+        DomainTable table = code < 0 ? null : findTable(fullShortUrl, slash);
+        if (table == null) {
+            return;
+        }
+        table.removeDuplicates(code, -1, this);
+    }
+
+    public void invalidateAll() {
+        redirectCache.invalidateAll();
+        redirectStaleCache.invalidateAll();
+        for (DomainTable table : tables) {
+            for (int i = 0; i < table.slots.length(); i++) {
+                Slot slot = table.slots.get(i);
+                if (slot != null) {
+                    replace(table, i, slot, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * 估算条目数（短码索引模式遍历槽位，仅用于日志与监控）
+     */
+    public long estimatedSize() {
+        long size = redirectCache.estimatedSize();
+        for (DomainTable table : tables) {
+            for (int i = 0; i < table.slots.length(); i++) {
+                if (table.slots.get(i) != null) {
+                    size++;
+                }
+            }
+        }
+        return size;
+    }
+
+    public long getIndexedHits() {
+        return indexedHits.sum();
+    }
+
+    public long getIndexedMisses() {
+        return indexedMisses.sum();
+    }
+
+    public long getIndexedCollisions() {
+        return indexedCollisions.sum();
+    }
+
+    public long getIndexedEvictions() {
+        return indexedEvictions.sum();
+    }
+
+    public long getIndexedWeightBytes() {
+        return indexedWeight.get();
+    }
+
+    /**
+     * CAS 替换槽位并同步调整字节占用
+     */
+    private boolean replace(DomainTable table, int index, Slot expected, Slot update) {
+        if (!table.slots.compareAndSet(index, expected, update)) {
+            return false;
+        }
+        long delta = (update == null ? 0 : update.weight()) - (expected == null ? 0 : expected.weight());
+        if (delta != 0) {
+            indexedWeight.addAndGet(delta);
+        }
+        return true;
+    }
+
+    /**
+     * 超出字节预算时从时钟指针处依次清除槽位（优先已过期的条目，指针转过一圈后不再区分），直到回到预算内或达到单次扫描上限
+     */
+    private void sweep(DomainTable table) {
+        long budget = redirectProperties.getLocalCache().getMaxWeightBytes();
+        long now = System.currentTimeMillis();
+        int mask = table.slots.length() - 1;
+        for (int step = 0; step < SWEEP_LIMIT && indexedWeight.get() > budget; step++) {
+            int index = table.hand.getAndIncrement() & mask;
+            Slot slot = table.slots.get(index);
+            if (slot == null) {
+                continue;
+            }
+            if (slot.expireAtMillis() > now && step < SWEEP_LIMIT / 2) {
+                // 前半程只清除已过期的条目，给未过期条目一次机会
+                continue;
+            }
+            if (replace(table, index, slot, null) && slot.expireAtMillis() > now) {
+                indexedEvictions.increment();
+            }
+        }
+    }
+
+    private RedirectEntry miss() {
+        indexedMisses.increment();
+        return null;
+    }
+
+    /**
+     * 短码部分解码为 long，高位为 Base62 值、低 4 位为短码长度，避免不同长度短码（如前导 0）冲突
+     * @return 无法索引返回 -1
+     */
+    private static long codeOf(String fullShortUrl, int slash) {
+        int length = fullShortUrl.length() - slash - 1;
+        if (length <= 0) {
+            return -1L;
+        }
+        long y = ShortCodeUtil.decodeToY(fullShortUrl, slash + 1, fullShortUrl.length());
+        return y < 0 ? -1L : (y << 4) | length;
+    }
+
+    private DomainTable findTable(String fullShortUrl, int slash) {
+        // 域名数很少（通常 1～2 个），线性比较前缀即可，不计算哈希
+        for (DomainTable table : tables) {
+            if (table.domain.length() == slash && fullShortUrl.regionMatches(0, table.domain, 0, slash)) {
+                return table;
+            }
+        }
+        return null;
+    }
+
+    private DomainTable findOrCreateTable(String fullShortUrl, int slash) {
+        DomainTable table = findTable(fullShortUrl, slash);
+        if (table != null) {
+            return table;
+        }
+        synchronized (tablesLock) {
+            table = findTable(fullShortUrl, slash);
+            if (table != null) {
+                return table;
+            }
+            RedirectProperties.LocalCacheProperties props = redirectProperties.getLocalCache();
+            DomainTable[] current = tables;
+            if (current.length >= props.getCodeIndexedMaxDomains()) {
+                return null;
+            }
+            DomainTable[] next = new DomainTable[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            table = new DomainTable(fullShortUrl.substring(0, slash), props.getCodeIndexedSlots());
+            next[current.length] = table;
+            tables = next;
+            return table;
+        }
+    }
+
+    private long expireAtMillis(RedirectEntry entry) {
+        long maxExpireAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(redirectProperties.getLocalCache().getMaxTtlSeconds());
+        return Math.min(entry.validUntil(), maxExpireAt);
+    }
+
+    /**
+     * 刷新时间点：写入后超过刷新间隔，未启用提前刷新时不刷新
+     */
+    private long refreshAtMillis(long expireAtMillis) {
+        RedirectProperties.RefreshAheadProperties props = redirectProperties.getRefreshAhead();
+        if (!props.isEnable()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.min(expireAtMillis, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(props.getLocalRefreshAfterWriteSeconds()));
+    }
+
+    private static final class DomainTable {
+
+        private final String domain;
+        private final AtomicReferenceArray<Slot> slots;
+        private final int shift;
+        private final int mask;
+        private final AtomicInteger hand = new AtomicInteger();
+
+        DomainTable(String domain, int slotCount) {
+            int capacity = Integer.highestOneBit(Math.max(slotCount, PROBE_LIMIT));
+            this.domain = domain;
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.shift = 64 - Integer.numberOfTrailingZeros(capacity);
+            this.mask = capacity - 1;
+        }
+
+        /**
+         * Fibonacci 哈希取高位，短码经仿射置换后低位分布已较均匀，乘法再打散一次
+         */
+        int indexOf(long code) {
+            return (int) ((code * 0x9E3779B97F4A7C15L) >>> shift);
+        }
+
+        /**
+         * 在探测窗口内查找短码所在槽位；删除直接置空，窗口内不以空槽位提前结束
+         * @return 槽位下标，不存在返回 -1
+         */
+        int find(long code) {
+            int start = indexOf(code);
+            for (int i = 0; i < PROBE_LIMIT; i++) {
+                int index = (start + i) & mask;
+                Slot slot = slots.get(index);
+                if (slot != null && slot.code() == code) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * 选择写入槽位：同一短码所在槽位 > 首个空槽位或已过期槽位 > 窗口内最早到期的槽位
+         */
+        int slotFor(long code, long now) {
+            int start = indexOf(code);
+            int free = -1;
+            int victim = start;
+            long victimExpireAt = Long.MAX_VALUE;
+            for (int i = 0; i < PROBE_LIMIT; i++) {
+                int index = (start + i) & mask;
+                Slot slot = slots.get(index);
+                if (slot == null || slot.expireAtMillis() <= now) {
+                    if (free < 0) {
+                        free = index;
+                    }
+                    continue;
+                }
+                if (slot.code() == code) {
+                    return index;
+                }
+                if (slot.expireAtMillis() < victimExpireAt) {
+                    victim = index;
+                    victimExpireAt = slot.expireAtMillis();
+                }
+            }
+            return free >= 0 ? free : victim;
+        }
+
+        /**
+         * 清除窗口内除 keep 以外的同一短码槽位，keep 为 -1 时全部清除
+         */
+        void removeDuplicates(long code, int keep, RedirectLocalCache cache) {
+            int start = indexOf(code);
+            for (int i = 0; i < PROBE_LIMIT; i++) {
+                int index = (start + i) & mask;
+                Slot slot = slots.get(index);
+                if (index != keep && slot != null && slot.code() == code) {
+                    cache.replace(this, index, slot, null);
+                }
+            }
+        }
+    }
+
+    private record Slot(long code, long expireAtMillis, long refreshAtMillis, int weight, RedirectEntry entry) {
+    }
+}
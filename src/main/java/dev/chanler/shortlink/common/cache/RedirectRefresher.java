@@ -0,0 +1,183 @@
+package dev.chanler.shortlink.common.cache;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import dev.chanler.shortlink.common.config.RedirectProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * 跳转条目提前刷新
+ * 1. 本地：作为 redirectCache 的 CacheLoader，配合 refreshAfterWrite，条目写入超过刷新间隔后被读取时在后台重新加载，
+ *    加载期间继续返回旧值；短码索引模式通过 {@link #refreshAsync} 实现同样的语义
+ * 2. Redis：命中永久短链接的跳转 key 时按 XFetch 判定是否提前回源（剩余 TTL ≤ -delta * beta * ln(rand)，delta 为回源耗时的滑动平均），
+ *    越临近过期、回源越慢，提前回源的概率越大，避免热点 key 过期瞬间集中回源；设置了有效期的短链接 TTL 即有效期，不提前回源
+ * 重新加载逻辑由跳转服务通过 {@link #register} 注册；本地刷新与 Redis 提前回源各自按 key 去重，在独立有界线程池执行，队列满时放弃本次刷新
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedirectRefresher implements CacheLoader<String, RedirectEntry> {
+
+    private final RedirectProperties redirectProperties;
+
+    private static final double DELTA_EWMA_ALPHA = 0.1;
+
+    private ThreadPoolExecutor refreshExecutor;
+    private volatile BiFunction<String, RedirectEntry, RedirectEntry> reloader;
+    // 本地刷新与 Redis 提前回源分别去重，互不抑制
+    private final Set<String> refreshInflight = ConcurrentHashMap.newKeySet();
+    private final Set<String> recomputeInflight = ConcurrentHashMap.newKeySet();
+    // 回源耗时滑动平均（ms），初始值取典型的两次分片查询耗时
+    private volatile double loadDeltaMillis = 20D;
+
+    private final LongAdder localRefreshCounter = new LongAdder();
+    private final LongAdder earlyRecomputeCounter = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        RedirectProperties.RefreshAheadProperties props = redirectProperties.getRefreshAhead();
+        AtomicInteger index = new AtomicInteger();
+        refreshExecutor = new ThreadPoolExecutor(
+                props.getThreads(),
+                props.getThreads(),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(props.getQueueCapacity()),
+                r -> {
+                    Thread t = new Thread(r, "redirect_refresher_" + index.getAndIncrement());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        refreshExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * 注册重新加载逻辑
+     * @param reloader (fullShortUrl, 旧条目) -> 新条目，短链接已不存在时返回 null，无法判定时返回旧条目
+     */
+    public void register(BiFunction<String, RedirectEntry, RedirectEntry> reloader) {
+        this.reloader = reloader;
+    }
+
+    @Override
+    public RedirectEntry load(String fullShortUrl) {
+        return reload(fullShortUrl, null);
+    }
+
+    @Override
+    public RedirectEntry reload(String fullShortUrl, RedirectEntry oldValue) {
+        BiFunction<String, RedirectEntry, RedirectEntry> current = reloader;
+        if (current == null) {
+            return oldValue;
+        }
+        localRefreshCounter.increment();
+        return current.apply(fullShortUrl, oldValue);
+    }
+
+    @Override
+    public CompletableFuture<RedirectEntry> asyncReload(String fullShortUrl, RedirectEntry oldValue, Executor executor) {
+        // 回源涉及 Redis / DB 网络 IO，不占用 Caffeine 默认的 ForkJoinPool
+        try {
+            return CompletableFuture.supplyAsync(() -> reload(fullShortUrl, oldValue), refreshExecutor);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.completedFuture(oldValue);
+        }
+    }
+
+    /**
+     * 后台刷新（同一 key 同时只有一个任务）
+     * @param onRefreshed 刷新结果回调，短链接已不存在时为 null
+     */
+    public void refreshAsync(String fullShortUrl, RedirectEntry oldValue, Consumer<RedirectEntry> onRefreshed) {
+        if (!refreshInflight.add(fullShortUrl)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    onRefreshed.accept(reload(fullShortUrl, oldValue));
+                } catch (Throwable t) {
+                    log.warn("Redirect refresh error, fullShortUrl={}", fullShortUrl, t);
+                } finally {
+                    refreshInflight.remove(fullShortUrl);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            refreshInflight.remove(fullShortUrl);
+        }
+    }
+
+    /**
+     * XFetch：Redis 跳转 key 是否应提前回源
+     * @param remainingMillis 跳转 key 剩余 TTL，调用方需确认为永久短链接的缓存 TTL
+     */
+    public boolean shouldRecomputeEarly(long remainingMillis) {
+        RedirectProperties.RefreshAheadProperties props = redirectProperties.getRefreshAhead();
+        if (!props.isEnable() || remainingMillis <= 0) {
+            return false;
+        }
+        double threshold = -loadDeltaMillis * props.getRedisBeta() * Math.log(ThreadLocalRandom.current().nextDouble());
+        return remainingMillis <= threshold;
+    }
+
+    /**
+     * 提前回源刷新 Redis 跳转 key（同一 key 同时只有一个任务）
+     */
+    public void recomputeEarly(String fullShortUrl, Runnable recompute) {
+        if (!recomputeInflight.add(fullShortUrl)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    earlyRecomputeCounter.increment();
+                    recompute.run();
+                } catch (Throwable t) {
+                    log.warn("Redirect early recompute error, fullShortUrl={}", fullShortUrl, t);
+                } finally {
+                    recomputeInflight.remove(fullShortUrl);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            recomputeInflight.remove(fullShortUrl);
+        }
+    }
+
+    /**
+     * 记录一次回源耗时，更新 XFetch 的 delta
+     */
+    public void recordLoadMillis(long millis) {
+        loadDeltaMillis = loadDeltaMillis * (1 - DELTA_EWMA_ALPHA) + millis * DELTA_EWMA_ALPHA;
+    }
+
+    public long getLocalRefreshCount() {
+        return localRefreshCounter.sum();
+    }
+
+    public long getEarlyRecomputeCount() {
+        return earlyRecomputeCounter.sum();
+    }
+}
@@ -0,0 +1,281 @@
+package dev.chanler.shortlink.common.cache;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.StrUtil;
+import com.alibaba.fastjson2.JSON;
+import dev.chanler.shortlink.dto.biz.RedirectRuleDTO;
+import dev.chanler.shortlink.toolkit.LinkUtil;
+import dev.chanler.shortlink.toolkit.ipgeo.GeoInfo;
+import dev.chanler.shortlink.toolkit.ipgeo.IpGeoClient;
+import dev.chanler.shortlink.toolkit.useragent.UserAgentClassifier;
+import dev.chanler.shortlink.toolkit.useragent.UserAgentInfo;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 编译后的条件跳转规则（不可变，随跳转条目缓存）
+ * 写入时将规则 JSON 编译为按列存放的数组：操作系统、设备、星期编码为位掩码，时段编码为当天分钟数，跳转链接预编码；
+ * 跳转时按顺序逐条比较掩码与分钟数，UA 分类复用 {@link UserAgentClassifier} 的缓存结果，不解析 JSON、不创建对象，
+ * 只有规则含地域条件时才查询一次 IP 归属地（仅支持本地 ip2region 查询，其余查询方式下地域条件视为不命中）
+ * @author: Chanler
+ */
+public final class RedirectRules {
+
+    /**
+     * 单个短链接最多规则数
+     */
+    public static final int MAX_RULES = 16;
+
+    /**
+     * 时段与星期按 GMT+8 计算，与接口日期格式一致
+     */
+    private static final long ZONE_OFFSET_MILLIS = TimeUnit.HOURS.toMillis(8);
+
+    private static final long MILLIS_PER_MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+    private static final int MINUTES_PER_DAY = 1440;
+
+    private static final String[] OS_VALUES = {"Windows", "Mac", "Unix", "Android", "iOS", UserAgentInfo.UNKNOWN};
+    private static final String[] DEVICE_VALUES = {"Mobile", "Desktop"};
+
+    /**
+     * 规范化后的规则 JSON，写入 Redis 跳转策略 key
+     */
+    private final String source;
+    private final String[] locations;
+    private final int[] osMasks;
+    private final int[] deviceMasks;
+    private final int[] weekdayMasks;
+    private final int[] minuteFrom;
+    private final int[] minuteTo;
+    private final String[][] countries;
+    private final String[][] provinces;
+    private final boolean userAgentRequired;
+    private final int weight;
+
+    private RedirectRules(String source, String[] locations, int[] osMasks, int[] deviceMasks, int[] weekdayMasks,
+                          int[] minuteFrom, int[] minuteTo, String[][] countries, String[][] provinces) {
+        this.source = source;
+        this.locations = locations;
+        this.osMasks = osMasks;
+        this.deviceMasks = deviceMasks;
+        this.weekdayMasks = weekdayMasks;
+        this.minuteFrom = minuteFrom;
+        this.minuteTo = minuteTo;
+        this.countries = countries;
+        this.provinces = provinces;
+        boolean userAgent = false;
+        long bytes = source.length();
+        for (int i = 0; i < locations.length; i++) {
+            userAgent |= osMasks[i] != 0 || deviceMasks[i] != 0;
+            bytes += 64 + locations[i].length();
+        }
+        this.userAgentRequired = userAgent;
+        this.weight = (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 编译请求中的规则，校验失败抛出 {@link IllegalArgumentException}
+     * @return 规则为空时返回 null
+     */
+    public static RedirectRules compile(List<RedirectRuleDTO> rules) {
+        if (CollUtil.isEmpty(rules)) {
+            return null;
+        }
+        if (rules.size() > MAX_RULES) {
+            throw new IllegalArgumentException("跳转规则最多 " + MAX_RULES + " 条");
+        }
+        int size = rules.size();
+        String[] locations = new String[size];
+        int[] osMasks = new int[size];
+        int[] deviceMasks = new int[size];
+        int[] weekdayMasks = new int[size];
+        int[] minuteFrom = new int[size];
+        int[] minuteTo = new int[size];
+        String[][] countries = new String[size][];
+        String[][] provinces = new String[size][];
+        for (int i = 0; i < size; i++) {
+            RedirectRuleDTO rule = rules.get(i);
+            if (rule == null || StrUtil.isBlank(rule.getOriginUrl())) {
+                throw new IllegalArgumentException("跳转规则缺少跳转链接");
+            }
+            locations[i] = LinkUtil.encodeLocation(rule.getOriginUrl());
+            osMasks[i] = mask(rule.getOs(), OS_VALUES, "操作系统");
+            deviceMasks[i] = mask(rule.getDevice(), DEVICE_VALUES, "设备类型");
+            weekdayMasks[i] = weekdayMask(rule.getWeekdays());
+            if (rule.getTimeFrom() == null && rule.getTimeTo() == null) {
+                minuteFrom[i] = -1;
+                minuteTo[i] = -1;
+            } else {
+                minuteFrom[i] = minuteOfDay(rule.getTimeFrom());
+                minuteTo[i] = minuteOfDay(rule.getTimeTo());
+                if (minuteFrom[i] == minuteTo[i]) {
+                    throw new IllegalArgumentException("跳转规则生效时段开始与结束不能相同");
+                }
+            }
+            countries[i] = values(rule.getCountry());
+            provinces[i] = values(rule.getProvince());
+        }
+        return new RedirectRules(JSON.toJSONString(rules), locations, osMasks, deviceMasks, weekdayMasks,
+                minuteFrom, minuteTo, countries, provinces);
+    }
+
+    /**
+     * 解析已持久化的规则 JSON（t_link.redirect_rules 或 Redis 跳转策略 key）
+     * 已持久化的规则写入时均已校验，内容异常时返回 null，按原始链接跳转
+     */
+    public static RedirectRules parse(String json) {
+        if (StrUtil.isBlank(json)) {
+            return null;
+        }
+        try {
+            return compile(JSON.parseArray(json, RedirectRuleDTO.class));
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * 选择本次访问的跳转目标
+     * @param userAgent User-Agent 请求头，可为 null
+     * @param ip 访问 IP
+     * @param ipGeoClient 本地 IP 归属地查询，为 null 时地域条件视为不命中
+     * @return 首条命中的规则下标；均未命中返回 -1
+     */
+    public int select(String userAgent, String ip, IpGeoClient ipGeoClient) {
+        long localMillis = System.currentTimeMillis() + ZONE_OFFSET_MILLIS;
+        int minute = (int) Math.floorMod(localMillis / MILLIS_PER_MINUTE, (long) MINUTES_PER_DAY);
+        // 1970-01-01 为周四，ISO 星期 1～7 对应位 0～6
+        int weekdayBit = 1 << (int) Math.floorMod(Math.floorDiv(localMillis, MILLIS_PER_DAY) + 3, 7L);
+        int osBit = 0;
+        int deviceBit = 0;
+        if (userAgentRequired) {
+            UserAgentInfo info = UserAgentClassifier.classify(userAgent);
+            osBit = bitOf(info.os(), OS_VALUES);
+            deviceBit = bitOf(info.device(), DEVICE_VALUES);
+        }
+        GeoInfo geo = null;
+        boolean geoResolved = false;
+        for (int i = 0; i < locations.length; i++) {
+            if ((osMasks[i] != 0 && (osMasks[i] & osBit) == 0)
+                    || (deviceMasks[i] != 0 && (deviceMasks[i] & deviceBit) == 0)
+                    || (weekdayMasks[i] != 0 && (weekdayMasks[i] & weekdayBit) == 0)
+                    || (minuteFrom[i] >= 0 && !inWindow(minute, minuteFrom[i], minuteTo[i]))) {
+                continue;
+            }
+            if (countries[i] != null || provinces[i] != null) {
+                if (!geoResolved) {
+                    geoResolved = true;
+                    geo = ipGeoClient != null && ip != null ? ipGeoClient.query(ip) : null;
+                }
+                if (geo == null
+                        || (countries[i] != null && !contains(countries[i], geo.getCountry()))
+                        || (provinces[i] != null && !contains(provinces[i], geo.getProvince()))) {
+                    continue;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 规则的跳转目标（预编码后的 Location）
+     */
+    public String location(int index) {
+        return locations[index];
+    }
+
+    public String source() {
+        return source;
+    }
+
+    /**
+     * 估算占用字节数，计入本地缓存权重
+     */
+    public int weight() {
+        return weight;
+    }
+
+    private static boolean inWindow(int minute, int from, int to) {
+        return from < to ? minute >= from && minute < to : minute >= from || minute < to;
+    }
+
+    private static boolean contains(String[] values, String value) {
+        for (String each : values) {
+            if (each.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int bitOf(String value, String[] candidates) {
+        for (int i = 0; i < candidates.length; i++) {
+            if (candidates[i].equals(value)) {
+                return 1 << i;
+            }
+        }
+        return 0;
+    }
+
+    private static int mask(List<String> values, String[] candidates, String name) {
+        if (CollUtil.isEmpty(values)) {
+            return 0;
+        }
+        int mask = 0;
+        for (String value : values) {
+            int bit = bitOf(value, candidates);
+            if (bit == 0) {
+                throw new IllegalArgumentException("跳转规则" + name + "仅支持 " + String.join("/", candidates));
+            }
+            mask |= bit;
+        }
+        return mask;
+    }
+
+    private static int weekdayMask(List<Integer> weekdays) {
+        if (CollUtil.isEmpty(weekdays)) {
+            return 0;
+        }
+        int mask = 0;
+        for (Integer weekday : weekdays) {
+            if (weekday == null || weekday < 1 || weekday > 7) {
+                throw new IllegalArgumentException("跳转规则星期仅支持 1～7");
+            }
+            mask |= 1 << (weekday - 1);
+        }
+        return mask;
+    }
+
+    private static int minuteOfDay(String time) {
+        if (time == null || time.length() != 5 || time.charAt(2) != ':') {
+            throw new IllegalArgumentException("跳转规则生效时段格式为 HH:mm");
+        }
+        try {
+            int hour = Integer.parseInt(time, 0, 2, 10);
+            int minute = Integer.parseInt(time, 3, 5, 10);
+            if (hour > 23 || minute > 59 || hour < 0 || minute < 0) {
+                throw new IllegalArgumentException("跳转规则生效时段格式为 HH:mm");
+            }
+            return hour * 60 + minute;
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("跳转规则生效时段格式为 HH:mm");
+        }
+    }
+
+    private static String[] values(List<String> values) {
+        if (CollUtil.isEmpty(values)) {
+            return null;
+        }
+        String[] result = new String[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            if (StrUtil.isBlank(values.get(i))) {
+                throw new IllegalArgumentException("跳转规则地域条件不能为空");
+            }
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,59 @@
+package dev.chanler.shortlink.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.chanler.shortlink.common.config.RedirectProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 跳转过期条目缓存
+ * 跳转本地缓存（Caffeine 模式）因本地最大 TTL 或容量被淘汰的条目转存于此，保留到短链接有效期截止，
+ * 仅在 Redis 熔断期间读取，使已访问过的短链接在 Redis 不可用时仍可跳转；失效总线事件同步失效
+ * @author: Chanler
+ */
+@Component
+@RequiredArgsConstructor
+public class RedirectStaleCache {
+
+    private final RedirectProperties redirectProperties;
+
+    private Cache<String, RedirectEntry> cache;
+
+    @PostConstruct
+    public void init() {
+        RedirectProperties.CircuitBreakerProperties props = redirectProperties.getCircuitBreaker();
+        cache = Caffeine.newBuilder()
+                .maximumSize(props.getStaleMaxSize())
+                .expireAfter(new RedirectEntryExpiry(props.getStaleMaxTtlSeconds()))
+                .build();
+    }
+
+    /**
+     * 转存被淘汰的跳转条目，已过有效期的条目直接丢弃
+     */
+    public void onEvicted(String fullShortUrl, RedirectEntry entry) {
+        if (fullShortUrl == null || entry == null || !redirectProperties.getCircuitBreaker().isEnable()
+                || entry.validUntil() <= System.currentTimeMillis()) {
+            return;
+        }
+        cache.put(fullShortUrl, entry);
+    }
+
+    public RedirectEntry getIfPresent(String fullShortUrl) {
+        return cache.getIfPresent(fullShortUrl);
+    }
+
+    public void invalidate(String fullShortUrl) {
+        cache.invalidate(fullShortUrl);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+}
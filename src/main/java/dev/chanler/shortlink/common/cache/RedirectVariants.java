@@ -0,0 +1,179 @@
+package dev.chanler.shortlink.common.cache;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.StrUtil;
+import com.alibaba.fastjson2.JSON;
+import dev.chanler.shortlink.dto.biz.RedirectVariantDTO;
+import dev.chanler.shortlink.toolkit.LinkUtil;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 编译后的加权分流目标（不可变，随跳转条目缓存）
+ * 写入时按权重构建 Vose 别名表：每列保存一个阈值与一个别名，采样时用一个 64 位随机数的高 32 位选列、低 32 位与阈值比较，
+ * 与目标数量无关，O(1) 完成且不创建对象；随机数取自 uv Cookie 的哈希，同一访客在权重不变时始终落到同一目标
+ * @author: Chanler
+ */
+public final class RedirectVariants {
+
+    /**
+     * 单个短链接最多分流目标数
+     */
+    public static final int MAX_VARIANTS = 16;
+
+    /**
+     * 单个目标最大权重
+     */
+    public static final int MAX_WEIGHT = 10_000;
+
+    private static final long THRESHOLD_ONE = 1L << 32;
+
+    /**
+     * 规范化后的分流 JSON，写入 Redis 跳转策略 key
+     */
+    private final String source;
+    private final String[] locations;
+    private final long[] thresholds;
+    private final int[] aliases;
+    private final int weight;
+
+    private RedirectVariants(String source, String[] locations, long[] thresholds, int[] aliases) {
+        this.source = source;
+        this.locations = locations;
+        this.thresholds = thresholds;
+        this.aliases = aliases;
+        long bytes = source.length();
+        for (String location : locations) {
+            bytes += 48 + location.length();
+        }
+        this.weight = (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 编译请求中的分流目标，校验失败抛出 {@link IllegalArgumentException}
+     * @return 未设置时返回 null
+     */
+    public static RedirectVariants compile(List<RedirectVariantDTO> variants) {
+        if (CollUtil.isEmpty(variants)) {
+            return null;
+        }
+        int n = variants.size();
+        if (n < 2 || n > MAX_VARIANTS) {
+            throw new IllegalArgumentException("分流目标数量为 2～" + MAX_VARIANTS + " 个");
+        }
+        String[] locations = new String[n];
+        long[] weights = new long[n];
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            RedirectVariantDTO variant = variants.get(i);
+            if (variant == null || StrUtil.isBlank(variant.getOriginUrl())) {
+                throw new IllegalArgumentException("分流目标缺少跳转链接");
+            }
+            if (variant.getWeight() == null || variant.getWeight() < 1 || variant.getWeight() > MAX_WEIGHT) {
+                throw new IllegalArgumentException("分流目标权重为 1～" + MAX_WEIGHT);
+            }
+            locations[i] = LinkUtil.encodeLocation(variant.getOriginUrl());
+            weights[i] = variant.getWeight();
+            total += weights[i];
+        }
+        // Vose 别名法：按 n * w / total 缩放，小于 1 的列由大于 1 的列补足，整数运算避免浮点误差
+        long[] scaled = new long[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n * THRESHOLD_ONE / total;
+            if (scaled[i] < THRESHOLD_ONE) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+        long[] thresholds = new long[n];
+        int[] aliases = new int[n];
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+            thresholds[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] -= THRESHOLD_ONE - scaled[less];
+            if (scaled[more] < THRESHOLD_ONE) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+        // 剩余列（含整数截断误差）概率为 1
+        while (largeSize > 0) {
+            int more = large[--largeSize];
+            thresholds[more] = THRESHOLD_ONE;
+            aliases[more] = more;
+        }
+        while (smallSize > 0) {
+            int less = small[--smallSize];
+            thresholds[less] = THRESHOLD_ONE;
+            aliases[less] = less;
+        }
+        return new RedirectVariants(JSON.toJSONString(variants), locations, thresholds, aliases);
+    }
+
+    /**
+     * 解析已持久化的分流 JSON（t_link.redirect_variants 或 Redis 跳转策略 key）
+     * 内容异常时返回 null，按原始链接跳转
+     */
+    public static RedirectVariants parse(String json) {
+        if (StrUtil.isBlank(json)) {
+            return null;
+        }
+        try {
+            return compile(JSON.parseArray(json, RedirectVariantDTO.class));
+        } catch (RuntimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * 选择分流目标
+     * @param uv 访客 uv Cookie，为空时随机选择
+     * @return 目标下标
+     */
+    public int select(String uv) {
+        long random = uv == null || uv.isEmpty() ? ThreadLocalRandom.current().nextLong() : hash(uv);
+        int column = (int) (((random >>> 32) * locations.length) >>> 32);
+        return (random & 0xFFFFFFFFL) < thresholds[column] ? column : aliases[column];
+    }
+
+    public String location(int index) {
+        return locations[index];
+    }
+
+    public String source() {
+        return source;
+    }
+
+    /**
+     * 估算占用字节数，计入本地缓存权重
+     */
+    public int weight() {
+        return weight;
+    }
+
+    /**
+     * FNV-1a 后接 murmur3 fmix64，逐字符计算不创建字节数组
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
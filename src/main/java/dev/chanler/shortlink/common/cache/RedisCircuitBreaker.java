@@ -0,0 +1,182 @@
+package dev.chanler.shortlink.common.cache;
+
+import dev.chanler.shortlink.common.config.RedirectProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Redis 熔断器
+ * 1. 关闭：按滚动窗口统计调用失败率（慢调用计为失败），达到阈值后打开
+ * 2. 打开：所有受保护调用直接拒绝，跳转降级为本地过期条目与限流直连 DB，统计消息留在本地缓冲
+ * 3. 半开：打开持续时间到期后放行少量探测调用，全部成功则关闭，任一失败重新打开
+ * 调用方先 {@link #allowRequest()}，再按结果调用 {@link #onSuccess(long)} 或 {@link #onFailure(Throwable)}
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisCircuitBreaker {
+
+    private final RedirectProperties redirectProperties;
+
+    public static final int CLOSED = 0;
+    public static final int OPEN = 1;
+    public static final int HALF_OPEN = 2;
+
+    private volatile int state = CLOSED;
+    private volatile long openUntilMillis;
+    private volatile long halfOpenSinceMillis;
+    private volatile long windowStartMillis = System.currentTimeMillis();
+    private final AtomicInteger windowCalls = new AtomicInteger();
+    private final AtomicInteger windowFailures = new AtomicInteger();
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+    private final AtomicInteger halfOpenSuccesses = new AtomicInteger();
+
+    private final LongAdder rejectedCounter = new LongAdder();
+    private final LongAdder openedCounter = new LongAdder();
+
+    /**
+     * 是否放行本次 Redis 调用
+     */
+    public boolean allowRequest() {
+        RedirectProperties.CircuitBreakerProperties props = redirectProperties.getCircuitBreaker();
+        if (!props.isEnable()) {
+            return true;
+        }
+        int current = state;
+        if (current == CLOSED) {
+            return true;
+        }
+        if (current == OPEN) {
+            if (System.currentTimeMillis() < openUntilMillis) {
+                rejectedCounter.increment();
+                return false;
+            }
+            toHalfOpen(props);
+        }
+        if (halfOpenPermits.getAndDecrement() > 0) {
+            return true;
+        }
+        // 探测调用未上报结果（如调用方异常退出）时，超过打开持续时间后重新发放探测名额
+        if (System.currentTimeMillis() - halfOpenSinceMillis >= props.getOpenMillis()) {
+            toHalfOpen(props);
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    /**
+     * 熔断是否处于打开状态（不消耗半开探测名额）
+     */
+    public boolean isOpen() {
+        return redirectProperties.getCircuitBreaker().isEnable()
+                && state == OPEN && System.currentTimeMillis() < openUntilMillis;
+    }
+
+    /**
+     * 记录一次成功调用
+     * @param elapsedNanos 调用耗时，超过慢调用阈值时计为失败
+     */
+    public void onSuccess(long elapsedNanos) {
+        RedirectProperties.CircuitBreakerProperties props = redirectProperties.getCircuitBreaker();
+        if (!props.isEnable()) {
+            return;
+        }
+        if (TimeUnit.NANOSECONDS.toMillis(elapsedNanos) >= props.getSlowCallMillis()) {
+            onFailure(null);
+            return;
+        }
+        if (state == HALF_OPEN) {
+            if (halfOpenSuccesses.incrementAndGet() >= props.getHalfOpenPermits()) {
+                toClosed();
+            }
+            return;
+        }
+        record(props, false);
+    }
+
+    /**
+     * 记录一次失败调用
+     * @param cause 失败原因，慢调用为 null
+     */
+    public void onFailure(Throwable cause) {
+        RedirectProperties.CircuitBreakerProperties props = redirectProperties.getCircuitBreaker();
+        if (!props.isEnable()) {
+            return;
+        }
+        if (state == HALF_OPEN) {
+            toOpen(props, "half-open probe failed");
+            return;
+        }
+        record(props, true);
+    }
+
+    public int getState() {
+        return state;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCounter.sum();
+    }
+
+    public long getOpenedCount() {
+        return openedCounter.sum();
+    }
+
+    private void record(RedirectProperties.CircuitBreakerProperties props, boolean failure) {
+        long now = System.currentTimeMillis();
+        if (now - windowStartMillis >= props.getWindowMillis()) {
+            synchronized (this) {
+                if (now - windowStartMillis >= props.getWindowMillis()) {
+                    windowCalls.set(0);
+                    windowFailures.set(0);
+                    windowStartMillis = now;
+                }
+            }
+        }
+        int calls = windowCalls.incrementAndGet();
+        int failures = failure ? windowFailures.incrementAndGet() : windowFailures.get();
+        if (failure && state == CLOSED && calls >= props.getMinimumCalls()
+                && failures * 100L >= (long) calls * props.getFailureRatePercent()) {
+            toOpen(props, "failures=" + failures + ", calls=" + calls);
+        }
+    }
+
+    private synchronized void toOpen(RedirectProperties.CircuitBreakerProperties props, String reason) {
+        if (state == OPEN) {
+            return;
+        }
+        openUntilMillis = System.currentTimeMillis() + props.getOpenMillis();
+        state = OPEN;
+        openedCounter.increment();
+        log.warn("Redis circuit breaker opened, {}", reason);
+    }
+
+    private synchronized void toHalfOpen(RedirectProperties.CircuitBreakerProperties props) {
+        long now = System.currentTimeMillis();
+        if (state == CLOSED || (state == OPEN && now < openUntilMillis)
+                || (state == HALF_OPEN && now - halfOpenSinceMillis < props.getOpenMillis())) {
+            return;
+        }
+        halfOpenSinceMillis = now;
+        halfOpenPermits.set(props.getHalfOpenPermits());
+        halfOpenSuccesses.set(0);
+        state = HALF_OPEN;
+    }
+
+    private synchronized void toClosed() {
+        if (state != HALF_OPEN) {
+            return;
+        }
+        windowCalls.set(0);
+        windowFailures.set(0);
+        windowStartMillis = System.currentTimeMillis();
+        state = CLOSED;
+        log.info("Redis 熔断恢复，关闭熔断");
+    }
+}
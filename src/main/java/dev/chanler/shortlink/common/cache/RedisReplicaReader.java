@@ -0,0 +1,321 @@
+package dev.chanler.shortlink.common.cache;
+
+import cn.hutool.core.util.StrUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.chanler.shortlink.common.config.RedirectProperties;
+import dev.chanler.shortlink.common.enums.ReplicaReadModeEnum;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisCommandInterruptedException;
+import io.lettuce.core.RedisCommandTimeoutException;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.codec.StringCodec;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY_PREFIX;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.linkKey;
+
+/**
+ * Redis 副本读（只读查询）
+ * 跳转查询与分组归属校验只读不写，启用后经独立的 Lettuce 异步连接读取副本，写入与其余命令仍走 spring.data.redis 主节点：
+ * 1. REPLICA_PREFERRED：直接读副本（多个副本轮询），副本失败时回退主节点
+ * 2. HEDGED：先读主节点，超过主节点近期耗时分位数仍未返回（或已失败）时向副本发起相同读取，取先成功的结果，
+ *    阈值每秒按最近 1024 次主节点耗时重算并限制在上下限之间，只有尾部慢请求才多发一次读取
+ * 副本存在复制延迟，刚写入或刚删除的 key 可能短暂读到旧值：跳转未命中会继续走布隆过滤器与回源，归属校验未命中会回源 DB；
+ * 跳转查询读到旧的跳转目标会被回填到本地缓存、堆外副本与热点保护层，因此短链接收到失效事件（{@link #pinToPrimary}）后
+ * primary-window-millis 内该短链接的跳转查询只读主节点，窗口需大于主从复制延迟；
+ * 仅支持主从部署，Redis Cluster 下不启用
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisReplicaReader {
+
+    private static final int SAMPLE_SIZE = 1024;
+    private static final int MIN_SAMPLES = 64;
+    private static final int PINNED_MAX_SIZE = 100_000;
+
+    private final RedirectProperties redirectProperties;
+    private final RedisProperties redisProperties;
+
+    private RedisClient redisClient;
+    private StatefulRedisConnection<String, String> primary;
+    private final List<StatefulRedisConnection<String, String>> replicas = new ArrayList<>();
+    private final AtomicInteger replicaCursor = new AtomicInteger();
+    private volatile boolean active;
+
+    private final long[] primarySamples = new long[SAMPLE_SIZE];
+    private final AtomicLong sampleCursor = new AtomicLong();
+    private volatile long hedgeDelayNanos;
+
+    private final LongAdder replicaReadCount = new LongAdder();
+    private final LongAdder fallbackCount = new LongAdder();
+    private final LongAdder hedgedCount = new LongAdder();
+    private final LongAdder hedgeWonCount = new LongAdder();
+    private final LongAdder pinnedReadCount = new LongAdder();
+
+    /**
+     * 近期失效的跳转 key，窗口内只读主节点
+     */
+    private Cache<String, Boolean> primaryPinned;
+    /**
+     * 全量失效后的主节点读截止时间
+     */
+    private volatile long pinAllUntilNanos;
+
+    @PostConstruct
+    public void init() {
+        RedirectProperties.ReplicaReadProperties props = redirectProperties.getReplicaRead();
+        if (!props.isEnable()) {
+            return;
+        }
+        if (props.getReplicas().isEmpty() || redisProperties.getCluster() != null) {
+            log.warn("Redis replica read disabled, replicas={}, cluster={}", props.getReplicas(), redisProperties.getCluster() != null);
+            return;
+        }
+        hedgeDelayNanos = TimeUnit.MICROSECONDS.toNanos(props.getHedgeMaxDelayMicros());
+        primaryPinned = Caffeine.newBuilder()
+                .maximumSize(PINNED_MAX_SIZE)
+                .expireAfterWrite(Duration.ofMillis(props.getPrimaryWindowMillis()))
+                .build();
+        redisClient = RedisClient.create();
+        try {
+            primary = redisClient.connect(StringCodec.UTF8, redisUri(redisProperties.getHost(), redisProperties.getPort(),
+                    redisProperties.getPassword(), props));
+            String password = StrUtil.isNotBlank(props.getPassword()) ? props.getPassword() : redisProperties.getPassword();
+            for (String address : props.getReplicas()) {
+                int separator = address.lastIndexOf(':');
+                replicas.add(redisClient.connect(StringCodec.UTF8, redisUri(address.substring(0, separator),
+                        Integer.parseInt(address.substring(separator + 1)), password, props)));
+            }
+            active = true;
+            log.info("Redis 副本读已启用，模式 {}，副本 {}", props.getMode(), props.getReplicas());
+        } catch (RuntimeException ex) {
+            log.error("Redis replica read init error, reads stay on primary", ex);
+            shutdown();
+        }
+    }
+
+    public boolean isEnabled() {
+        return active;
+    }
+
+    /**
+     * 短链接跳转缓存失效（修改、删除、恢复等）后调用，窗口内该短链接的跳转查询只读主节点，避免副本旧值被回填到本地各级缓存
+     */
+    public void pinToPrimary(String fullShortUrl) {
+        if (active) {
+            primaryPinned.put(linkKey(GOTO_SHORT_LINK_KEY_PREFIX, fullShortUrl), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * 跳转缓存全量失效后调用，窗口内全部跳转查询只读主节点
+     */
+    public void pinAllToPrimary() {
+        if (active) {
+            pinAllUntilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(redirectProperties.getReplicaRead().getPrimaryWindowMillis());
+        }
+    }
+
+    /**
+     * 读取跳转目标、空值标记、跳转 key 剩余 TTL 及跳转策略，返回结构与 redirect_lookup.lua 一致
+     * 副本上不执行脚本，四条只读命令在同一连接上连续发出，一次往返返回；近期失效的短链接只读主节点
+     */
+    public List<Object> lookupRedirect(String gotoKey, String gotoIsNullKey, String gotoPolicyKey) {
+        Function<RedisAsyncCommands<String, String>, CompletableFuture<List<Object>>> lookup = commands -> {
+            CompletableFuture<String> target = commands.get(gotoKey).toCompletableFuture();
+            CompletableFuture<Long> pttl = commands.pttl(gotoKey).toCompletableFuture();
+            CompletableFuture<String> policy = commands.get(gotoPolicyKey).toCompletableFuture();
+            CompletableFuture<Long> negative = commands.exists(gotoIsNullKey).toCompletableFuture();
+            return CompletableFuture.allOf(target, pttl, policy, negative).thenApply(ignored -> {
+                String originUrl = target.join();
+                long ttl = pttl.join();
+                // GET 与 PTTL 之间 key 过期（PTTL 为 -2）时按未命中处理，避免误当作永久有效
+                if (originUrl == null || ttl == -2L) {
+                    return List.<Object>of("", negative.join(), -2L, "");
+                }
+                return List.<Object>of(originUrl, 0L, ttl, Objects.requireNonNullElse(policy.join(), ""));
+            });
+        };
+        if (System.nanoTime() - pinAllUntilNanos < 0 || primaryPinned.getIfPresent(gotoKey) != null) {
+            pinnedReadCount.increment();
+            return await(lookup.apply(primary.async()), TimeUnit.MILLISECONDS.toNanos(redirectProperties.getReplicaRead().getTimeoutMillis()));
+        }
+        return read(lookup);
+    }
+
+    public Boolean isMember(String key, String member) {
+        return read(commands -> commands.sismember(key, member).toCompletableFuture());
+    }
+
+    private <T> T read(Function<RedisAsyncCommands<String, String>, CompletableFuture<T>> command) {
+        RedirectProperties.ReplicaReadProperties props = redirectProperties.getReplicaRead();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(props.getTimeoutMillis());
+        if (props.getMode() == ReplicaReadModeEnum.REPLICA_PREFERRED) {
+            try {
+                T value = await(command.apply(nextReplica()), timeoutNanos);
+                replicaReadCount.increment();
+                return value;
+            } catch (RuntimeException ex) {
+                fallbackCount.increment();
+                return await(command.apply(primary.async()), timeoutNanos);
+            }
+        }
+        long startNanos = System.nanoTime();
+        CompletableFuture<T> primaryFuture = command.apply(primary.async());
+        primaryFuture.whenComplete((value, ex) -> {
+            if (ex == null) {
+                recordPrimary(System.nanoTime() - startNanos);
+            }
+        });
+        long delayNanos = hedgeDelayNanos;
+        try {
+            return primaryFuture.get(delayNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException ex) {
+            // 主节点超过阈值未返回或已失败，向副本对冲
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RedisCommandInterruptedException(ex);
+        }
+        hedgedCount.increment();
+        CompletableFuture<T> hedgeFuture = command.apply(nextReplica());
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primaryFuture.whenComplete((value, ex) -> complete(winner, failures, value, ex));
+        hedgeFuture.whenComplete((value, ex) -> {
+            if (complete(winner, failures, value, ex)) {
+                hedgeWonCount.increment();
+            }
+        });
+        return await(winner, timeoutNanos - (System.nanoTime() - startNanos));
+    }
+
+    /**
+     * 按最近的主节点耗时样本重算对冲阈值
+     */
+    @Scheduled(fixedDelay = 1_000)
+    public void refreshHedgeDelay() {
+        if (!active) {
+            return;
+        }
+        RedirectProperties.ReplicaReadProperties props = redirectProperties.getReplicaRead();
+        int count = (int) Math.min(sampleCursor.get(), SAMPLE_SIZE);
+        if (count < MIN_SAMPLES) {
+            return;
+        }
+        long[] snapshot = Arrays.copyOf(primarySamples, count);
+        Arrays.sort(snapshot);
+        int index = (int) Math.ceil(count * props.getHedgePercentile()) - 1;
+        long percentile = snapshot[Math.max(0, Math.min(count - 1, index))];
+        hedgeDelayNanos = Math.max(TimeUnit.MICROSECONDS.toNanos(props.getHedgeMinDelayMicros()),
+                Math.min(TimeUnit.MICROSECONDS.toNanos(props.getHedgeMaxDelayMicros()), percentile));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        active = false;
+        replicas.forEach(StatefulRedisConnection::close);
+        replicas.clear();
+        if (primary != null) {
+            primary.close();
+        }
+        if (redisClient != null) {
+            redisClient.shutdown();
+        }
+    }
+
+    private void recordPrimary(long nanos) {
+        primarySamples[(int) (sampleCursor.getAndIncrement() & (SAMPLE_SIZE - 1))] = nanos;
+    }
+
+    private RedisAsyncCommands<String, String> nextReplica() {
+        return replicas.get(Math.floorMod(replicaCursor.getAndIncrement(), replicas.size())).async();
+    }
+
+    /**
+     * 以先成功的结果完成；两路均失败时以后一个异常完成
+     * @return 本次结果是否被采用
+     */
+    private static <T> boolean complete(CompletableFuture<T> winner, AtomicInteger failures, T value, Throwable ex) {
+        if (ex == null) {
+            return winner.complete(value);
+        }
+        if (failures.incrementAndGet() == 2) {
+            winner.completeExceptionally(ex);
+        }
+        return false;
+    }
+
+    private static <T> T await(CompletableFuture<T> future, long timeoutNanos) {
+        try {
+            return future.get(Math.max(0L, timeoutNanos), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause() instanceof CompletionException wrapped ? wrapped.getCause() : ex.getCause();
+            throw cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+        } catch (TimeoutException ex) {
+            throw new RedisCommandTimeoutException("Redis replica-aware read timed out");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RedisCommandInterruptedException(ex);
+        }
+    }
+
+    private RedisURI redisUri(String host, int port, String password, RedirectProperties.ReplicaReadProperties props) {
+        RedisURI.Builder builder = RedisURI.Builder.redis(host, port)
+                .withDatabase(redisProperties.getDatabase())
+                .withTimeout(Duration.ofMillis(props.getTimeoutMillis()));
+        if (StrUtil.isNotBlank(password)) {
+            builder.withPassword(password.toCharArray());
+        }
+        return builder.build();
+    }
+
+    public long getReplicaReadCount() {
+        return replicaReadCount.sum();
+    }
+
+    public long getFallbackCount() {
+        return fallbackCount.sum();
+    }
+
+    public long getPinnedReadCount() {
+        return pinnedReadCount.sum();
+    }
+
+    public long getHedgedCount() {
+        return hedgedCount.sum();
+    }
+
+    public long getHedgeWonCount() {
+        return hedgeWonCount.sum();
+    }
+
+    public long getHedgeDelayMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(hedgeDelayNanos);
+    }
+}
@@ -1,48 +1,118 @@
 package dev.chanler.shortlink.common.config;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import dev.chanler.shortlink.common.cache.JitteredTtlExpiry;
+import dev.chanler.shortlink.common.cache.RedirectEntry;
+import dev.chanler.shortlink.common.cache.RedirectEntryExpiry;
+import dev.chanler.shortlink.common.cache.RedirectRefresher;
+import dev.chanler.shortlink.common.cache.RedirectStaleCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 import java.time.Duration;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 本地缓存配置
  * 包含短链接跳转相关的本地缓存：
- * 1. redirectLockCache: 本地每键互斥锁，避免跳转热点使用分布式锁导致尾延迟放大
- * 2. redirectCache: 短链接跳转目标 URL 缓存，减少 Redis 网络往返
+ * 1. redirectLoader: 跳转未命中单飞加载器，并发未命中共享一次回源且不阻塞等待线程
+ * 2. redirectCache: 短链接跳转条目缓存，减少 Redis 网络往返，仍在被访问的条目到期前后台刷新
+ * 3. redirectNegativeCache: 不存在/已失效短链接的负缓存，扫描流量不产生网络往返
+ * 4. cacheInvalidationListenerContainer: 本地缓存失效总线的 Pub/Sub 订阅容器
  */
 @Configuration
 public class LocalCacheConfiguration {
 
     /**
-     * 跳转路径本地互斥锁缓存
-     * key: fullShortUrl, value: ReentrantLock
-     * 设计目标：避免跳转热点 Key 的分布式锁放大故障域与尾延迟
+     * 跳转未命中单飞加载器
+     * key: fullShortUrl, value: 加载中的 RedirectEntry（不存在为 null）
+     * 设计目标：同一短链接的并发未命中只回源一次，等待方持有 CompletableFuture 而非阻塞在锁上；
+     * 回源在独立有界线程池执行，队列满时拒绝并由调用方降级；加载完成后由调用方移除，过期时间仅作兜底
      */
-    @Bean(name = "redirectLockCache")
-    public Cache<String, ReentrantLock> redirectLockCache() {
+    @Bean(name = "redirectLoader")
+    public AsyncCache<String, RedirectEntry> redirectLoader(RedirectProperties redirectProperties) {
+        RedirectProperties.SingleFlightProperties props = redirectProperties.getSingleFlight();
+        AtomicInteger index = new AtomicInteger();
+        ThreadPoolExecutor loaderExecutor = new ThreadPoolExecutor(
+                props.getLoaderThreads(),
+                props.getLoaderThreads(),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(props.getLoaderQueueCapacity()),
+                r -> {
+                    Thread t = new Thread(r, "redirect_loader_" + index.getAndIncrement());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        loaderExecutor.allowCoreThreadTimeOut(true);
         return Caffeine.newBuilder()
-                .expireAfterAccess(Duration.ofSeconds(60))
-                .initialCapacity(1024)
-                .maximumSize(8096)
-                .recordStats()
-                .build();
+                .executor(loaderExecutor)
+                .expireAfterWrite(Duration.ofMillis(props.getLoadTimeoutMillis()))
+                .buildAsync();
     }
 
     /**
-     * 短链接跳转目标 URL 本地缓存
-     * key: fullShortUrl, value: originUrl
-     * 设计目标：减少 Redis 网络往返，提升热点短链接跳转性能
+     * 短链接跳转条目本地缓存
+     * key: fullShortUrl, value: RedirectEntry（预编码 Location、有效期、gid、版本）
+     * 设计目标：按短链接真实剩余有效期逐条过期，按估算字节数限制总占用；淘汰的条目转存到过期条目缓存，供 Redis 熔断期间使用
      */
     @Bean(name = "redirectCache")
-    public Cache<String, String> redirectCache() {
+    public Cache<String, RedirectEntry> redirectCache(RedirectProperties redirectProperties, RedirectStaleCache redirectStaleCache,
+                                                      RedirectRefresher redirectRefresher) {
+        RedirectProperties.LocalCacheProperties props = redirectProperties.getLocalCache();
+        Caffeine<String, RedirectEntry> builder = Caffeine.newBuilder()
+                .maximumWeight(props.getMaxWeightBytes())
+                .weigher((String key, RedirectEntry value) -> value.weigh(key))
+                .expireAfter(new RedirectEntryExpiry(props.getMaxTtlSeconds()))
+                .evictionListener((String key, RedirectEntry value, RemovalCause cause) -> redirectStaleCache.onEvicted(key, value))
+                .recordStats();
+        RedirectProperties.RefreshAheadProperties refreshAhead = redirectProperties.getRefreshAhead();
+        if (!refreshAhead.isEnable()) {
+            return builder.build();
+        }
+        // 写入超过刷新间隔后再被读取的条目（即仍在被访问的条目）后台重新加载，加载期间继续返回旧值
+        return builder
+                .refreshAfterWrite(Duration.ofSeconds(refreshAhead.getLocalRefreshAfterWriteSeconds()))
+                .build(redirectRefresher);
+    }
+
+    /**
+     * 短链接跳转本地负缓存
+     * key: fullShortUrl, value: 占位标记
+     * 设计目标：布隆过滤器、空值缓存与 DB 判定不存在的短链接在本节点短时间内直接 404，TTL 随机抖动避免集中回源
+     */
+    @Bean(name = "redirectNegativeCache")
+    public Cache<String, Boolean> redirectNegativeCache(RedirectProperties redirectProperties) {
+        RedirectProperties.NegativeCacheProperties props = redirectProperties.getNegativeCache();
         return Caffeine.newBuilder()
-                .maximumSize(10_000)
-                .expireAfterAccess(Duration.ofMinutes(5))
+                .maximumSize(props.getMaxSize())
+                .expireAfter(new JitteredTtlExpiry<String, Boolean>(props.getTtlSeconds(), props.getJitterSeconds()))
                 .recordStats()
                 .build();
     }
+
+    /**
+     * 本地缓存失效广播订阅容器
+     * 单线程分发消息，保证失效事件按序号顺序处理
+     */
+    @Bean(name = "cacheInvalidationListenerContainer")
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.setTaskExecutor(Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "cache_invalidation_dispatcher");
+            t.setDaemon(true);
+            return t;
+        }));
+        return container;
+    }
 }
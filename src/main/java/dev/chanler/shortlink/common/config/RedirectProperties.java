@@ -0,0 +1,457 @@
+package dev.chanler.shortlink.common.config;
+
+import dev.chanler.shortlink.common.enums.ReplicaReadModeEnum;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 短链接跳转配置文件
+ * @author: Chanler
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.redirect")
+public class RedirectProperties {
+
+    private LocalCacheProperties localCache = new LocalCacheProperties();
+
+    private NegativeCacheProperties negativeCache = new NegativeCacheProperties();
+
+    private SingleFlightProperties singleFlight = new SingleFlightProperties();
+
+    private HotKeyProperties hotKey = new HotKeyProperties();
+
+    private WarmUpProperties warmUp = new WarmUpProperties();
+
+    private EdgeCacheProperties edgeCache = new EdgeCacheProperties();
+
+    private ListenerProperties listener = new ListenerProperties();
+
+    private OffHeapProperties offHeap = new OffHeapProperties();
+
+    private CircuitBreakerProperties circuitBreaker = new CircuitBreakerProperties();
+
+    private RefreshAheadProperties refreshAhead = new RefreshAheadProperties();
+
+    private LoadLeaseProperties loadLease = new LoadLeaseProperties();
+
+    private GotoBackfillProperties gotoBackfill = new GotoBackfillProperties();
+
+    private ReplicaReadProperties replicaRead = new ReplicaReadProperties();
+
+    @Data
+    public static class LocalCacheProperties {
+
+        /**
+         * 跳转本地缓存最大占用，单位：字节（按条目估算大小加权）
+         */
+        private long maxWeightBytes = 256L * 1024 * 1024;
+
+        /**
+         * 跳转本地缓存条目最大存活时间，单位：秒
+         * 实际存活时间取该值与短链接剩余有效期的较小值
+         * 变更由失效总线广播到各节点，该值仅兜底广播丢失的情况
+         */
+        private long maxTtlSeconds = 21600;
+
+        /**
+         * 是否启用短码索引模式：按域名分表、以 Base62 解码后的 long 为 key 的有界线性探测数组（占用计入 maxWeightBytes），
+         * 热路径不计算 String 哈希、不比较字符串、不创建 key 对象；关闭时使用以完整短链接为 key 的 Caffeine 缓存
+         */
+        private boolean codeIndexed = false;
+
+        /**
+         * 短码索引模式下每个域名的槽位数（取 2 的幂），探测窗口满时淘汰窗口内最早到期的条目
+         */
+        private int codeIndexedSlots = 1 << 20;
+
+        /**
+         * 短码索引模式下最多建表的域名数，超出的域名回退到 Caffeine 缓存
+         */
+        private int codeIndexedMaxDomains = 8;
+    }
+
+    @Data
+    public static class NegativeCacheProperties {
+
+        /**
+         * 负缓存最大条目数
+         */
+        private long maxSize = 100_000;
+
+        /**
+         * 负缓存基础存活时间，单位：秒
+         */
+        private long ttlSeconds = 30;
+
+        /**
+         * 负缓存存活时间随机抖动上限，单位：秒
+         */
+        private long jitterSeconds = 30;
+    }
+
+    @Data
+    public static class SingleFlightProperties {
+
+        /**
+         * 未命中时是否使用 Servlet 异步响应，释放 Tomcat 工作线程等待回源
+         */
+        private boolean asyncResponse = true;
+
+        /**
+         * 单个请求等待回源的最长时间，单位：毫秒，超时后降级返回 503
+         */
+        private long loadTimeoutMillis = 3000;
+
+        /**
+         * 回源线程数
+         */
+        private int loaderThreads = 32;
+
+        /**
+         * 回源任务队列容量，队列满时直接降级
+         */
+        private int loaderQueueCapacity = 1024;
+    }
+
+    @Data
+    public static class HotKeyProperties {
+
+        /**
+         * 是否开启热点短链接检测与固定
+         */
+        private boolean enable = true;
+
+        /**
+         * 热点集合大小
+         */
+        private int topK = 128;
+
+        /**
+         * 进入候选集的最小估计访问次数（每 5 秒检测周期计数减半）
+         */
+        private int admissionThreshold = 32;
+
+        /**
+         * Count-Min Sketch 哈希行数
+         */
+        private int sketchDepth = 4;
+
+        /**
+         * Count-Min Sketch 每行计数器数
+         */
+        private int sketchWidth = 65536;
+
+        /**
+         * Redis 热点快照保留条数
+         */
+        private int snapshotSize = 1000;
+
+        /**
+         * Redis 热点快照过期时间，单位：秒
+         */
+        private long snapshotTtlSeconds = 3600;
+    }
+
+    @Data
+    public static class WarmUpProperties {
+
+        /**
+         * 是否在就绪前预热本地缓存
+         */
+        private boolean enable = true;
+
+        /**
+         * 预热短链接数量（Redis 热点快照与 DB 访问量排行各取前 N 条）
+         */
+        private int topN = 5000;
+
+        /**
+         * 预热时间预算，单位：毫秒，超出后停止预热直接就绪
+         */
+        private long timeBudgetMillis = 15000;
+    }
+
+    @Data
+    public static class EdgeCacheProperties {
+
+        /**
+         * 可边缘缓存短链接的浏览器缓存时间上限（Cache-Control max-age），单位：秒
+         */
+        private long browserMaxAgeSeconds = 60;
+
+        /**
+         * 可边缘缓存短链接的 CDN / nginx 缓存时间上限（Cache-Control s-maxage），单位：秒
+         * 实际缓存时间取该值与短链接剩余有效期的较小值
+         */
+        private long edgeMaxAgeSeconds = 86400;
+
+        /**
+         * 短链接变更时是否向边缘缓存发送清除请求
+         */
+        private boolean purgeEnable = false;
+
+        /**
+         * 边缘缓存清除地址，清除请求为 {endpoint}{purgePathPrefix}/{host}/{shortUri}
+         */
+        private List<String> purgeEndpoints = new ArrayList<>();
+
+        /**
+         * 清除请求路径前缀
+         */
+        private String purgePathPrefix = "/purge";
+
+        /**
+         * 清除请求方法
+         */
+        private String purgeMethod = "PURGE";
+
+        /**
+         * 清除请求超时时间，单位：毫秒
+         */
+        private long purgeTimeoutMillis = 2000;
+    }
+
+    @Data
+    public static class ListenerProperties {
+
+        /**
+         * 是否启用独立跳转监听器（仅处理 GET /{shortUri}，不经过 Servlet 过滤器与 DispatcherServlet）
+         */
+        private boolean enable = false;
+
+        /**
+         * 监听端口
+         */
+        private int port = 8069;
+
+        /**
+         * 请求处理线程数，0 表示 CPU 核数的 2 倍
+         */
+        private int threads = 0;
+
+        /**
+         * TCP 连接等待队列长度
+         */
+        private int backlog = 1024;
+
+        /**
+         * 处理线程池等待队列容量，队列满时直接返回 503
+         */
+        private int queueCapacity = 1024;
+
+        /**
+         * 构建完整短链接使用的域名（domain[:port]），为空时取请求 Host 头
+         * 监听端口与短链接域名端口不一致时（如本地直连压测）需配置
+         */
+        private String domain = "";
+    }
+
+    @Data
+    public static class OffHeapProperties {
+
+        /**
+         * 是否启用堆外内存映射跳转副本（全量有效短链接，跳转可不经 Redis 在本地命中）
+         */
+        private boolean enable = false;
+
+        /**
+         * 副本文件目录，每个分段一个文件，重启后复用
+         */
+        private String path = "data/redirect-store";
+
+        /**
+         * 分段数（每段独立加锁写入、独立映射，单段映射大小不超过 2GB）
+         */
+        private int segments = 16;
+
+        /**
+         * 每段哈希槽数（取 2 的幂），装载率上限 75%
+         */
+        private int slotsPerSegment = 1 << 20;
+
+        /**
+         * 每段数据区字节数（追加写入，文件为稀疏文件，按实际写入占用磁盘与页缓存）
+         */
+        private int dataBytesPerSegment = 1 << 28;
+    }
+
+    @Data
+    public static class CircuitBreakerProperties {
+
+        /**
+         * 是否启用 Redis 熔断降级
+         */
+        private boolean enable = true;
+
+        /**
+         * 统计窗口，单位：毫秒（滚动窗口，窗口结束后计数清零）
+         */
+        private long windowMillis = 10_000;
+
+        /**
+         * 窗口内最少调用次数，不足时不触发熔断
+         */
+        private int minimumCalls = 20;
+
+        /**
+         * 失败率阈值（百分比，慢调用计为失败）
+         */
+        private int failureRatePercent = 50;
+
+        /**
+         * 慢调用阈值，单位：毫秒
+         */
+        private long slowCallMillis = 200;
+
+        /**
+         * 熔断打开持续时间，单位：毫秒，到期后进入半开状态放行探测调用
+         */
+        private long openMillis = 5_000;
+
+        /**
+         * 半开状态放行的探测调用数，全部成功后关闭熔断
+         */
+        private int halfOpenPermits = 5;
+
+        /**
+         * 过期条目保留数：本地缓存条目超过本地最大 TTL 后仍保留到短链接有效期截止，仅在熔断期间使用
+         */
+        private long staleMaxSize = 200_000;
+
+        /**
+         * 过期条目最长保留时间，单位：秒
+         */
+        private long staleMaxTtlSeconds = 86_400;
+
+        /**
+         * 熔断期间直接回源 DB 的最大并发数，超出时返回 503
+         */
+        private int degradedDbPermits = 16;
+    }
+
+    @Data
+    public static class RefreshAheadProperties {
+
+        /**
+         * 是否启用提前刷新：本地缓存写入超过刷新间隔后被读取时后台重新加载，Redis 跳转 key 临近过期时按 XFetch 概率提前回源
+         */
+        private boolean enable = true;
+
+        /**
+         * 本地缓存刷新间隔，单位：秒，需小于本地最大 TTL；只有刷新间隔后仍被访问的条目才会刷新
+         */
+        private long localRefreshAfterWriteSeconds = 1800;
+
+        /**
+         * XFetch 系数 beta，越大越早回源
+         */
+        private double redisBeta = 1.0;
+
+        /**
+         * 后台刷新线程数
+         */
+        private int threads = 4;
+
+        /**
+         * 后台刷新任务队列容量，队列满时放弃本次刷新
+         */
+        private int queueCapacity = 1024;
+    }
+
+    @Data
+    public static class LoadLeaseProperties {
+
+        /**
+         * 是否启用跨节点单飞：未命中时先抢占 Redis 租约，仅持有者回源 DB 并回填 Redis，其余节点轮询 Redis 等待结果
+         */
+        private boolean enable = false;
+
+        /**
+         * 租约时长，单位：毫秒，需覆盖一次 DB 回源；持有者宕机时租约到期后由等待节点接管
+         */
+        private long leaseMillis = 2000;
+
+        /**
+         * 未抢到租约时的最长等待时间，单位：毫秒，需小于单飞等待超时；超时后直接回源 DB
+         */
+        private long waitMillis = 500;
+
+        /**
+         * 等待期间轮询 Redis 的间隔，单位：毫秒
+         */
+        private long pollIntervalMillis = 20;
+    }
+
+    @Data
+    public static class GotoBackfillProperties {
+
+        /**
+         * 是否在启动后回填 t_link_goto 冗余的跳转字段（升级后执行一次即可，已回填的记录自动跳过）
+         */
+        private boolean enable = false;
+
+        /**
+         * 每批回填条数，每批之后暂停 batchPauseMillis，避免回填占满 DB
+         */
+        private int batchSize = 500;
+
+        /**
+         * 批间暂停时间，单位：毫秒
+         */
+        private long batchPauseMillis = 50;
+    }
+
+    @Data
+    public static class ReplicaReadProperties {
+
+        /**
+         * 是否启用副本读：跳转查询与分组归属校验经独立连接读取 Redis 副本，写入仍走主节点
+         */
+        private boolean enable = false;
+
+        /**
+         * 读取模式
+         */
+        private ReplicaReadModeEnum mode = ReplicaReadModeEnum.HEDGED;
+
+        /**
+         * 副本地址列表，格式 host:port，多个副本轮询；主节点地址沿用 spring.data.redis
+         */
+        private List<String> replicas = new ArrayList<>();
+
+        /**
+         * 副本密码，为空时沿用 spring.data.redis.password
+         */
+        private String password;
+
+        /**
+         * 单次读取超时，单位：毫秒
+         */
+        private long timeoutMillis = 1000;
+
+        /**
+         * 对冲阈值取主节点近期读取耗时的分位数
+         */
+        private double hedgePercentile = 0.95;
+
+        /**
+         * 对冲阈值下限，单位：微秒，避免主节点极快时几乎每次都对冲
+         */
+        private long hedgeMinDelayMicros = 1000;
+
+        /**
+         * 对冲阈值上限，单位：微秒，样本不足时亦使用该值
+         */
+        private long hedgeMaxDelayMicros = 50_000;
+
+        /**
+         * 短链接跳转缓存失效后只读主节点的窗口，单位：毫秒，需大于主从复制延迟
+         */
+        private long primaryWindowMillis = 2000;
+    }
+}
@@ -1,6 +1,8 @@
 package dev.chanler.shortlink.common.config;
 
 import dev.chanler.shortlink.mq.consumer.LinkStatsSaveConsumer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -38,6 +40,7 @@ public class RedisStreamConfiguration {
 
     private final RedisConnectionFactory redisConnectionFactory;
     private final LinkStatsSaveConsumer linkStatsSaveConsumer;
+    private final MeterRegistry meterRegistry;
 
     // 每 CPU ≈1.5 个消费者，向下取整，至少 1 个
     private final int consumerCount = Math.max(1, (int) Math.floor(Runtime.getRuntime().availableProcessors() * 1.5));
@@ -77,9 +80,13 @@ public class RedisStreamConfiguration {
             StreamMessageListenerContainer<String, MapRecord<String, String, String>> container) {
 
         List<Subscription> subscriptions = new ArrayList<>();
+        Counter consumedCounter = Counter.builder("shortlink.stats.stream.consumed")
+                .description("Stream 已消费统计消息数")
+                .register(meterRegistry);
 
         StreamListener<String, MapRecord<String, String, String>> loggingListener = message -> {
             consumeCounter.increment();
+            consumedCounter.increment();
             linkStatsSaveConsumer.onMessage(message);
 
             long now = System.currentTimeMillis();
@@ -0,0 +1,51 @@
+package dev.chanler.shortlink.common.config;
+
+import dev.chanler.shortlink.common.enums.StatsOverflowPolicyEnum;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短链接统计消息生产者缓冲配置文件
+ * @author: Chanler
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "short-link.stats.producer")
+public class StatsProducerProperties {
+
+    /**
+     * 缓冲队列容量（条）
+     */
+    private int capacity = 65536;
+
+    /**
+     * 单次 pipeline 批量 XADD 的最大条数
+     */
+    private int batchSize = 256;
+
+    /**
+     * 队列为空时后台线程的最长等待时间，单位：毫秒
+     */
+    private long flushIntervalMillis = 50;
+
+    /**
+     * 队列满时的溢出策略
+     */
+    private StatsOverflowPolicyEnum overflowPolicy = StatsOverflowPolicyEnum.DROP;
+
+    /**
+     * BLOCK 策略下的最长阻塞时间，单位：毫秒
+     */
+    private long blockTimeoutMillis = 5;
+
+    /**
+     * SPILL 策略下的溢写文件路径
+     */
+    private String spillPath = "logs/link-stats-spill.jsonl";
+
+    /**
+     * 停机时排空队列的最长等待时间，单位：毫秒
+     */
+    private long shutdownTimeoutMillis = 5000;
+}
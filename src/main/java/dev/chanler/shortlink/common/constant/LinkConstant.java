@@ -16,4 +16,9 @@ public class LinkConstant {
      * UV Cookie 最大有效期（秒）- 3个月
      */
     public static final int UV_COOKIE_MAX_AGE_SECONDS = 60 * 60 * 24 * 90;
+
+    /**
+     * 不可边缘缓存的跳转响应 Cache-Control：每次点击都回源，保证统计完整
+     */
+    public static final String REDIRECT_CACHE_CONTROL_NO_STORE = "private, no-store";
 }
@@ -2,6 +2,9 @@ package dev.chanler.shortlink.common.constant;
 
 /**
  * Redis Key 常量类
+ * 兼容 Redis Cluster：短链接维度的 key 以 {fullShortUrl} 作为 hash tag（花括号为 key 的一部分），
+ * 同一短链接的跳转、空值、策略、租约与 UV/UIP key 落在同一 slot，可在一个 Lua 脚本或一次多 key 命令中访问；
+ * 其余 key 只通过单 key 命令访问，不加 hash tag，按 key 自然分散到各主节点
  * @author: Chanler
  */
 public class RedisKeyConstant {
@@ -24,17 +27,38 @@ public class RedisKeyConstant {
      */
     public static final String LOCK_GROUP_CREATE_KEY = "short-link:lock:group-create:%s";
 
+    /**
+     * 短链接跳转 key 前缀（跳转热路径经 {@link #linkKey} 拼接，避免 String.format）
+     */
+    public static final String GOTO_SHORT_LINK_KEY_PREFIX = "short-link:goto:";
+
     /**
      * 短链接跳转前缀 key
      * 格式：short-link:goto:{fullShortUrl}
      */
-    public static final String GOTO_SHORT_LINK_KEY = "short-link:goto:%s";
+    public static final String GOTO_SHORT_LINK_KEY = GOTO_SHORT_LINK_KEY_PREFIX + "{%s}";
+
+    /**
+     * 短链接跳转策略 key 前缀（跳转热路径经 {@link #linkKey} 拼接，避免 String.format）
+     */
+    public static final String GOTO_POLICY_SHORT_LINK_KEY_PREFIX = "short-link:goto-policy:";
+
+    /**
+     * 短链接跳转策略 key，非默认策略或设置了有效期时写入，TTL 与跳转 key 一致
+     * 格式：short-link:goto-policy:{fullShortUrl} -> {status}|{flags}[|{"rules":[...],"variants":[...]}]
+     */
+    public static final String GOTO_POLICY_SHORT_LINK_KEY = GOTO_POLICY_SHORT_LINK_KEY_PREFIX + "{%s}";
+
+    /**
+     * 短链接空值跳转 key 前缀（跳转热路径经 {@link #linkKey} 拼接，避免 String.format）
+     */
+    public static final String GOTO_IS_NULL_SHORT_LINK_KEY_PREFIX = "short-link:is-null:goto_";
 
     /**
      * 短链接空值跳转锁前缀 key
      * 格式：short-link:is-null:goto_{fullShortUrl}
      */
-    public static final String GOTO_IS_NULL_SHORT_LINK_KEY = "short-link:is-null:goto_%s";
+    public static final String GOTO_IS_NULL_SHORT_LINK_KEY = GOTO_IS_NULL_SHORT_LINK_KEY_PREFIX + "{%s}";
 
     /**
      * 短链接跳转锁前缀 key
@@ -103,40 +127,64 @@ public class RedisKeyConstant {
     /**
      * 短链接 UV HyperLogLog 缓存标识
      * 格式：short-link:stats:uv:{v}:{fullShortUrl}
-     * v = epochDay(Asia/Shanghai) % 2
-     */
-    public static final String STATS_UV_HLL_KEY = "short-link:stats:uv:%d:%s";
-
-    /**
-     * UV HLL 前缀（批量 PFCOUNT 使用）
-     * 格式：short-link:stats:uv:{v}:
+     * v = epochDay(Asia/Shanghai) % 2，fullShortUrl 为 hash tag，与同一短链接的 UIP key 同 slot
      */
-    public static final String STATS_UV_PREFIX = "short-link:stats:uv:%d:";
+    public static final String STATS_UV_HLL_KEY = "short-link:stats:uv:%d:{%s}";
 
     /**
      * 短链接 UIP HyperLogLog 缓存标识
      * 格式：short-link:stats:uip:{v}:{fullShortUrl}
      * v = epochDay(Asia/Shanghai) % 2
      */
-    public static final String STATS_UIP_HLL_KEY = "short-link:stats:uip:%d:%s";
-
-    /**
-     * UIP HLL 前缀（批量 PFCOUNT 使用）
-     * 格式：short-link:stats:uip:{v}:
-     */
-    public static final String STATS_UIP_PREFIX = "short-link:stats:uip:%d:";
+    public static final String STATS_UIP_HLL_KEY = "short-link:stats:uip:%d:{%s}";
 
     /**
      * UV 活跃集合 key（用于清理）
      * 格式：short-link:stats:uv:active:{v}
-     * v = epochDay(Asia/Shanghai) % 2
+     * v = epochDay(Asia/Shanghai) % 2，以 {v} 为 hash tag，与同一天的 UIP 活跃集合同 slot
      */
-    public static final String STATS_UV_ACTIVE_KEY = "short-link:stats:uv:active:%d";
+    public static final String STATS_UV_ACTIVE_KEY = "short-link:stats:uv:active:{%d}";
 
     /**
      * UIP 活跃集合 key（用于清理）
      * 格式：short-link:stats:uip:active:{v}
-     * v = epochDay(Asia/Shanghai) % 2
+     * v = epochDay(Asia/Shanghai) % 2，以 {v} 为 hash tag，与同一天的 UV 活跃集合同 slot
+     */
+    public static final String STATS_UIP_ACTIVE_KEY = "short-link:stats:uip:active:{%d}";
+
+    /**
+     * 本地缓存失效广播频道
+     * 消息格式：{seq}|{type}|{key}
+     */
+    public static final String CACHE_INVALIDATION_CHANNEL_KEY = "short-link:cache-invalidation:channel";
+
+    /**
+     * 本地缓存失效事件序号（INCR 单调递增，用于订阅端检测漏收）
+     */
+    public static final String CACHE_INVALIDATION_SEQ_KEY = "short-link:cache-invalidation:seq";
+
+    /**
+     * 跳转回源租约 key 前缀（跨节点单飞，值为持有者令牌）
+     * 格式：short-link:lease:goto:{fullShortUrl}，经 {@link #linkKey} 拼接
+     */
+    public static final String LEASE_GOTO_SHORT_LINK_KEY_PREFIX = "short-link:lease:goto:";
+
+    /**
+     * 用户流量风控滑动窗口（ZSET）
+     * 格式：short-link:user-flow-risk-control:{username}
+     */
+    public static final String USER_FLOW_RISK_CONTROL_KEY = "short-link:user-flow-risk-control:%s";
+
+    /**
+     * 热点短链接快照（ZSET，member: fullShortUrl，score: 近期访问估计值）
+     * 各节点定期写入本地检测结果，供启动预热读取
+     */
+    public static final String HOT_LINKS_SNAPSHOT_KEY = "short-link:hot-links";
+
+    /**
+     * 拼接短链接维度 key：{prefix}{fullShortUrl}，以 fullShortUrl 作为 Redis Cluster hash tag
      */
-    public static final String STATS_UIP_ACTIVE_KEY = "short-link:stats:uip:active:%d";
+    public static String linkKey(String prefix, String fullShortUrl) {
+        return prefix + '{' + fullShortUrl + '}';
+    }
 }
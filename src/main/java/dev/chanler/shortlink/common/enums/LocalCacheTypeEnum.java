@@ -0,0 +1,28 @@
+package dev.chanler.shortlink.common.enums;
+
+/**
+ * 节点本地缓存类型（失效总线按类型分发）
+ * @author: Chanler
+ */
+public enum LocalCacheTypeEnum {
+
+    /**
+     * 短链接跳转条目缓存，key: fullShortUrl
+     */
+    REDIRECT,
+
+    /**
+     * 统计落库使用的 fullShortUrl -> gid 缓存，key: fullShortUrl
+     */
+    GID,
+
+    /**
+     * 分组归属校验缓存，key: username:gid
+     */
+    OWNERSHIP,
+
+    /**
+     * 短链接跳转负缓存（不存在或已失效），key: fullShortUrl
+     */
+    NEGATIVE
+}
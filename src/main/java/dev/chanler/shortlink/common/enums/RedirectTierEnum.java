@@ -0,0 +1,60 @@
+package dev.chanler.shortlink.common.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 短链接跳转解析层级，用作跳转延迟指标的 tier 标签
+ * @author: Chanler
+ */
+@RequiredArgsConstructor
+public enum RedirectTierEnum {
+
+    /**
+     * 本地缓存命中（含热点受保护层）
+     */
+    LOCAL_HIT("local_hit"),
+
+    /**
+     * 堆外跳转副本命中
+     */
+    OFF_HEAP_HIT("off_heap_hit"),
+
+    /**
+     * Redis 跳转 key 命中
+     */
+    REDIS_HIT("redis_hit"),
+
+    /**
+     * Redis 熔断期间命中本地过期条目
+     */
+    STALE_HIT("stale_hit"),
+
+    /**
+     * 本地负缓存或 Redis 空值标记命中
+     */
+    NEGATIVE_HIT("negative_hit"),
+
+    /**
+     * 号段范围或布隆过滤器判定不存在
+     */
+    BLOOM_REJECT("bloom_reject"),
+
+    /**
+     * 单飞回源加载成功
+     */
+    DB_LOAD("db_load"),
+
+    /**
+     * 单飞回源判定不存在或已失效
+     */
+    NOT_FOUND("not_found"),
+
+    /**
+     * 回源超时、被拒绝或异常
+     */
+    FAILED("failed");
+
+    @Getter
+    private final String tag;
+}
@@ -0,0 +1,50 @@
+package dev.chanler.shortlink.common.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 短链接跳转状态码
+ * @author: Chanler
+ */
+@RequiredArgsConstructor
+public enum RedirectTypeEnum {
+
+    /**
+     * 永久重定向，浏览器可长期缓存，可能将 POST 改为 GET
+     */
+    MOVED_PERMANENTLY(301),
+
+    /**
+     * 临时重定向（默认）
+     */
+    FOUND(302),
+
+    /**
+     * 临时重定向，保持请求方法
+     */
+    TEMPORARY_REDIRECT(307),
+
+    /**
+     * 永久重定向，保持请求方法
+     */
+    PERMANENT_REDIRECT(308);
+
+    @Getter
+    private final int status;
+
+    /**
+     * 是否为支持的跳转状态码
+     */
+    public static boolean isValid(Integer status) {
+        if (status == null) {
+            return false;
+        }
+        for (RedirectTypeEnum each : values()) {
+            if (each.status == status) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
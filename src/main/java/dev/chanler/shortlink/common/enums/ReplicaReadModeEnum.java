@@ -0,0 +1,18 @@
+package dev.chanler.shortlink.common.enums;
+
+/**
+ * 只读查询的副本读取模式
+ * @author: Chanler
+ */
+public enum ReplicaReadModeEnum {
+
+    /**
+     * 副本优先：直接读取副本，副本失败时回退主节点，可读到复制延迟内的旧值
+     */
+    REPLICA_PREFERRED,
+
+    /**
+     * 对冲：先读主节点，超过主节点近期耗时分位数仍未返回时再向副本发起相同读取，取先成功的结果
+     */
+    HEDGED
+}
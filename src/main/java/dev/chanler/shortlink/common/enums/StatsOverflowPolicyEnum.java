@@ -0,0 +1,23 @@
+package dev.chanler.shortlink.common.enums;
+
+/**
+ * 统计缓冲队列溢出策略
+ * @author: Chanler
+ */
+public enum StatsOverflowPolicyEnum {
+
+    /**
+     * 直接丢弃，跳转请求不受影响
+     */
+    DROP,
+
+    /**
+     * 在超时时间内阻塞等待队列空位，超时后丢弃
+     */
+    BLOCK,
+
+    /**
+     * 溢写到本地文件，队列空闲时回放
+     */
+    SPILL
+}
@@ -0,0 +1,193 @@
+package dev.chanler.shortlink.common.metrics;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import dev.chanler.shortlink.common.cache.HotLinkDetector;
+import dev.chanler.shortlink.common.cache.OffHeapRedirectStore;
+import dev.chanler.shortlink.common.cache.RedisCircuitBreaker;
+import dev.chanler.shortlink.common.cache.RedisReplicaReader;
+import dev.chanler.shortlink.common.cache.RedirectEntry;
+import dev.chanler.shortlink.common.cache.RedirectLoadLease;
+import dev.chanler.shortlink.common.cache.RedirectLocalCache;
+import dev.chanler.shortlink.common.cache.RedirectRefresher;
+import dev.chanler.shortlink.common.cache.RedirectStaleCache;
+import dev.chanler.shortlink.common.enums.RedirectTierEnum;
+import dev.chanler.shortlink.mq.producer.LinkStatsSaveProducer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 短链接跳转指标
+ * 1. shortlink.redirect.resolve：按解析层级（tier 标签）分别统计的跳转解析耗时直方图，覆盖 Tomcat 与独立监听器两条路径
+ * 2. shortlink.redirect.load.wait：单飞回源等待耗时，role=leader 为发起加载的请求，follower 为共享加载的请求
+ * 3. Caffeine 缓存命中、淘汰、条目数（cache.* 指标）与短码索引模式、热点受保护层、堆外副本、统计生产者队列的计数与水位
+ * 4. shortlink.redis.circuit_breaker.*：Redis 熔断状态（0 关闭 / 1 打开 / 2 半开）、打开次数与拒绝调用数
+ * 5. shortlink.redirect.lease：跨节点回源租约，result=acquired 为抢到租约回源，awaited 为等到其他节点回填，timeout 为等待超时后自行回源
+ * 6. shortlink.redis.replica_read：副本读结果，result=replica 为副本优先模式读副本成功，fallback 为回退主节点，
+ *    hedged 为对冲模式向副本补发读取，hedge_won 为副本先返回，pinned 为近期失效的短链接只读主节点；shortlink.redis.replica_read.hedge_delay 为当前对冲阈值（微秒）
+ * 计时器在启动时按层级预先注册，热路径只做数组下标访问
+ * @author: Chanler
+ */
+@Component
+@RequiredArgsConstructor
+public class RedirectMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, RedirectEntry> redirectCache;
+    private final Cache<String, Boolean> redirectNegativeCache;
+    private final AsyncCache<String, RedirectEntry> redirectLoader;
+    private final RedirectLocalCache redirectLocalCache;
+    private final HotLinkDetector hotLinkDetector;
+    private final OffHeapRedirectStore offHeapRedirectStore;
+    private final LinkStatsSaveProducer linkStatsSaveProducer;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final RedirectStaleCache redirectStaleCache;
+    private final RedirectRefresher redirectRefresher;
+    private final RedirectLoadLease redirectLoadLease;
+    private final RedisReplicaReader redisReplicaReader;
+
+    private Timer[] resolveTimers;
+    private Timer loadLeaderTimer;
+    private Timer loadFollowerTimer;
+
+    @PostConstruct
+    public void init() {
+        RedirectTierEnum[] tiers = RedirectTierEnum.values();
+        resolveTimers = new Timer[tiers.length];
+        for (RedirectTierEnum tier : tiers) {
+            resolveTimers[tier.ordinal()] = Timer.builder("shortlink.redirect.resolve")
+                    .description("短链接跳转解析耗时")
+                    .tag("tier", tier.getTag())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(500))
+                    .maximumExpectedValue(Duration.ofSeconds(5))
+                    .register(meterRegistry);
+        }
+        loadLeaderTimer = loadWaitTimer("leader");
+        loadFollowerTimer = loadWaitTimer("follower");
+
+        CaffeineCacheMetrics.monitor(meterRegistry, redirectCache, "redirect");
+        CaffeineCacheMetrics.monitor(meterRegistry, redirectNegativeCache, "redirect_negative");
+        Gauge.builder("shortlink.redirect.load.inflight", redirectLoader, each -> each.asMap().size())
+                .description("进行中的单飞回源数")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("shortlink.redirect.code_indexed.requests", redirectLocalCache, RedirectLocalCache::getIndexedHits)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("shortlink.redirect.code_indexed.requests", redirectLocalCache, RedirectLocalCache::getIndexedMisses)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("shortlink.redirect.code_indexed.collisions", redirectLocalCache, RedirectLocalCache::getIndexedCollisions)
+                .register(meterRegistry);
+        FunctionCounter.builder("shortlink.redirect.code_indexed.evictions", redirectLocalCache, RedirectLocalCache::getIndexedEvictions)
+                .register(meterRegistry);
+        Gauge.builder("shortlink.redirect.code_indexed.weight", redirectLocalCache, RedirectLocalCache::getIndexedWeightBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("shortlink.redirect.hot.pinned", hotLinkDetector, HotLinkDetector::getPinnedCount)
+                .register(meterRegistry);
+        Gauge.builder("shortlink.redirect.off_heap.serving", offHeapRedirectStore, each -> each.isServing() ? 1 : 0)
+                .register(meterRegistry);
+        FunctionCounter.builder("shortlink.redirect.off_heap.dropped", offHeapRedirectStore, OffHeapRedirectStore::getDroppedPuts)
+                .register(meterRegistry);
+        FunctionCounter.builder("shortlink.redirect.off_heap.compactions", offHeapRedirectStore, OffHeapRedirectStore::getCompactions)
+                .register(meterRegistry);
+
+        FunctionCounter.builder("shortlink.redirect.refresh", redirectRefresher, RedirectRefresher::getLocalRefreshCount)
+                .description("本地跳转条目后台刷新次数")
+                .tag("tier", "local")
+                .register(meterRegistry);
+        FunctionCounter.builder("shortlink.redirect.refresh", redirectRefresher, RedirectRefresher::getEarlyRecomputeCount)
+                .description("Redis 跳转 key XFetch 提前回源次数")
+                .tag("tier", "redis")
+                .register(meterRegistry);
+
+        Gauge.builder("shortlink.redis.circuit_breaker.state", redisCircuitBreaker, RedisCircuitBreaker::getState)
+                .description("Redis 熔断状态：0 关闭，1 打开，2 半开")
+                .register(meterRegistry);
+        FunctionCounter.builder("shortlink.redis.circuit_breaker.opened", redisCircuitBreaker, RedisCircuitBreaker::getOpenedCount)
+                .register(meterRegistry);
+        FunctionCounter.builder("shortlink.redis.circuit_breaker.rejected", redisCircuitBreaker, RedisCircuitBreaker::getRejectedCount)
+                .register(meterRegistry);
+        Gauge.builder("shortlink.redirect.stale.size", redirectStaleCache, RedirectStaleCache::estimatedSize)
+                .register(meterRegistry);
+
+        leaseCounter("acquired", RedirectLoadLease::getAcquiredCount);
+        leaseCounter("awaited", RedirectLoadLease::getAwaitedCount);
+        leaseCounter("timeout", RedirectLoadLease::getTimeoutCount);
+
+        replicaReadCounter("replica", RedisReplicaReader::getReplicaReadCount);
+        replicaReadCounter("fallback", RedisReplicaReader::getFallbackCount);
+        replicaReadCounter("hedged", RedisReplicaReader::getHedgedCount);
+        replicaReadCounter("hedge_won", RedisReplicaReader::getHedgeWonCount);
+        replicaReadCounter("pinned", RedisReplicaReader::getPinnedReadCount);
+        Gauge.builder("shortlink.redis.replica_read.hedge_delay", redisReplicaReader, RedisReplicaReader::getHedgeDelayMicros)
+                .description("对冲阈值，单位：微秒")
+                .register(meterRegistry);
+
+        Gauge.builder("shortlink.stats.producer.queue.depth", linkStatsSaveProducer, LinkStatsSaveProducer::getQueueDepth)
+                .register(meterRegistry);
+        statsCounter("enqueued", LinkStatsSaveProducer::getEnqueuedCount);
+        statsCounter("flushed", LinkStatsSaveProducer::getFlushedCount);
+        statsCounter("dropped", LinkStatsSaveProducer::getDroppedCount);
+        statsCounter("spilled", LinkStatsSaveProducer::getSpilledCount);
+        statsCounter("failed", LinkStatsSaveProducer::getFailedCount);
+    }
+
+    /**
+     * 记录一次跳转解析耗时
+     * @param startNanos 解析开始时的 System.nanoTime()
+     */
+    public void recordResolve(RedirectTierEnum tier, long startNanos) {
+        resolveTimers[tier.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录一次单飞回源等待耗时
+     * @param leader 是否为发起加载的请求
+     */
+    public void recordLoadWait(boolean leader, long startNanos) {
+        (leader ? loadLeaderTimer : loadFollowerTimer).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer loadWaitTimer(String role) {
+        return Timer.builder("shortlink.redirect.load.wait")
+                .description("单飞回源等待耗时")
+                .tag("role", role)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(meterRegistry);
+    }
+
+    private void leaseCounter(String result, ToDoubleFunction<RedirectLoadLease> count) {
+        FunctionCounter.builder("shortlink.redirect.lease", redirectLoadLease, count)
+                .description("跨节点回源租约结果")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private void replicaReadCounter(String result, ToDoubleFunction<RedisReplicaReader> count) {
+        FunctionCounter.builder("shortlink.redis.replica_read", redisReplicaReader, count)
+                .description("Redis 副本读结果")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private void statsCounter(String result, ToDoubleFunction<LinkStatsSaveProducer> count) {
+        FunctionCounter.builder("shortlink.stats.producer.records", linkStatsSaveProducer, count)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
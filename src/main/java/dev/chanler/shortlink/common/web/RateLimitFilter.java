@@ -2,7 +2,6 @@ package dev.chanler.shortlink.common.web;
 
 import com.google.common.util.concurrent.RateLimiter;
 import dev.chanler.shortlink.common.config.RateLimitProperties;
-import dev.chanler.shortlink.common.convention.result.Results;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,8 +14,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
@@ -38,6 +35,7 @@ public class RateLimitFilter extends OncePerRequestFilter {
     @Qualifier("statsRateLimiter")
     private final RateLimiter statsRateLimiter;
     private final RateLimitProperties props;
+    private final StaticPageResponses staticPageResponses;
 
     @Override
     protected boolean shouldNotFilterAsyncDispatch() {
@@ -95,33 +93,7 @@ public class RateLimitFilter extends OncePerRequestFilter {
         return SHORT_URI_PATH.matcher(path).matches();
     }
 
-    private void tooMany( HttpServletRequest req, HttpServletResponse resp) throws IOException {
-        resp.setStatus(429);
-        if (isRedirectPath(req)) {
-            resp.setContentType("text/html;charset=UTF-8");
-            String src = URLEncoder.encode(req.getRequestURI() + (req.getQueryString() != null ? "?" + req.getQueryString() : ""), StandardCharsets.UTF_8);
-            resp.getWriter().write(String.format("""
-            <!doctype html><meta charset="utf-8">
-            <title>Too Many Requests</title>
-            <meta name="robots" content="noindex,nofollow">
-            <style>body{font-family:system-ui;margin:6vh auto;max-width:600px;padding:0 16px;line-height:1.6}button{padding:.6em 1em;border:0;border-radius:10px;cursor:pointer}</style>
-            <h1>访问太频繁</h1>
-            <p>当前访问人数较多，请稍后再试。</p>
-            <p>
-              <button id="retry">立即重试</button>
-              <button id="copy">复制短链</button>
-            </p>
-            <script>
-              const src = decodeURIComponent('%s');
-              document.getElementById('retry').onclick = () => location.href = src;
-              document.getElementById('copy').onclick = async () => { try { await navigator.clipboard.writeText(location.origin + src); alert('已复制'); } catch(e){ alert('复制失败'); } }
-            </script>
-            """, src)
-            );
-        } else {
-            resp.setContentType("application/json;charset=UTF-8");
-            Object body = Results.failure("B100000", "当前流量较高，请稍后再试...");
-            resp.getWriter().write(new com.fasterxml.jackson.databind.ObjectMapper().writeValueAsString(body));
-        }
+    private void tooMany(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        staticPageResponses.writeTooMany(resp, isRedirectPath(req));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,253 @@
+package dev.chanler.shortlink.common.web;
+
+import cn.hutool.core.lang.UUID;
+import cn.hutool.core.util.StrUtil;
+import com.google.common.util.concurrent.RateLimiter;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import dev.chanler.shortlink.common.cache.RedirectEntry;
+import dev.chanler.shortlink.common.config.RateLimitProperties;
+import dev.chanler.shortlink.common.config.RedirectProperties;
+import dev.chanler.shortlink.service.LinkService;
+import dev.chanler.shortlink.toolkit.LinkUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static dev.chanler.shortlink.common.constant.LinkConstant.REDIRECT_CACHE_CONTROL_NO_STORE;
+import static dev.chanler.shortlink.common.constant.LinkConstant.UV_COOKIE_MAX_AGE_SECONDS;
+
+/**
+ * 独立跳转监听器
+ * 基于 JDK 内置 HttpServer 在独立端口上只处理 GET/HEAD /{shortUri}，跳过 Servlet 过滤器链、DispatcherServlet、
+ * 处理器映射与参数绑定，直接走 {@link LinkService#resolveRedirect} 的各级缓存与统计缓冲队列
+ * 限流与 Tomcat 跳转路径共用同一个 redirectRateLimiter；管理与 API 流量仍由 Tomcat 处理
+ * 应用就绪（启动预热完成）后才开始监听；处理线程池队列有界，过载时直接返回 503 而不是无限排队
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "short-link.redirect.listener", name = "enable", havingValue = "true")
+public class RedirectHttpListener implements HttpHandler {
+
+    private final LinkService linkService;
+    private final RedirectProperties redirectProperties;
+    private final RateLimitProperties rateLimitProperties;
+    @Qualifier("redirectRateLimiter")
+    private final RateLimiter redirectRateLimiter;
+    private final StaticPageResponses staticPageResponses;
+    private final MeterRegistry meterRegistry;
+
+    private static final int MAX_SHORT_URI_LENGTH = 8;
+
+    private HttpServer server;
+    private RedirectListenerExecutor executor;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        RedirectProperties.ListenerProperties props = redirectProperties.getListener();
+        int threads = props.getThreads() > 0 ? props.getThreads() : Runtime.getRuntime().availableProcessors() * 2;
+        executor = new RedirectListenerExecutor(threads, props.getQueueCapacity());
+        FunctionCounter.builder("shortlink.redirect.listener.rejected", executor, RedirectListenerExecutor::getRejectedCount)
+                .description("独立跳转监听器线程池已满返回 503 的请求数")
+                .register(meterRegistry);
+        Gauge.builder("shortlink.redirect.listener.queue", executor, RedirectListenerExecutor::getQueueSize)
+                .description("独立跳转监听器排队请求数")
+                .register(meterRegistry);
+        server = HttpServer.create(new InetSocketAddress(props.getPort()), props.getBacklog());
+        server.createContext("/", this);
+        server.setExecutor(executor);
+        server.start();
+        log.info("独立跳转监听器启动，端口：{}，线程数：{}，队列容量：{}", props.getPort(), threads, props.getQueueCapacity());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.stop(1);
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) {
+        try {
+            if (RedirectListenerExecutor.isShedding()) {
+                sendUnavailable(exchange);
+                return;
+            }
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                sendEmpty(exchange, 405);
+                return;
+            }
+            String path = exchange.getRequestURI().getRawPath();
+            if (!isShortUriPath(path)) {
+                sendEmpty(exchange, 404);
+                return;
+            }
+            if (!redirectRateLimiter.tryAcquire(1, rateLimitProperties.getRedirect().getTimeout(), TimeUnit.MILLISECONDS)) {
+                sendTooMany(exchange);
+                return;
+            }
+            String shortUri = path.substring(1);
+            String fullShortUrl = buildFullShortUrl(exchange, shortUri);
+            CompletableFuture<RedirectEntry> resolved = linkService.resolveRedirect(shortUri, fullShortUrl);
+            if (resolved.isDone()) {
+                resolved.whenComplete((entry, ex) -> complete(exchange, fullShortUrl, entry, ex));
+            } else {
+                // 单飞回源期间不占用处理线程，加载完成后回到监听器线程池写出响应，线程池已满时在加载线程上写出
+                resolved.whenComplete((entry, ex) -> {
+                    if (!executor.tryExecute(() -> complete(exchange, fullShortUrl, entry, ex))) {
+                        complete(exchange, fullShortUrl, entry, ex);
+                    }
+                });
+            }
+        } catch (Throwable t) {
+            log.error("Redirect listener error, uri={}", exchange.getRequestURI(), t);
+            sendEmpty(exchange, 500);
+        }
+    }
+
+    private void complete(HttpExchange exchange, String fullShortUrl, RedirectEntry entry, Throwable failure) {
+        Headers responseHeaders = exchange.getResponseHeaders();
+        try {
+            if (failure != null) {
+                responseHeaders.set("Retry-After", "1");
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            if (entry == null) {
+                staticPageResponses.writeNotFound(exchange);
+                return;
+            }
+            Headers requestHeaders = exchange.getRequestHeaders();
+            String cacheControl = linkService.redirectCacheControl(entry);
+            String uv = readUvCookie(requestHeaders.get("Cookie"));
+            if (uv == null) {
+                uv = UUID.fastUUID().toString();
+                // 可边缘缓存的响应不下发 Cookie，本次访问按新 UV 计
+                if (REDIRECT_CACHE_CONTROL_NO_STORE.equals(cacheControl)) {
+                    responseHeaders.add("Set-Cookie", "uv=" + uv + "; Max-Age=" + UV_COOKIE_MAX_AGE_SECONDS
+                            + "; Path=" + fullShortUrl.substring(fullShortUrl.indexOf('/')));
+                }
+            }
+            String uip = LinkUtil.getActualIp(requestHeaders::getFirst, exchange.getRemoteAddress().getAddress().getHostAddress());
+            String userAgent = requestHeaders.getFirst("User-Agent");
+            int target = linkService.redirectTarget(entry, userAgent, uip, uv);
+            linkService.recordRedirect(fullShortUrl, uv, uip, userAgent, RedirectEntry.variantOf(target));
+            responseHeaders.set("Location", entry.locationOf(target));
+            responseHeaders.set("Cache-Control", cacheControl);
+            exchange.sendResponseHeaders(entry.status(), -1);
+        } catch (Throwable t) {
+            log.warn("Redirect listener response error, fullShortUrl={}", fullShortUrl, t);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * 构建完整短链接，规则与 Tomcat 路径一致：domain[:port]/shortUri，80 端口省略
+     */
+    private String buildFullShortUrl(HttpExchange exchange, String shortUri) {
+        String domain = redirectProperties.getListener().getDomain();
+        if (StrUtil.isNotBlank(domain)) {
+            return domain + "/" + shortUri;
+        }
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        if (StrUtil.isBlank(host)) {
+            InetSocketAddress local = exchange.getLocalAddress();
+            return LinkUtil.buildFullShortUrl(local.getHostString(), local.getPort(), shortUri);
+        }
+        int colon = host.lastIndexOf(':');
+        if (colon < 0 || colon < host.lastIndexOf(']')) {
+            return LinkUtil.buildFullShortUrl(host, 80, shortUri);
+        }
+        int port;
+        try {
+            port = Integer.parseInt(host, colon + 1, host.length(), 10);
+        } catch (NumberFormatException e) {
+            port = 80;
+        }
+        return LinkUtil.buildFullShortUrl(host.substring(0, colon), port, shortUri);
+    }
+
+    private static boolean isShortUriPath(String path) {
+        int len = path == null ? 0 : path.length();
+        if (len < 2 || len > MAX_SHORT_URI_LENGTH + 1 || path.charAt(0) != '/') {
+            return false;
+        }
+        for (int i = 1; i < len; i++) {
+            char c = path.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String readUvCookie(List<String> cookieHeaders) {
+        if (cookieHeaders == null) {
+            return null;
+        }
+        for (String header : cookieHeaders) {
+            for (String each : header.split(";")) {
+                String cookie = each.trim();
+                if (cookie.startsWith("uv=") && cookie.length() > 3) {
+                    return cookie.substring(3);
+                }
+            }
+        }
+        return null;
+    }
+
+    private void sendTooMany(HttpExchange exchange) {
+        try {
+            staticPageResponses.writeTooMany(exchange);
+        } catch (IOException ignored) {
+            // 客户端已断开
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void sendUnavailable(HttpExchange exchange) {
+        try {
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            exchange.sendResponseHeaders(503, -1);
+        } catch (IOException ignored) {
+            // 客户端已断开
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void sendEmpty(HttpExchange exchange, int status) {
+        try {
+            exchange.sendResponseHeaders(status, -1);
+        } catch (IOException ignored) {
+            // 客户端已断开
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package dev.chanler.shortlink.common.web;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 独立跳转监听器线程池
+ * 固定线程数 + 有界队列，队列满时不再排队等待，而是把请求交给单线程拒绝通道：
+ * 拒绝通道上运行的请求由处理器直接返回 503（{@link #isShedding()} 为 true），不做任何查询；
+ * 拒绝通道队列也满时抛出 RejectedExecutionException，由 HttpServer 直接关闭连接
+ * 过载时排队时长被队列容量限制住，不会像无界队列那样让所有请求一起超时
+ * @author: Chanler
+ */
+public class RedirectListenerExecutor implements Executor {
+
+    private static final ThreadLocal<Boolean> SHEDDING = new ThreadLocal<>();
+    /**
+     * 拒绝通道只写 503，单个请求耗时为微秒级，队列放宽以免过载时直接断开连接
+     */
+    private static final int SHED_QUEUE_CAPACITY = 4096;
+
+    private final ThreadPoolExecutor worker;
+    private final ThreadPoolExecutor shedder;
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public RedirectListenerExecutor(int threads, int queueCapacity) {
+        worker = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonFactory("redirect_listener_"), new ThreadPoolExecutor.AbortPolicy());
+        shedder = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(SHED_QUEUE_CAPACITY), daemonFactory("redirect_listener_shed_"), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 提交 HttpServer 的请求处理任务，线程池已满时转入拒绝通道
+     */
+    @Override
+    public void execute(Runnable command) {
+        try {
+            worker.execute(command);
+        } catch (RejectedExecutionException ex) {
+            rejectedCount.increment();
+            shedder.execute(() -> {
+                SHEDDING.set(Boolean.TRUE);
+                try {
+                    command.run();
+                } finally {
+                    SHEDDING.remove();
+                }
+            });
+        }
+    }
+
+    /**
+     * 提交回源完成后的响应写出，线程池已满时返回 false，由调用方在当前线程写出
+     */
+    public boolean tryExecute(Runnable command) {
+        try {
+            worker.execute(command);
+            return true;
+        } catch (RejectedExecutionException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * 当前线程是否在拒绝通道上，是则应直接返回 503
+     */
+    public static boolean isShedding() {
+        return SHEDDING.get() != null;
+    }
+
+    public void shutdown() {
+        worker.shutdown();
+        shedder.shutdown();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public int getQueueSize() {
+        return worker.getQueue().size();
+    }
+
+    private static ThreadFactory daemonFactory(String prefix) {
+        AtomicInteger index = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + index.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
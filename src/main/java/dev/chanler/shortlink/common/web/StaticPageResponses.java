@@ -0,0 +1,116 @@
+package dev.chanler.shortlink.common.web;
+
+import com.alibaba.fastjson2.JSON;
+import com.sun.net.httpserver.HttpExchange;
+import dev.chanler.shortlink.common.convention.result.Results;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 跳转路径的预渲染响应
+ * 短链接不存在、限流等页面内容与请求无关，启动时一次性编码为字节数组，请求时直接按正确状态码写出：
+ * 不再 302 到 /page/notfound 触发第二次往返与模板渲染，也不再每次拼接 HTML、创建 JSON 序列化器
+ * /page/notfound 页面仍保留，供直接访问
+ * @author: Chanler
+ */
+@Component
+public class StaticPageResponses {
+
+    private static final String HTML_CONTENT_TYPE = "text/html;charset=UTF-8";
+    private static final String JSON_CONTENT_TYPE = "application/json;charset=UTF-8";
+
+    /**
+     * 不存在 / 限流响应不可被浏览器或边缘节点缓存，否则短链接创建或恢复后仍返回旧页面
+     */
+    private static final String CACHE_CONTROL_NO_STORE = "no-store";
+
+    /**
+     * 限流页面：重试与复制短链均取自当前地址，页面内容与请求无关
+     */
+    private static final String TOO_MANY_HTML = """
+            <!doctype html><meta charset="utf-8">
+            <title>Too Many Requests</title>
+            <meta name="robots" content="noindex,nofollow">
+            <style>body{font-family:system-ui;margin:6vh auto;max-width:600px;padding:0 16px;line-height:1.6}button{padding:.6em 1em;border:0;border-radius:10px;cursor:pointer}</style>
+            <h1>访问太频繁</h1>
+            <p>当前访问人数较多，请稍后再试。</p>
+            <p>
+              <button id="retry">立即重试</button>
+              <button id="copy">复制短链</button>
+            </p>
+            <script>
+              const src = location.pathname + location.search;
+              document.getElementById('retry').onclick = () => location.href = src;
+              document.getElementById('copy').onclick = async () => { try { await navigator.clipboard.writeText(location.origin + src); alert('已复制'); } catch(e){ alert('复制失败'); } }
+            </script>
+            """;
+
+    private byte[] notFoundHtml;
+    private byte[] tooManyHtml;
+    private byte[] tooManyJson;
+
+    @PostConstruct
+    public void init() throws IOException {
+        try (InputStream in = new ClassPathResource("templates/notfound.html").getInputStream()) {
+            notFoundHtml = in.readAllBytes();
+        }
+        tooManyHtml = TOO_MANY_HTML.getBytes(StandardCharsets.UTF_8);
+        tooManyJson = JSON.toJSONString(Results.failure("B100000", "当前流量较高，请稍后再试...")).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public void writeNotFound(HttpServletResponse response) throws IOException {
+        write(response, HttpServletResponse.SC_NOT_FOUND, HTML_CONTENT_TYPE, notFoundHtml);
+    }
+
+    /**
+     * @param html 跳转路径返回 HTML 页面，API 返回 JSON
+     */
+    public void writeTooMany(HttpServletResponse response, boolean html) throws IOException {
+        response.setHeader("Retry-After", "1");
+        if (html) {
+            write(response, 429, HTML_CONTENT_TYPE, tooManyHtml);
+        } else {
+            write(response, 429, JSON_CONTENT_TYPE, tooManyJson);
+        }
+    }
+
+    public void writeNotFound(HttpExchange exchange) throws IOException {
+        write(exchange, 404, notFoundHtml);
+    }
+
+    public void writeTooMany(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        write(exchange, 429, tooManyHtml);
+    }
+
+    private static void write(HttpServletResponse response, int status, String contentType, byte[] body) throws IOException {
+        response.setStatus(status);
+        response.setContentType(contentType);
+        response.setContentLength(body.length);
+        response.setHeader("Cache-Control", CACHE_CONTROL_NO_STORE);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * HEAD 请求只写响应头，Content-Length 由 HttpServer 按 -1 处理
+     */
+    private static void write(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", HTML_CONTENT_TYPE);
+        exchange.getResponseHeaders().set("Cache-Control", CACHE_CONTROL_NO_STORE);
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.Optional;
 
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.USER_FLOW_RISK_CONTROL_KEY;
 import static dev.chanler.shortlink.common.constant.UserConstant.PUBLIC_USERNAME;
 import static dev.chanler.shortlink.common.convention.errorcode.BaseErrorCode.FLOW_LIMIT_ERROR;
 
@@ -45,7 +46,8 @@ public class UserFlowRiskControlFilter implements Filter {
         String username = Optional.ofNullable(UserContext.getUsername()).orElse(PUBLIC_USERNAME);
         Long result;
         try {
-            result = stringRedisTemplate.execute(redisScript, Lists.newArrayList(username), String.valueOf(userFlowRiskControlConfiguration.getTimeWindow()));
+            result = stringRedisTemplate.execute(redisScript, Lists.newArrayList(String.format(USER_FLOW_RISK_CONTROL_KEY, username)),
+                    String.valueOf(userFlowRiskControlConfiguration.getTimeWindow()));
         } catch (Throwable ex) {
             log.error("执行用户请求流量限制LUA脚本出错", ex);
             tooMany((HttpServletResponse) response);
@@ -7,6 +7,7 @@ import dev.chanler.shortlink.dto.req.LinkBatchCreateReqDTO;
 import dev.chanler.shortlink.dto.req.LinkCreateReqDTO;
 import dev.chanler.shortlink.dto.req.LinkPageReqDTO;
 import dev.chanler.shortlink.dto.req.LinkUpdateReqDTO;
+import dev.chanler.shortlink.dto.resp.HotLinkRespDTO;
 import dev.chanler.shortlink.dto.resp.LinkBatchCreateRespDTO;
 import dev.chanler.shortlink.dto.resp.LinkCreateRespDTO;
 import dev.chanler.shortlink.dto.resp.LinkPageRespDTO;
@@ -17,6 +18,8 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * 短链接控制层
  * @author: Chanler
@@ -65,4 +68,13 @@ public class LinkAdminController {
     public Result<IPage<LinkPageRespDTO>> pageLink(LinkPageReqDTO linkPageReqDTO) {
         return Results.success(linkService.pageLink(linkPageReqDTO));
     }
+
+    /**
+     * 查询本节点当前热点短链接
+     * @return Result<List<HotLinkRespDTO>>
+     */
+    @GetMapping("/api/short-link/admin/v1/hot-links")
+    public Result<List<HotLinkRespDTO>> listHotLinks() {
+        return Results.success(linkService.listHotLinks());
+    }
 }
@@ -42,4 +42,14 @@ public class GroupDO extends BaseDO {
      * 分组排序
      */
     private Integer sortOrder;
+
+    /**
+     * 组内新建短链接默认跳转状态码，为空时 302
+     */
+    private Integer redirectType;
+
+    /**
+     * 组内新建短链接默认边缘缓存标识，为空时不可缓存
+     */
+    private Integer edgeCacheable;
 }
@@ -6,8 +6,11 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Date;
+
 /**
  * 短链接跳转实体
+ * 按 full_short_url 分片，冗余 t_link 中跳转所需字段，跳转未命中缓存时单表单分片即可完成回源
  * @author: Chanler
  */
 @Data
@@ -31,4 +34,49 @@ public class LinkGotoDO {
      * 完整短链接
      */
     private String fullShortUrl;
+
+    /**
+     * 原始链接，为空表示存量数据尚未回填，回源时回退查询 t_link
+     */
+    private String originUrl;
+
+    /**
+     * 有效期
+     */
+    private Date validDate;
+
+    /**
+     * 启用标识 0：启用 1：未启用
+     */
+    private Integer enableStatus;
+
+    /**
+     * 删除标识 0：未删除 1：已删除
+     */
+    private Integer delFlag;
+
+    /**
+     * 跳转状态码 301/302/307/308
+     */
+    private Integer redirectType;
+
+    /**
+     * 边缘缓存标识 0：不可缓存 1：可缓存
+     */
+    private Integer edgeCacheable;
+
+    /**
+     * 条件跳转规则 JSON
+     */
+    private String redirectRules;
+
+    /**
+     * 加权分流目标 JSON
+     */
+    private String redirectVariants;
+
+    /**
+     * 修改时间（由数据库维护）
+     */
+    private Date updateTime;
 }
@@ -0,0 +1,47 @@
+package dev.chanler.shortlink.dao.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import dev.chanler.shortlink.common.database.BaseDO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * 分流目标统计访问实体
+ * @author: Chanler
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("t_link_variant_stats")
+public class LinkVariantStatsDO extends BaseDO {
+
+    /**
+     * id
+     */
+    private Long id;
+
+    /**
+     * 完整短链接
+     */
+    private String fullShortUrl;
+
+    /**
+     * 日期
+     */
+    private Date date;
+
+    /**
+     * 访问量
+     */
+    private Integer cnt;
+
+    /**
+     * 分流目标下标
+     */
+    private Integer variant;
+}
@@ -1,11 +1,34 @@
 package dev.chanler.shortlink.dao.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import dev.chanler.shortlink.dao.entity.LinkDO;
 import dev.chanler.shortlink.dao.entity.LinkGotoDO;
+import org.apache.ibatis.annotations.Update;
 
 /**
  * 短链接跳转持久层
  * @author: Chanler
  */
 public interface LinkGotoMapper extends BaseMapper<LinkGotoDO> {
+
+    /**
+     * 回填跳转表冗余的跳转字段
+     * 仅更新尚未回填（origin_url 为空）的记录，回填期间创建、修改写入的数据不会被旧值覆盖
+     * @return 受影响的行数
+     */
+    @Update("""
+            UPDATE t_link_goto
+            SET origin_url = #{originUrl},
+                valid_date = #{validDate},
+                enable_status = #{enableStatus},
+                del_flag = 0,
+                redirect_type = #{redirectType},
+                edge_cacheable = #{edgeCacheable},
+                redirect_rules = #{redirectRules},
+                redirect_variants = #{redirectVariants}
+            WHERE full_short_url = #{fullShortUrl}
+              AND gid = #{gid}
+              AND origin_url IS NULL
+            """)
+    int backfillRedirect(LinkDO linkDO);
 }
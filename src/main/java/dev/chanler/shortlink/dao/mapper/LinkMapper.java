@@ -5,10 +5,15 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import dev.chanler.shortlink.dao.entity.LinkDO;
 import dev.chanler.shortlink.dto.req.LinkPageReqDTO;
 import dev.chanler.shortlink.dto.resp.GroupLinkCountQueryRespDTO;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -76,4 +81,84 @@ public interface LinkMapper extends BaseMapper<LinkDO> {
             </script>
             """)
     List<GroupLinkCountQueryRespDTO> listGroupLinkCount(@Param("gidList") List<String> gidList);
+
+    /**
+     * 查询访问量最高的有效短链接（不带分片键，由 ShardingSphere 跨分片归并排序）
+     * 仅返回跳转所需字段，用于启动预热
+     */
+    @Select("""
+            SELECT
+                t.gid,
+                t.full_short_url,
+                t.origin_url,
+                t.valid_date,
+                t.redirect_type,
+                t.edge_cacheable,
+                t.redirect_rules,
+                t.redirect_variants,
+                t.update_time
+            FROM t_link t
+            WHERE t.enable_status = 0
+              AND t.del_flag = 0
+              AND (t.valid_date IS NULL OR t.valid_date > NOW())
+            ORDER BY t.total_pv DESC
+            LIMIT #{limit}
+            """)
+    List<LinkDO> listTopByTotalPv(@Param("limit") int limit);
+
+    /**
+     * 流式扫描短链接，构建堆外跳转副本（不带分片键，由 ShardingSphere 遍历全部分片）
+     * since 为空时返回全部有效短链接；否则返回 update_time 不早于 since 的全部记录（含已删除、已停用），用于增量追赶
+     */
+    @Select("""
+            <script>
+            SELECT
+                t.gid,
+                t.full_short_url,
+                t.origin_url,
+                t.valid_date,
+                t.redirect_type,
+                t.edge_cacheable,
+                t.redirect_rules,
+                t.redirect_variants,
+                t.enable_status,
+                t.del_flag,
+                t.update_time
+            FROM t_link t
+            <where>
+                <if test="since == null">
+                    t.enable_status = 0
+                    AND t.del_flag = 0
+                    AND (t.valid_date IS NULL OR t.valid_date > NOW())
+                </if>
+                <if test="since != null">
+                    t.update_time >= #{since}
+                </if>
+            </where>
+            </script>
+            """)
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(LinkDO.class)
+    void scanForRedirectStore(@Param("since") Date since, ResultHandler<LinkDO> handler);
+
+    /**
+     * 流式扫描未删除的短链接（含已停用），用于回填 t_link_goto 冗余的跳转字段（不带分片键，由 ShardingSphere 遍历全部分片）
+     */
+    @Select("""
+            SELECT
+                t.gid,
+                t.full_short_url,
+                t.origin_url,
+                t.valid_date,
+                t.enable_status,
+                t.redirect_type,
+                t.edge_cacheable,
+                t.redirect_rules,
+                t.redirect_variants
+            FROM t_link t
+            WHERE t.del_flag = 0
+            """)
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(LinkDO.class)
+    void scanForGotoBackfill(ResultHandler<LinkDO> handler);
 }
@@ -0,0 +1,59 @@
+package dev.chanler.shortlink.dao.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import dev.chanler.shortlink.dao.entity.LinkVariantStatsDO;
+import dev.chanler.shortlink.dto.req.LinkStatsReqDTO;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
+
+/**
+ * 分流目标统计持久层
+ * @author: Chanler
+ */
+public interface LinkVariantStatsMapper extends BaseMapper<LinkVariantStatsDO> {
+
+    /**
+     * 记录分流目标监控数据
+     * @param linkVariantStatsDO 分流目标统计实体
+     */
+    @Insert("""
+            INSERT INTO t_link_variant_stats (
+                full_short_url, date, cnt, variant, create_time, update_time, del_flag
+            )
+            VALUES (
+                #{linkVariantStats.fullShortUrl},
+                #{linkVariantStats.date},
+                #{linkVariantStats.cnt},
+                #{linkVariantStats.variant},
+                NOW(), NOW(), 0
+            )
+            ON DUPLICATE KEY UPDATE
+                cnt = cnt + #{linkVariantStats.cnt}
+            """)
+    void shortLinkVariantStats(@Param("linkVariantStats") LinkVariantStatsDO linkVariantStatsDO);
+
+    /**
+     * 根据短链接获取指定日期内分流目标监控数据
+     * @param linkStatsReqDTO 查询参数
+     * @return 分流目标统计列表
+     */
+    @Select("""
+            SELECT
+                tlvs.variant,
+                SUM(tlvs.cnt) AS cnt
+            FROM t_link tl
+            INNER JOIN t_link_variant_stats tlvs
+                ON tl.full_short_url = tlvs.full_short_url
+            WHERE tlvs.full_short_url = #{param.fullShortUrl}
+              AND tl.gid = #{param.gid}
+              AND tl.del_flag = '0'
+              AND tl.enable_status = #{param.enableStatus}
+              AND tlvs.date BETWEEN #{param.startDate} AND #{param.endDate}
+            GROUP BY tlvs.full_short_url, tl.gid, tlvs.variant
+            ORDER BY tlvs.variant
+            """)
+    List<LinkVariantStatsDO> listVariantStatsByShortLink(@Param("param") LinkStatsReqDTO linkStatsReqDTO);
+}
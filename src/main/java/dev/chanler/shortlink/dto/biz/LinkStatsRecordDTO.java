@@ -42,6 +42,11 @@ public class LinkStatsRecordDTO {
      */
     private String device;
 
+    /**
+     * 分流目标下标，未分流为 null
+     */
+    private Integer variant;
+
     /**
      * UV
      */
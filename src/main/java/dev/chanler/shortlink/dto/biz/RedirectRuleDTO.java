@@ -0,0 +1,60 @@
+package dev.chanler.shortlink.dto.biz;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 条件跳转规则
+ * 各条件之间为“且”，条件内多个取值为“或”，未设置的条件不限制；规则按顺序匹配，首条命中的规则生效，均未命中时跳转原始链接
+ * @author: Chanler
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RedirectRuleDTO {
+
+    /**
+     * 操作系统 Windows/Mac/Unix/Android/iOS/Unknown
+     */
+    private List<String> os;
+
+    /**
+     * 设备类型 Mobile/Desktop
+     */
+    private List<String> device;
+
+    /**
+     * 国家，取值与访问统计中的国家一致（如 中国）
+     */
+    private List<String> country;
+
+    /**
+     * 省份，取值与访问统计中的省份一致（如 广东省）
+     */
+    private List<String> province;
+
+    /**
+     * 星期 1～7（周一～周日），按 GMT+8 计算
+     */
+    private List<Integer> weekdays;
+
+    /**
+     * 生效时段开始 HH:mm（含），按 GMT+8 计算，需与 timeTo 同时设置
+     */
+    private String timeFrom;
+
+    /**
+     * 生效时段结束 HH:mm（不含），早于 timeFrom 时表示跨零点
+     */
+    private String timeTo;
+
+    /**
+     * 命中时的跳转链接
+     */
+    private String originUrl;
+}
@@ -0,0 +1,27 @@
+package dev.chanler.shortlink.dto.biz;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 分流跳转目标
+ * @author: Chanler
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RedirectVariantDTO {
+
+    /**
+     * 跳转链接
+     */
+    private String originUrl;
+
+    /**
+     * 权重 1～10000，按权重占比分配访客
+     */
+    private Integer weight;
+}
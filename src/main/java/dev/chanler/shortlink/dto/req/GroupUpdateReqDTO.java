@@ -18,4 +18,14 @@ public class GroupUpdateReqDTO {
      * 分组名
      */
     private String name;
+
+    /**
+     * 组内新建短链接默认跳转状态码 301/302/307/308，不传保持不变
+     */
+    private Integer redirectType;
+
+    /**
+     * 组内新建短链接默认边缘缓存标识 0：不可缓存 1：可缓存，不传保持不变
+     */
+    private Integer edgeCacheable;
 }
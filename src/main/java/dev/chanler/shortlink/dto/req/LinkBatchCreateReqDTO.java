@@ -1,6 +1,8 @@
 package dev.chanler.shortlink.dto.req;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import dev.chanler.shortlink.dto.biz.RedirectRuleDTO;
+import dev.chanler.shortlink.dto.biz.RedirectVariantDTO;
 import lombok.Data;
 
 import java.util.Date;
@@ -43,4 +45,24 @@ public class LinkBatchCreateReqDTO {
      */
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
     private Date validDate;
+
+    /**
+     * 跳转状态码 301/302/307/308，不传时取分组默认值，分组未设置时 302
+     */
+    private Integer redirectType;
+
+    /**
+     * 边缘缓存标识 0：不可缓存 1：可缓存，不传时取分组默认值，分组未设置时 0
+     */
+    private Integer edgeCacheable;
+
+    /**
+     * 条件跳转规则，应用于本批全部短链接，按顺序匹配，均未命中时跳转原始链接
+     */
+    private List<RedirectRuleDTO> redirectRules;
+
+    /**
+     * 加权分流目标，应用于本批全部短链接
+     */
+    private List<RedirectVariantDTO> redirectVariants;
 }
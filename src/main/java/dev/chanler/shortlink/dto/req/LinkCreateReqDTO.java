@@ -2,9 +2,12 @@ package dev.chanler.shortlink.dto.req;
 
 import com.baomidou.mybatisplus.annotation.TableField;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import dev.chanler.shortlink.dto.biz.RedirectRuleDTO;
+import dev.chanler.shortlink.dto.biz.RedirectVariantDTO;
 import lombok.Data;
 
 import java.util.Date;
+import java.util.List;
 
 /**
  * 短链接创建请求参数
@@ -49,4 +52,24 @@ public class LinkCreateReqDTO {
      */
     @TableField("`describe`")
     private String describe;
+
+    /**
+     * 跳转状态码 301/302/307/308，不传时取分组默认值，分组未设置时 302
+     */
+    private Integer redirectType;
+
+    /**
+     * 边缘缓存标识 0：不可缓存 1：可缓存（由 CDN / nginx 缓存跳转响应，重复点击不计入统计），不传时取分组默认值，分组未设置时 0
+     */
+    private Integer edgeCacheable;
+
+    /**
+     * 条件跳转规则，按顺序匹配，均未命中时跳转原始链接；设置后跳转响应不再边缘缓存
+     */
+    private List<RedirectRuleDTO> redirectRules;
+
+    /**
+     * 加权分流目标，条件跳转规则均未命中时按权重分配访客（按 uv Cookie 保持粘性），替代原始链接
+     */
+    private List<RedirectVariantDTO> redirectVariants;
 }
@@ -1,9 +1,12 @@
 package dev.chanler.shortlink.dto.req;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import dev.chanler.shortlink.dto.biz.RedirectRuleDTO;
+import dev.chanler.shortlink.dto.biz.RedirectVariantDTO;
 import lombok.Data;
 
 import java.util.Date;
+import java.util.List;
 
 /**
  * 短链接修改请求参数
@@ -47,4 +50,24 @@ public class LinkUpdateReqDTO {
      * 描述
      */
     private String describe;
+
+    /**
+     * 跳转状态码 301/302/307/308，为空时保持不变
+     */
+    private Integer redirectType;
+
+    /**
+     * 边缘缓存标识 0：不可缓存 1：可缓存（由 CDN / nginx 缓存跳转响应，重复点击不计入统计），为空时保持不变
+     */
+    private Integer edgeCacheable;
+
+    /**
+     * 条件跳转规则，为空时保持不变，传空数组清除
+     */
+    private List<RedirectRuleDTO> redirectRules;
+
+    /**
+     * 加权分流目标，为空时保持不变，传空数组清除
+     */
+    private List<RedirectVariantDTO> redirectVariants;
 }
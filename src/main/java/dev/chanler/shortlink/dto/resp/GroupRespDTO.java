@@ -23,6 +23,16 @@ public class GroupRespDTO {
      */
     private Integer sortOrder;
 
+    /**
+     * 组内新建短链接默认跳转状态码
+     */
+    private Integer redirectType;
+
+    /**
+     * 组内新建短链接默认边缘缓存标识
+     */
+    private Integer edgeCacheable;
+
     /**
      * 分组下短链接数量
      */
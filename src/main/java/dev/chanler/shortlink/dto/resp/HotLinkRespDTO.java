@@ -0,0 +1,32 @@
+package dev.chanler.shortlink.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 热点短链接响应参数
+ * @author: Chanler
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotLinkRespDTO {
+
+    /**
+     * 完整短链接
+     */
+    private String fullShortUrl;
+
+    /**
+     * 近期访问次数估计值（Count-Min Sketch，按检测周期衰减）
+     */
+    private Integer estimatedHits;
+
+    /**
+     * 是否已固定在本节点受保护缓存层
+     */
+    private Boolean pinned;
+}
@@ -65,6 +65,26 @@ public class LinkPageRespDTO {
     @TableField("`describe`")
     private String describe;
 
+    /**
+     * 跳转状态码 301/302/307/308
+     */
+    private Integer redirectType;
+
+    /**
+     * 边缘缓存标识 0：不可缓存 1：可缓存
+     */
+    private Integer edgeCacheable;
+
+    /**
+     * 条件跳转规则 JSON 数组，未设置为 null
+     */
+    private String redirectRules;
+
+    /**
+     * 加权分流目标 JSON 数组，未设置为 null
+     */
+    private String redirectVariants;
+
     /**
      * 网站标识
      */
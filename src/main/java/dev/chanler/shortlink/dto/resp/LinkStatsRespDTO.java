@@ -81,4 +81,9 @@ public class LinkStatsRespDTO {
      * 访问网络类型详情
      */
     private List<LinkStatsNetworkRespDTO> networkStats;
+
+    /**
+     * 分流目标访问详情，未设置分流时为空
+     */
+    private List<LinkStatsVariantRespDTO> variantStats;
 }
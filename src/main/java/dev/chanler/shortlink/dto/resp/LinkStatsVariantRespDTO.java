@@ -0,0 +1,32 @@
+package dev.chanler.shortlink.dto.resp;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 短链接分流目标监控响应参数
+ * @author: Chanler
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LinkStatsVariantRespDTO {
+
+    /**
+     * 统计
+     */
+    private Integer cnt;
+
+    /**
+     * 分流目标下标
+     */
+    private Integer variant;
+
+    /**
+     * 占比
+     */
+    private Double ratio;
+}
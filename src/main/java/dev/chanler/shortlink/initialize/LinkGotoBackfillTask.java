@@ -0,0 +1,78 @@
+package dev.chanler.shortlink.initialize;
+
+import dev.chanler.shortlink.common.config.RedirectProperties;
+import dev.chanler.shortlink.dao.entity.LinkDO;
+import dev.chanler.shortlink.dao.mapper.LinkGotoMapper;
+import dev.chanler.shortlink.dao.mapper.LinkMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 回填 t_link_goto 冗余的跳转字段
+ * 跳转表冗余字段上线前创建的短链接 origin_url 为空，回源时仍需按 gid 再查一次 t_link；
+ * 开启 short-link.redirect.goto-backfill.enable 后启动时在后台线程流式扫描 t_link，逐条回填尚未回填的记录，不阻塞就绪
+ * @author: Chanler
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LinkGotoBackfillTask implements ApplicationRunner {
+
+    private final RedirectProperties redirectProperties;
+    private final LinkMapper linkMapper;
+    private final LinkGotoMapper linkGotoMapper;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        RedirectProperties.GotoBackfillProperties props = redirectProperties.getGotoBackfill();
+        if (!props.isEnable()) {
+            return;
+        }
+        Thread thread = new Thread(() -> backfill(props), "link_goto_backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void backfill(RedirectProperties.GotoBackfillProperties props) {
+        long start = System.nanoTime();
+        int batchSize = Math.max(1, props.getBatchSize());
+        long[] counts = new long[2];
+        try {
+            linkMapper.scanForGotoBackfill(context -> {
+                LinkDO linkDO = context.getResultObject();
+                counts[0]++;
+                try {
+                    counts[1] += linkGotoMapper.backfillRedirect(linkDO);
+                } catch (RuntimeException ex) {
+                    log.warn("Link goto backfill error, fullShortUrl={}, cause={}", linkDO.getFullShortUrl(), ex.toString());
+                }
+                if (counts[0] % batchSize == 0) {
+                    pause(props.getBatchPauseMillis());
+                    if (counts[0] % (batchSize * 100L) == 0) {
+                        log.info("跳转表回填进行中，已扫描 {}，已回填 {}", counts[0], counts[1]);
+                    }
+                }
+            });
+            log.info("跳转表回填完成，扫描 {}，回填 {}，耗时 {}ms",
+                    counts[0], counts[1], TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception ex) {
+            log.error("Link goto backfill aborted, scanned={}, backfilled={}", counts[0], counts[1], ex);
+        }
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -4,6 +4,8 @@ import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.chanler.shortlink.common.cache.LocalCacheInvalidationBus;
+import dev.chanler.shortlink.common.enums.LocalCacheTypeEnum;
 import dev.chanler.shortlink.dao.entity.*;
 import dev.chanler.shortlink.dao.mapper.*;
 import dev.chanler.shortlink.dto.biz.LinkStatsRecordDTO;
@@ -27,6 +29,7 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -56,31 +59,38 @@ public class LinkStatsSaver {
     private final LinkAccessLogsMapper linkAccessLogsMapper;
     private final LinkDeviceStatsMapper linkDeviceStatsMapper;
     private final LinkNetworkStatsMapper linkNetworkStatsMapper;
+    private final LinkVariantStatsMapper linkVariantStatsMapper;
     private final LinkFirstVisitMapper linkFirstVisitMapper;
     private final StringRedisTemplate stringRedisTemplate;
+    private final LocalCacheInvalidationBus localCacheInvalidationBus;
 
-    private DefaultRedisScript<Long> hllCountAddDeltaScript;
+    private DefaultRedisScript<List> hllCountAddDeltaScript;
+    private DefaultRedisScript<Long> statsActiveAddScript;
 
-    // 本地 gid 缓存（1万条，10分钟过期），gid 变更是低频操作，缓存不一致通过乐观重试机制修正
+    // 本地 gid 缓存（1万条，6小时过期），gid 变更通过失效总线广播，漏收时由乐观重试机制修正
     private final Cache<String, String> gidCache = Caffeine.newBuilder()
             .maximumSize(10_000)
-            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .expireAfterWrite(6, TimeUnit.HOURS)
             .build();
 
     private static final String HLL_COUNT_ADD_DELTA_LUA = "lua/hll_count_add_delta.lua";
+    private static final String STATS_ACTIVE_ADD_LUA = "lua/stats_active_add.lua";
 
     @PostConstruct
     public void init() {
         hllCountAddDeltaScript = new DefaultRedisScript<>();
         hllCountAddDeltaScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(HLL_COUNT_ADD_DELTA_LUA)));
-        hllCountAddDeltaScript.setResultType(Long.class);
+        hllCountAddDeltaScript.setResultType(List.class);
+        statsActiveAddScript = new DefaultRedisScript<>();
+        statsActiveAddScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(STATS_ACTIVE_ADD_LUA)));
+        statsActiveAddScript.setResultType(Long.class);
+        localCacheInvalidationBus.register(LocalCacheTypeEnum.GID, gidCache::invalidate, gidCache::invalidateAll);
         log.info("LinkStatsSaver initialized");
     }
 
-    // 失效本地 gid 缓存（当 gid 发生变更时由 LinkServiceImpl 调用）
-    public void invalidateGidCache(String fullShortUrl) {
-        gidCache.invalidate(fullShortUrl);
-        log.debug("Invalidated gid cache for: {}", fullShortUrl);
+    // 预热本地 gid 缓存（启动预热时调用）
+    public void warmGidCache(String fullShortUrl, String gid) {
+        gidCache.put(fullShortUrl, gid);
     }
 
     // 同步保存统计数据（事务），messageId 唯一索引冲突抛异常回滚（DB 层幂等）
@@ -112,19 +122,19 @@ public class LinkStatsSaver {
         // TTL 24小时（24 * 3600 = 86400秒）
         int ttlSeconds = 86400;
 
-        // 计算 UV delta
-        Long uvDelta = stringRedisTemplate.execute(hllCountAddDeltaScript,
-            Arrays.asList(uvKey, uvActiveKey),
+        // 计算 UV / UIP delta（两个 HLL 同 slot，一次往返）
+        List<Object> hllResult = stringRedisTemplate.execute(hllCountAddDeltaScript,
+            Arrays.asList(uvKey, uipKey),
             statsRecord.getUv(),
-            fullShortUrl,
-            String.valueOf(ttlSeconds));
-
-        // 计算 UIP delta
-        Long uipDelta = stringRedisTemplate.execute(hllCountAddDeltaScript,
-            Arrays.asList(uipKey, uipActiveKey),
             statsRecord.getUip(),
-            fullShortUrl,
             String.valueOf(ttlSeconds));
+        Long uvDelta = hllResult != null && hllResult.size() > 0 && hllResult.get(0) instanceof Long value ? value : null;
+        Long uipDelta = hllResult != null && hllResult.size() > 1 && hllResult.get(1) instanceof Long value ? value : null;
+        if (hllResult != null && hllResult.size() > 2 && Long.valueOf(1L).equals(hllResult.get(2))) {
+            // 活跃集合为全局 key，不与短链接同 slot，仅在当天首次写入 HLL 时登记（SADD 与 TTL 兜底一次往返、原子完成）
+            stringRedisTemplate.execute(statsActiveAddScript, Arrays.asList(uvActiveKey, uipActiveKey),
+                    fullShortUrl, String.valueOf(ttlSeconds));
+        }
 
         // 查询 IP 地理位置
         GeoInfo geoInfo = ipGeoClient.query(statsRecord.getUip());
@@ -209,7 +219,17 @@ public class LinkStatsSaver {
                 .date(statsDate)
                 .build());
 
-        // 8. 访问统计（PV/UV/UIP）
+        // 8. 分流目标统计
+        if (statsRecord.getVariant() != null) {
+            linkVariantStatsMapper.shortLinkVariantStats(LinkVariantStatsDO.builder()
+                    .variant(statsRecord.getVariant())
+                    .cnt(1)
+                    .fullShortUrl(fullShortUrl)
+                    .date(statsDate)
+                    .build());
+        }
+
+        // 9. 访问统计（PV/UV/UIP）
         linkAccessStatsMapper.shortLinkAccessStats(LinkAccessStatsDO.builder()
                 .pv(1)
                 .uv(uvDeltaInt)
@@ -220,7 +240,7 @@ public class LinkStatsSaver {
                 .date(statsDate)
                 .build());
 
-        // 9. 更新 link 表统计
+        // 10. 更新 link 表统计
         updateLinkAgg(fullShortUrl, uvDeltaInt, uipDeltaInt);
     }
 
@@ -244,7 +264,9 @@ public class LinkStatsSaver {
         rLock.lock();
         try {
             LinkGotoDO linkGotoDO = linkGotoMapper.selectOne(
-                Wrappers.lambdaQuery(LinkGotoDO.class).eq(LinkGotoDO::getFullShortUrl, fullShortUrl));
+                Wrappers.lambdaQuery(LinkGotoDO.class)
+                        .select(LinkGotoDO::getGid)
+                        .eq(LinkGotoDO::getFullShortUrl, fullShortUrl));
             if (linkGotoDO == null) {
                 log.warn("Link not found: {}", fullShortUrl);
                 return;
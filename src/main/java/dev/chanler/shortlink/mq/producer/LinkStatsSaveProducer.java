@@ -1,28 +1,401 @@
 package dev.chanler.shortlink.mq.producer;
 
+import com.alibaba.fastjson2.JSON;
+import dev.chanler.shortlink.common.cache.RedisCircuitBreaker;
+import dev.chanler.shortlink.common.config.StatsProducerProperties;
+import dev.chanler.shortlink.common.enums.StatsOverflowPolicyEnum;
+import dev.chanler.shortlink.dto.biz.LinkStatsRecordDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import static dev.chanler.shortlink.common.constant.RedisKeyConstant.SHORT_LINK_STATS_STREAM_TOPIC_KEY;
 
 /**
  * 短链接监控状态保存消息队列生产者
+ * 跳转线程只做入队，后台线程批量序列化并以 pipeline 多条 XADD 写入 Stream
+ * 队列满时按 {@link StatsOverflowPolicyEnum} 处理，停机时在超时时间内排空队列
+ * Redis 熔断打开期间暂停发送，消息留在本地队列（队列满后按溢出策略处理），熔断恢复后继续发送并回放溢写文件
  * @author: Chanler
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class LinkStatsSaveProducer {
 
     private final StringRedisTemplate stringRedisTemplate;
+    private final StatsProducerProperties statsProducerProperties;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+
+    private static final byte[] STREAM_KEY_BYTES = SHORT_LINK_STATS_STREAM_TOPIC_KEY.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] STATS_RECORD_FIELD_BYTES = "statsRecord".getBytes(StandardCharsets.UTF_8);
+    private static final long SUMMARY_LOG_INTERVAL_MS = 300_000L;
+    private static final int SPILL_BUFFER_BYTES = 64 * 1024;
+
+    private final LongAdder enqueuedCounter = new LongAdder();
+    private final LongAdder flushedCounter = new LongAdder();
+    private final LongAdder droppedCounter = new LongAdder();
+    private final LongAdder spilledCounter = new LongAdder();
+    private final LongAdder failedCounter = new LongAdder();
+    private final Object spillLock = new Object();
+
+    private BlockingQueue<LinkStatsRecordDTO> queue;
+    private Path spillPath;
+    private Path replayPath;
+    // 溢写文件常开的缓冲输出流，由 spillLock 保护；flusher 线程每轮刷盘，回放切换文件前关闭
+    private OutputStream spillOut;
+    private Thread flusher;
+    private volatile boolean running;
+    private long lastSummaryLogTime = System.currentTimeMillis();
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(statsProducerProperties.getCapacity());
+        spillPath = Paths.get(statsProducerProperties.getSpillPath());
+        replayPath = spillPath.resolveSibling(spillPath.getFileName() + ".replay");
+        running = true;
+        flusher = new Thread(this::runFlusher, "stats_producer_flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("统计生产者缓冲队列初始化，容量：{}，批量：{}，溢出策略：{}",
+                statsProducerProperties.getCapacity(), statsProducerProperties.getBatchSize(), statsProducerProperties.getOverflowPolicy());
+    }
 
     /**
-     * 发送延迟消费短链接统计
+     * 发送延迟消费短链接统计（仅入队，不产生网络 IO）
      */
-    public void send(Map<String, String> producerMap) {
-        // 写入消息
-        stringRedisTemplate.opsForStream().add(SHORT_LINK_STATS_STREAM_TOPIC_KEY, producerMap);
+    public void send(LinkStatsRecordDTO statsRecord) {
+        if (!running) {
+            // 已停机：直接同步写入，避免入队后无人消费
+            writeOrSpill(Collections.singletonList(JSON.toJSONBytes(statsRecord)));
+            return;
+        }
+        if (queue.offer(statsRecord)) {
+            enqueuedCounter.increment();
+            return;
+        }
+        StatsOverflowPolicyEnum policy = statsProducerProperties.getOverflowPolicy();
+        if (policy == StatsOverflowPolicyEnum.BLOCK) {
+            try {
+                if (queue.offer(statsRecord, statsProducerProperties.getBlockTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                    enqueuedCounter.increment();
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            droppedCounter.increment();
+        } else if (policy == StatsOverflowPolicyEnum.SPILL) {
+            spill(Collections.singletonList(JSON.toJSONBytes(statsRecord)));
+        } else {
+            droppedCounter.increment();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            flusher.join(statsProducerProperties.getShutdownTimeoutMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int remaining = queue.size();
+        if (remaining > 0) {
+            log.warn("统计生产者停机排空超时，剩余 {} 条", remaining);
+            if (statsProducerProperties.getOverflowPolicy() == StatsOverflowPolicyEnum.SPILL) {
+                List<LinkStatsRecordDTO> rest = new ArrayList<>(remaining);
+                queue.drainTo(rest);
+                List<byte[]> payloads = new ArrayList<>(rest.size());
+                rest.forEach(each -> payloads.add(JSON.toJSONBytes(each)));
+                spill(payloads);
+            }
+        }
+        synchronized (spillLock) {
+            closeSpill();
+        }
+        logSummary();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueuedCounter.sum();
+    }
+
+    public long getFlushedCount() {
+        return flushedCounter.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCounter.sum();
+    }
+
+    public long getSpilledCount() {
+        return spilledCounter.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCounter.sum();
+    }
+
+    private void runFlusher() {
+        int batchSize = Math.max(1, statsProducerProperties.getBatchSize());
+        List<LinkStatsRecordDTO> batch = new ArrayList<>(batchSize);
+        List<byte[]> payloads = new ArrayList<>(batchSize);
+        // 停机后继续排空队列，由 shutdown 的 join 超时兜底
+        while (running || !queue.isEmpty()) {
+            try {
+                flushSpill();
+                if (running && redisCircuitBreaker.isOpen()) {
+                    // 熔断期间不消耗探测名额，等待半开后由下一批消息探测
+                    Thread.sleep(statsProducerProperties.getFlushIntervalMillis());
+                    continue;
+                }
+                LinkStatsRecordDTO first = queue.poll(statsProducerProperties.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpill();
+                    logSummaryIfDue();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                for (LinkStatsRecordDTO each : batch) {
+                    payloads.add(JSON.toJSONBytes(each));
+                }
+                writeOrSpill(payloads);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable t) {
+                log.error("统计生产者批量发送异常", t);
+            } finally {
+                batch.clear();
+                payloads.clear();
+            }
+        }
+    }
+
+    /**
+     * pipeline 批量 XADD
+     * @return 是否全部写入成功
+     */
+    private boolean write(List<byte[]> payloads) {
+        if (!redisCircuitBreaker.allowRequest()) {
+            return false;
+        }
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (byte[] payload : payloads) {
+                    connection.streamCommands().xAdd(StreamRecords
+                            .rawBytes(Collections.singletonMap(STATS_RECORD_FIELD_BYTES, payload))
+                            .withStreamKey(STREAM_KEY_BYTES));
+                }
+                return null;
+            });
+            // 批量写入耗时随批次大小增长，仅以失败计入熔断统计
+            redisCircuitBreaker.onSuccess(0L);
+            flushedCounter.add(payloads.size());
+            return true;
+        } catch (Throwable t) {
+            redisCircuitBreaker.onFailure(t);
+            log.warn("统计消息批量 XADD 失败，条数：{}", payloads.size(), t);
+            return false;
+        }
+    }
+
+    private void writeOrSpill(List<byte[]> payloads) {
+        if (write(payloads)) {
+            return;
+        }
+        if (statsProducerProperties.getOverflowPolicy() == StatsOverflowPolicyEnum.SPILL) {
+            spill(payloads);
+        } else {
+            failedCounter.add(payloads.size());
+        }
+    }
+
+    /**
+     * 追加写入溢写文件，每行一条 JSON
+     * 写入常开的缓冲流，不逐次打开文件与刷盘，由 flusher 线程每轮刷盘；停机后无 flusher 线程，每次写入后直接刷盘
+     */
+    private void spill(List<byte[]> payloads) {
+        synchronized (spillLock) {
+            try {
+                if (spillOut == null) {
+                    Path parent = spillPath.getParent();
+                    if (parent != null) {
+                        Files.createDirectories(parent);
+                    }
+                    spillOut = new BufferedOutputStream(
+                            Files.newOutputStream(spillPath, StandardOpenOption.CREATE, StandardOpenOption.APPEND), SPILL_BUFFER_BYTES);
+                }
+                for (byte[] payload : payloads) {
+                    spillOut.write(payload);
+                    spillOut.write('\n');
+                }
+                if (!running) {
+                    spillOut.flush();
+                }
+                spilledCounter.add(payloads.size());
+            } catch (IOException e) {
+                closeSpill();
+                droppedCounter.add(payloads.size());
+                log.error("统计消息溢写失败，丢弃 {} 条", payloads.size(), e);
+            }
+        }
+    }
+
+    private void flushSpill() {
+        synchronized (spillLock) {
+            if (spillOut == null) {
+                return;
+            }
+            try {
+                spillOut.flush();
+            } catch (IOException e) {
+                log.error("统计溢写文件刷盘失败", e);
+                closeSpill();
+            }
+        }
+    }
+
+    /**
+     * 刷盘并关闭溢写文件，调用方需持有 spillLock
+     */
+    private void closeSpill() {
+        if (spillOut == null) {
+            return;
+        }
+        try {
+            spillOut.close();
+        } catch (IOException e) {
+            log.error("统计溢写文件关闭失败", e);
+        } finally {
+            spillOut = null;
+        }
+    }
+
+    /**
+     * 队列空闲时回放溢写文件
+     * 先将溢写文件改名为回放文件，新溢写继续追加到原路径；回放失败时停止读取，未写入的批次与剩余内容流式拷贝为新的回放文件，
+     * 下次空闲时从失败处继续，避免重复回放已写入的批次，也不把剩余内容读入内存
+     */
+    private void replaySpill() {
+        synchronized (spillLock) {
+            try {
+                if (!Files.exists(replayPath)) {
+                    // 改名前关闭，缓冲内容落盘，后续溢写重新打开原路径
+                    closeSpill();
+                    if (!Files.exists(spillPath) || Files.size(spillPath) == 0) {
+                        return;
+                    }
+                    Files.move(spillPath, replayPath, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                log.error("统计溢写文件切换失败", e);
+                return;
+            }
+        }
+        int batchSize = Math.max(1, statsProducerProperties.getBatchSize());
+        List<byte[]> batch = new ArrayList<>(batchSize);
+        long replayed = 0;
+        boolean failed = false;
+        Path remainingPath = replayPath.resolveSibling(replayPath.getFileName() + ".remaining");
+        try (BufferedReader reader = Files.newBufferedReader(replayPath, StandardCharsets.UTF_8)) {
+            String line;
+            while (!failed && (line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                batch.add(line.getBytes(StandardCharsets.UTF_8));
+                if (batch.size() >= batchSize) {
+                    if (write(batch)) {
+                        replayed += batch.size();
+                        batch.clear();
+                    } else {
+                        failed = true;
+                    }
+                }
+            }
+            if (!failed && !batch.isEmpty()) {
+                if (write(batch)) {
+                    replayed += batch.size();
+                } else {
+                    failed = true;
+                }
+            }
+            if (failed) {
+                try (OutputStream out = Files.newOutputStream(remainingPath)) {
+                    for (byte[] payload : batch) {
+                        out.write(payload);
+                        out.write('\n');
+                    }
+                    try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+                        reader.transferTo(writer);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("统计溢写文件回放失败", e);
+            return;
+        }
+        try {
+            if (failed) {
+                Files.move(remainingPath, replayPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                Files.delete(replayPath);
+            }
+        } catch (IOException e) {
+            log.error("统计溢写文件回放进度保存失败", e);
+            return;
+        }
+        if (failed) {
+            log.warn("统计溢写文件回放中断，已写入 {} 条，剩余记录保留在回放文件中", replayed);
+        } else if (replayed > 0) {
+            log.info("统计溢写文件回放完成，写入 {} 条", replayed);
+        }
+    }
+
+    private void logSummaryIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - lastSummaryLogTime < SUMMARY_LOG_INTERVAL_MS) {
+            return;
+        }
+        lastSummaryLogTime = now;
+        logSummary();
+    }
+
+    private void logSummary() {
+        log.info("统计生产者：队列深度={}，入队={}，写入={}，丢弃={}，溢写={}，失败={}",
+                queue.size(), enqueuedCounter.sum(), flushedCounter.sum(),
+                droppedCounter.sum(), spilledCounter.sum(), failedCounter.sum());
     }
 }
@@ -2,6 +2,7 @@ package dev.chanler.shortlink.service;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
+import dev.chanler.shortlink.common.cache.RedirectEntry;
 import dev.chanler.shortlink.dao.entity.LinkDO;
 import dev.chanler.shortlink.dto.biz.LinkStatsRecordDTO;
 import dev.chanler.shortlink.dto.req.LinkBatchCreateReqDTO;
@@ -9,6 +10,7 @@ import dev.chanler.shortlink.dto.req.LinkCreateReqDTO;
 import dev.chanler.shortlink.dto.req.LinkPageReqDTO;
 import dev.chanler.shortlink.dto.req.LinkUpdateReqDTO;
 import dev.chanler.shortlink.dto.resp.GroupLinkCountQueryRespDTO;
+import dev.chanler.shortlink.dto.resp.HotLinkRespDTO;
 import dev.chanler.shortlink.dto.resp.LinkBatchCreateRespDTO;
 import dev.chanler.shortlink.dto.resp.LinkCreateRespDTO;
 import dev.chanler.shortlink.dto.resp.LinkPageRespDTO;
@@ -16,6 +18,7 @@ import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 短链接接口层
@@ -58,6 +61,42 @@ public interface LinkService extends IService<LinkDO> {
      */
     void restoreUrl(String shortUri, ServletRequest request, ServletResponse response);
 
+    /**
+     * 解析短链接跳转条目（与容器无关，依次查询本地缓存、Redis、单飞回源）
+     * 本地或 Redis 命中时返回已完成的 Future；回源失败且本地仍无结果时以异常结束
+     * @param shortUri 短链接后缀
+     * @param fullShortUrl 完整短链接
+     * @return 跳转条目，短链接不存在或已失效时为 null
+     */
+    CompletableFuture<RedirectEntry> resolveRedirect(String shortUri, String fullShortUrl);
+
+    /**
+     * 选择本次访问的跳转目标：条件跳转规则按 UA、IP 与时间匹配，未命中时按 uv 分流
+     * @param entry 跳转条目
+     * @param userAgent User-Agent 请求头
+     * @param uip 访问 IP
+     * @param uv 访客标识
+     * @return 跳转目标编码，通过 {@link RedirectEntry#locationOf} 取 Location、{@link RedirectEntry#variantOf} 取分流目标下标
+     */
+    int redirectTarget(RedirectEntry entry, String userAgent, String uip, String uv);
+
+    /**
+     * 跳转响应的 Cache-Control 值
+     * @param entry 跳转条目
+     * @return 可边缘缓存的短链接为 public，其余为 private, no-store
+     */
+    String redirectCacheControl(RedirectEntry entry);
+
+    /**
+     * 记录一次成功跳转（热点检测与统计入队）
+     * @param fullShortUrl 完整短链接
+     * @param uv 访客标识
+     * @param uip 访客 IP
+     * @param userAgent 原始 User-Agent
+     * @param variant 分流目标下标，未分流为 -1
+     */
+    void recordRedirect(String fullShortUrl, String uv, String uip, String userAgent, int variant);
+
     /**
      * 批量创建短链接
      * @param linkBatchCreateReqDTO 短链接批量创建请求参数
@@ -65,6 +104,12 @@ public interface LinkService extends IService<LinkDO> {
      */
     LinkBatchCreateRespDTO batchCreateLink(LinkBatchCreateReqDTO linkBatchCreateReqDTO);
 
+    /**
+     * 查询本节点当前热点短链接
+     * @return 热点短链接列表（按近期访问估计值降序）
+     */
+    List<HotLinkRespDTO> listHotLinks();
+
     /**
      * 短链接统计
      * @param linkStatsRecordDTO 短链接统计实体参数
@@ -7,8 +7,10 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import dev.chanler.shortlink.common.biz.user.GroupOwnershipVerifier;
 import dev.chanler.shortlink.common.biz.user.UserContext;
 import dev.chanler.shortlink.common.convention.exception.ClientException;
+import dev.chanler.shortlink.common.enums.RedirectTypeEnum;
 import dev.chanler.shortlink.dao.entity.GroupDO;
 import dev.chanler.shortlink.dao.mapper.GroupMapper;
 import dev.chanler.shortlink.dto.req.GroupSortReqDTO;
@@ -45,6 +47,7 @@ public class GroupServiceImpl extends ServiceImpl<GroupMapper, GroupDO> implemen
     private final LinkService linkService;
     private final RedissonClient redissonClient;
     private final StringRedisTemplate stringRedisTemplate;
+    private final GroupOwnershipVerifier groupOwnershipVerifier;
 
     @Value("${short-link.group.max-num}")
     private Integer groupMaxNum;
@@ -108,8 +111,15 @@ public class GroupServiceImpl extends ServiceImpl<GroupMapper, GroupDO> implemen
                 .eq(GroupDO::getDelFlag, 0)
                 .eq(GroupDO::getUsername, UserContext.getUsername())
                 .eq(GroupDO::getGid, groupUpdateReqDTO.getGid());
+        if (groupUpdateReqDTO.getRedirectType() != null && !RedirectTypeEnum.isValid(groupUpdateReqDTO.getRedirectType())) {
+            throw new ClientException("跳转状态码仅支持 301/302/307/308");
+        }
         GroupDO groupDO = new GroupDO();
         groupDO.setName(groupUpdateReqDTO.getName());
+        groupDO.setRedirectType(groupUpdateReqDTO.getRedirectType());
+        if (groupUpdateReqDTO.getEdgeCacheable() != null) {
+            groupDO.setEdgeCacheable(Objects.equals(groupUpdateReqDTO.getEdgeCacheable(), 1) ? 1 : 0);
+        }
         baseMapper.update(groupDO, updateWrapper);
     }
 
@@ -128,6 +138,7 @@ public class GroupServiceImpl extends ServiceImpl<GroupMapper, GroupDO> implemen
         } catch (Throwable t) {
             log.error("Maintain user_gids on delete error, username={}, gid={}", UserContext.getUsername(), gid, t);
         }
+        groupOwnershipVerifier.invalidate(UserContext.getUsername(), gid);
     }
 
     @Override
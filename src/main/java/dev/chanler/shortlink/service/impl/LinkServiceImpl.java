@@ -5,9 +5,7 @@ import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.date.DateUtil;
 import cn.hutool.core.lang.UUID;
 import cn.hutool.core.text.StrBuilder;
-import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.StrUtil;
-import com.alibaba.fastjson2.JSON;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
@@ -15,27 +13,55 @@ import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import dev.chanler.shortlink.common.biz.user.GroupOwnershipVerifier;
 import dev.chanler.shortlink.common.biz.user.UserContext;
+import dev.chanler.shortlink.common.cache.EdgeCachePurger;
+import dev.chanler.shortlink.common.cache.HotLinkDetector;
+import dev.chanler.shortlink.common.cache.LocalCacheInvalidationBus;
+import dev.chanler.shortlink.common.cache.OffHeapRedirectStore;
+import dev.chanler.shortlink.common.cache.RedisCircuitBreaker;
+import dev.chanler.shortlink.common.cache.RedisReplicaReader;
+import dev.chanler.shortlink.common.cache.RedirectEntry;
+import dev.chanler.shortlink.common.cache.RedirectLoadLease;
+import dev.chanler.shortlink.common.cache.RedirectLocalCache;
+import dev.chanler.shortlink.common.cache.RedirectRefresher;
+import dev.chanler.shortlink.common.cache.RedirectRules;
+import dev.chanler.shortlink.common.cache.RedirectVariants;
 import dev.chanler.shortlink.common.config.GotoDomainWhiteListConfiguration;
+import dev.chanler.shortlink.common.config.RedirectProperties;
 import dev.chanler.shortlink.common.convention.exception.ClientException;
 import dev.chanler.shortlink.common.convention.exception.ServiceException;
+import dev.chanler.shortlink.common.enums.LocalCacheTypeEnum;
+import dev.chanler.shortlink.common.enums.RedirectTierEnum;
+import dev.chanler.shortlink.common.enums.RedirectTypeEnum;
 import dev.chanler.shortlink.common.enums.ValidDateTypeEnum;
+import dev.chanler.shortlink.common.metrics.RedirectMetrics;
+import dev.chanler.shortlink.common.web.StaticPageResponses;
+import dev.chanler.shortlink.dao.entity.GroupDO;
 import dev.chanler.shortlink.dao.entity.LinkDO;
 import dev.chanler.shortlink.dao.entity.LinkGotoDO;
+import dev.chanler.shortlink.dao.mapper.GroupMapper;
 import dev.chanler.shortlink.dao.mapper.LinkAccessStatsMapper;
 import dev.chanler.shortlink.dao.mapper.LinkGotoMapper;
 import dev.chanler.shortlink.dao.mapper.LinkMapper;
 import dev.chanler.shortlink.dto.biz.LinkStatsRecordDTO;
+import dev.chanler.shortlink.dto.biz.RedirectRuleDTO;
+import dev.chanler.shortlink.dto.biz.RedirectVariantDTO;
 import dev.chanler.shortlink.dto.req.LinkBatchCreateReqDTO;
 import dev.chanler.shortlink.dto.req.LinkCreateReqDTO;
 import dev.chanler.shortlink.dto.req.LinkPageReqDTO;
 import dev.chanler.shortlink.dto.req.LinkUpdateReqDTO;
 import dev.chanler.shortlink.dto.resp.*;
-import dev.chanler.shortlink.mq.consumer.LinkStatsSaver;
 import dev.chanler.shortlink.mq.producer.LinkStatsSaveProducer;
 import dev.chanler.shortlink.service.LinkService;
 import dev.chanler.shortlink.toolkit.LinkUtil;
 import dev.chanler.shortlink.toolkit.ShortCodeUtil;
+import dev.chanler.shortlink.toolkit.ipgeo.IpGeoClient;
+import dev.chanler.shortlink.toolkit.ipgeo.LocalClient;
+import dev.chanler.shortlink.toolkit.useragent.UserAgentClassifier;
+import dev.chanler.shortlink.toolkit.useragent.UserAgentInfo;
 import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.Cookie;
@@ -44,28 +70,42 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Cache;
 import org.redisson.api.RBloomFilter;
 import org.redisson.api.RLock;
 import org.redisson.api.RReadWriteLock;
 import org.redisson.api.RedissonClient;
 
-import java.util.concurrent.locks.ReentrantLock;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.scripting.support.ResourceScriptSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import static dev.chanler.shortlink.common.constant.LinkConstant.REDIRECT_CACHE_CONTROL_NO_STORE;
 import static dev.chanler.shortlink.common.constant.LinkConstant.UV_COOKIE_MAX_AGE_SECONDS;
 import static dev.chanler.shortlink.common.constant.RedisKeyConstant.*;
 import static dev.chanler.shortlink.common.constant.UserConstant.PUBLIC_GID;
@@ -82,30 +122,57 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
 
     private final RBloomFilter<String> shortUriCreateCachePenetrationBloomFilter;
     private final LinkGotoMapper linkGotoMapper;
+    private final GroupMapper groupMapper;
     private final StringRedisTemplate stringRedisTemplate;
     private final RedissonClient redissonClient;
     private final LinkAccessStatsMapper linkAccessStatsMapper;
     private final GotoDomainWhiteListConfiguration gotoDomainWhiteListConfiguration;
     private final LinkStatsSaveProducer linkStatsSaveProducer;
-    private final LinkStatsSaver linkStatsSaver;
+    private final LocalCacheInvalidationBus localCacheInvalidationBus;
     private final GroupOwnershipVerifier groupOwnershipService;
     private final LinkUtil linkUtil;
-    // 本地每键互斥锁缓存（避免跳转路径使用分布式锁）
-    private final Cache<String, ReentrantLock> redirectLockCache;
-    // 短链接跳转目标 URL 本地缓存（减少 Redis 网络往返）
-    private final Cache<String, String> redirectCache;
+    // 跳转未命中单飞加载器（同一短链接并发未命中共享一次回源）
+    private final AsyncCache<String, RedirectEntry> redirectLoader;
+    private final RedirectProperties redirectProperties;
+    private final HotLinkDetector hotLinkDetector;
+    // 短链接跳转条目本地缓存（减少 Redis 网络往返）
+    private final RedirectLocalCache redirectLocalCache;
+    // 短链接跳转本地负缓存（不存在/已失效的短链接直接 404）
+    private final Cache<String, Boolean> redirectNegativeCache;
+    private final EdgeCachePurger edgeCachePurger;
+    private final OffHeapRedirectStore offHeapRedirectStore;
+    private final RedirectMetrics redirectMetrics;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final RedirectRefresher redirectRefresher;
+    // 跨节点回源租约（集群内同一短链接只有一个节点查询 DB）
+    private final RedirectLoadLease redirectLoadLease;
+    private final RedisReplicaReader redisReplicaReader;
+    private final StaticPageResponses staticPageResponses;
+    private final IpGeoClient ipGeoClient;
 
-    private DefaultRedisScript<List> hllBatchScript;
-    private static final String HLL_PFCOUNT_BATCH_LUA = "lua/hll_pfcount_batch.lua";
+    private DefaultRedisScript<List> redirectLookupScript;
+    // Redis 熔断期间直连 DB 的并发许可
+    private Semaphore degradedDbPermits;
+    // 条件跳转的地域条件只使用本地 ip2region 查询，不在跳转路径上发起网络请求
+    private IpGeoClient redirectGeoClient;
+    private static final String REDIRECT_LOOKUP_LUA = "lua/redirect_lookup.lua";
 
     @Value("${short-link.domain.default}")
     private String createLinkDefaultDomain;
 
     @PostConstruct
     public void init() {
-        hllBatchScript = new DefaultRedisScript<>();
-        hllBatchScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(HLL_PFCOUNT_BATCH_LUA)));
-        hllBatchScript.setResultType(List.class);
+        redirectLookupScript = new DefaultRedisScript<>();
+        redirectLookupScript.setScriptSource(new ResourceScriptSource(new ClassPathResource(REDIRECT_LOOKUP_LUA)));
+        redirectLookupScript.setResultType(List.class);
+        degradedDbPermits = new Semaphore(redirectProperties.getCircuitBreaker().getDegradedDbPermits());
+        redirectGeoClient = ipGeoClient instanceof LocalClient ? ipGeoClient : null;
+        redirectRefresher.register(this::reloadRedirectEntry);
+        // 失效后一段时间内跳转查询只读主节点，避免复制延迟中的副本旧值被重新回填；先于本地缓存失效登记
+        localCacheInvalidationBus.register(LocalCacheTypeEnum.REDIRECT, redisReplicaReader::pinToPrimary, redisReplicaReader::pinAllToPrimary);
+        localCacheInvalidationBus.register(LocalCacheTypeEnum.NEGATIVE, redisReplicaReader::pinToPrimary, redisReplicaReader::pinAllToPrimary);
+        localCacheInvalidationBus.register(LocalCacheTypeEnum.REDIRECT, redirectLocalCache::invalidate, redirectLocalCache::invalidateAll);
+        localCacheInvalidationBus.register(LocalCacheTypeEnum.NEGATIVE, redirectNegativeCache::invalidate, redirectNegativeCache::invalidateAll);
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -120,6 +187,8 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
             groupOwnershipService.assertOwnedByCurrentUser(linkCreateReqDTO.getGid());
         }
         verificationWhitelist(linkCreateReqDTO.getOriginUrl());
+        String redirectRules = resolveRedirectRules(linkCreateReqDTO.getRedirectRules());
+        String redirectVariants = resolveRedirectVariants(linkCreateReqDTO.getRedirectVariants());
         
         // 设置默认值
         if (linkCreateReqDTO.getCreatedType() == null) {
@@ -128,6 +197,23 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
         if (linkCreateReqDTO.getValidDateType() == null) {
             linkCreateReqDTO.setValidDateType(ValidDateTypeEnum.CUSTOM.getType());
         }
+        // 跳转策略未传时继承分组默认值
+        if (linkCreateReqDTO.getRedirectType() == null || linkCreateReqDTO.getEdgeCacheable() == null) {
+            GroupDO groupDO = groupMapper.selectOne(Wrappers.lambdaQuery(GroupDO.class)
+                    .eq(GroupDO::getUsername, currentUsername)
+                    .eq(GroupDO::getGid, linkCreateReqDTO.getGid())
+                    .eq(GroupDO::getDelFlag, 0));
+            if (groupDO != null) {
+                if (linkCreateReqDTO.getRedirectType() == null) {
+                    linkCreateReqDTO.setRedirectType(groupDO.getRedirectType());
+                }
+                if (linkCreateReqDTO.getEdgeCacheable() == null) {
+                    linkCreateReqDTO.setEdgeCacheable(groupDO.getEdgeCacheable());
+                }
+            }
+        }
+        linkCreateReqDTO.setRedirectType(resolveRedirectType(linkCreateReqDTO.getRedirectType(), RedirectTypeEnum.FOUND.getStatus()));
+        linkCreateReqDTO.setEdgeCacheable(Objects.equals(linkCreateReqDTO.getEdgeCacheable(), 1) ? 1 : 0);
         
         // 处理有效期逻辑，限制最大3天
         Date now = new Date();
@@ -159,6 +245,10 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
                 .validDateType(linkCreateReqDTO.getValidDateType())
                 .validDate(linkCreateReqDTO.getValidDate())
                 .describe(linkCreateReqDTO.getDescribe())
+                .redirectType(linkCreateReqDTO.getRedirectType())
+                .edgeCacheable(linkCreateReqDTO.getEdgeCacheable())
+                .redirectRules(redirectRules)
+                .redirectVariants(redirectVariants)
                 .shortUri(shortCode)
                 .enableStatus(0)
                 .totalPv(0)
@@ -171,6 +261,14 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
         LinkGotoDO linkGotoDO = LinkGotoDO.builder()
                 .fullShortUrl(fullShortUrl)
                 .gid(linkCreateReqDTO.getGid())
+                .originUrl(linkCreateReqDTO.getOriginUrl())
+                .validDate(linkCreateReqDTO.getValidDate())
+                .enableStatus(0)
+                .delFlag(0)
+                .redirectType(linkCreateReqDTO.getRedirectType())
+                .edgeCacheable(linkCreateReqDTO.getEdgeCacheable())
+                .redirectRules(redirectRules)
+                .redirectVariants(redirectVariants)
                 .build();
         try {
             baseMapper.insert(shortLinkDO);
@@ -183,17 +281,16 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
             throw new ServiceException(String.format("短链接：%s 生成重复", fullShortUrl));
         }
         // 缓存预热
-        stringRedisTemplate.opsForValue().set(
-                String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
-                linkCreateReqDTO.getOriginUrl(),
-                LinkUtil.getLinkCacheValidTime(linkCreateReqDTO.getValidDate()), TimeUnit.MILLISECONDS
-        );
+        cacheGotoInRedis(fullShortUrl, linkCreateReqDTO.getOriginUrl(), linkCreateReqDTO.getValidDate(),
+                linkCreateReqDTO.getRedirectType(), linkCreateReqDTO.getEdgeCacheable() == 1, redirectRules, redirectVariants);
+        shortUriCreateCachePenetrationBloomFilter.add(fullShortUrl);
         try {
-            stringRedisTemplate.delete(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl));
+            // 提交前未命中的请求可能回填空值缓存，提交后再删除一次
+            localCacheInvalidationBus.publish(LocalCacheTypeEnum.NEGATIVE, fullShortUrl,
+                    List.of(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl)));
         } catch (Throwable t) {
             log.warn("Clear negative cache on create error, fullShortUrl={}", fullShortUrl, t);
         }
-        shortUriCreateCachePenetrationBloomFilter.add(fullShortUrl);
         return LinkCreateRespDTO.builder()
                 .fullShortUrl("http://" + shortLinkDO.getFullShortUrl())
                 .originUrl(linkCreateReqDTO.getOriginUrl())
@@ -217,13 +314,27 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
         if (hasLinkDO == null) {
             throw new ClientException("短链接记录不存在");
         }
+        // 跳转策略未传时保持不变
+        Integer redirectType = resolveRedirectType(linkUpdateReqDTO.getRedirectType(),
+                hasLinkDO.getRedirectType() == null ? RedirectTypeEnum.FOUND.getStatus() : hasLinkDO.getRedirectType());
+        Integer edgeCacheable = linkUpdateReqDTO.getEdgeCacheable() == null
+                ? (Objects.equals(hasLinkDO.getEdgeCacheable(), 1) ? 1 : 0)
+                : (Objects.equals(linkUpdateReqDTO.getEdgeCacheable(), 1) ? 1 : 0);
+        String redirectRules = linkUpdateReqDTO.getRedirectRules() == null
+                ? hasLinkDO.getRedirectRules()
+                : resolveRedirectRules(linkUpdateReqDTO.getRedirectRules());
+        String redirectVariants = linkUpdateReqDTO.getRedirectVariants() == null
+                ? hasLinkDO.getRedirectVariants()
+                : resolveRedirectVariants(linkUpdateReqDTO.getRedirectVariants());
         if (Objects.equals(hasLinkDO.getGid(), linkUpdateReqDTO.getGid())) {
             LambdaUpdateWrapper<LinkDO> updateWrapper = Wrappers.lambdaUpdate(LinkDO.class)
                     .eq(LinkDO::getFullShortUrl, linkUpdateReqDTO.getFullShortUrl())
                     .eq(LinkDO::getGid, linkUpdateReqDTO.getGid())
                     .eq(LinkDO::getDelFlag, 0)
                     .eq(LinkDO::getEnableStatus, 0)
-                    .set(Objects.equals(linkUpdateReqDTO.getValidDateType(), ValidDateTypeEnum.PERMANENT.getType()), LinkDO::getValidDate, null);
+                    .set(Objects.equals(linkUpdateReqDTO.getValidDateType(), ValidDateTypeEnum.PERMANENT.getType()), LinkDO::getValidDate, null)
+                    .set(redirectRules == null, LinkDO::getRedirectRules, null)
+                    .set(redirectVariants == null, LinkDO::getRedirectVariants, null);
             LinkDO linkDO = LinkDO.builder()
                     .domain(hasLinkDO.getDomain())
                     .shortUri(hasLinkDO.getShortUri())
@@ -234,8 +345,27 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
                     .describe(linkUpdateReqDTO.getDescribe())
                     .validDateType(linkUpdateReqDTO.getValidDateType())
                     .validDate(linkUpdateReqDTO.getValidDate())
+                    .redirectType(redirectType)
+                    .edgeCacheable(edgeCacheable)
+                    .redirectRules(redirectRules)
+                    .redirectVariants(redirectVariants)
                     .build();
             baseMapper.update(linkDO, updateWrapper);
+            // 同步跳转表冗余字段
+            boolean permanent = Objects.equals(linkUpdateReqDTO.getValidDateType(), ValidDateTypeEnum.PERMANENT.getType());
+            LambdaUpdateWrapper<LinkGotoDO> linkGotoUpdateWrapper = Wrappers.lambdaUpdate(LinkGotoDO.class)
+                    .eq(LinkGotoDO::getFullShortUrl, linkUpdateReqDTO.getFullShortUrl())
+                    .eq(LinkGotoDO::getGid, linkUpdateReqDTO.getGid())
+                    .set(LinkGotoDO::getOriginUrl, linkUpdateReqDTO.getOriginUrl())
+                    .set(LinkGotoDO::getValidDate, permanent ? null
+                            : (linkUpdateReqDTO.getValidDate() == null ? hasLinkDO.getValidDate() : linkUpdateReqDTO.getValidDate()))
+                    .set(LinkGotoDO::getEnableStatus, 0)
+                    .set(LinkGotoDO::getDelFlag, 0)
+                    .set(LinkGotoDO::getRedirectType, redirectType)
+                    .set(LinkGotoDO::getEdgeCacheable, edgeCacheable)
+                    .set(LinkGotoDO::getRedirectRules, redirectRules)
+                    .set(LinkGotoDO::getRedirectVariants, redirectVariants);
+            linkGotoMapper.update(null, linkGotoUpdateWrapper);
         } else {
             RReadWriteLock readWriteLock = redissonClient.getReadWriteLock(String.format(LOCK_GID_UPDATE_KEY, linkUpdateReqDTO.getFullShortUrl()));
             RLock rLock = readWriteLock.writeLock();
@@ -260,6 +390,10 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
                         .validDateType(linkUpdateReqDTO.getValidDateType())
                         .validDate(linkUpdateReqDTO.getValidDate())
                         .describe(linkUpdateReqDTO.getDescribe())
+                        .redirectType(redirectType)
+                        .edgeCacheable(edgeCacheable)
+                        .redirectRules(redirectRules)
+                        .redirectVariants(redirectVariants)
                         .shortUri(hasLinkDO.getShortUri())
                         .enableStatus(hasLinkDO.getEnableStatus())
                         .totalPv(hasLinkDO.getTotalPv())
@@ -276,25 +410,42 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
                 LinkGotoDO linkGotoDO = linkGotoMapper.selectOne(linkGotoQueryWrapper);
                 linkGotoMapper.delete(linkGotoQueryWrapper);
                 linkGotoDO.setGid(linkUpdateReqDTO.getGid());
+                linkGotoDO.setOriginUrl(linkDO.getOriginUrl());
+                linkGotoDO.setValidDate(linkDO.getValidDate());
+                linkGotoDO.setEnableStatus(linkDO.getEnableStatus());
+                linkGotoDO.setDelFlag(0);
+                linkGotoDO.setRedirectType(redirectType);
+                linkGotoDO.setEdgeCacheable(edgeCacheable);
+                linkGotoDO.setRedirectRules(redirectRules);
+                linkGotoDO.setRedirectVariants(redirectVariants);
+                linkGotoDO.setUpdateTime(null);
                 linkGotoMapper.insert(linkGotoDO);
 
-                // 失效 gid 缓存
-                linkStatsSaver.invalidateGidCache(linkUpdateReqDTO.getFullShortUrl());
+                // 失效各节点 gid 缓存
+                localCacheInvalidationBus.publish(LocalCacheTypeEnum.GID, linkUpdateReqDTO.getFullShortUrl());
             } finally {
                 rLock.unlock();
             }
         }
         if (!Objects.equals(hasLinkDO.getValidDateType(), linkUpdateReqDTO.getValidDateType())
                 || !Objects.equals(hasLinkDO.getValidDate(), linkUpdateReqDTO.getValidDate())
-                || !Objects.equals(hasLinkDO.getOriginUrl(), linkUpdateReqDTO.getOriginUrl())) {
-            // 删除 Redis 缓存
-            stringRedisTemplate.delete(String.format(GOTO_SHORT_LINK_KEY, linkUpdateReqDTO.getFullShortUrl()));
-            // 删除本地 Caffeine 缓存
-            redirectCache.invalidate(linkUpdateReqDTO.getFullShortUrl());
+                || !Objects.equals(hasLinkDO.getOriginUrl(), linkUpdateReqDTO.getOriginUrl())
+                || !Objects.equals(hasLinkDO.getRedirectType(), redirectType)
+                || !Objects.equals(hasLinkDO.getEdgeCacheable(), edgeCacheable)
+                || !Objects.equals(hasLinkDO.getRedirectRules(), redirectRules)
+                || !Objects.equals(hasLinkDO.getRedirectVariants(), redirectVariants)) {
+            // 删除 Redis 缓存与各节点本地 Caffeine 缓存，提交后再删除一次 Redis 缓存
+            localCacheInvalidationBus.publish(LocalCacheTypeEnum.REDIRECT, linkUpdateReqDTO.getFullShortUrl(), List.of(
+                    String.format(GOTO_SHORT_LINK_KEY, linkUpdateReqDTO.getFullShortUrl()),
+                    String.format(GOTO_POLICY_SHORT_LINK_KEY, linkUpdateReqDTO.getFullShortUrl())
+            ));
+            // 清除 CDN / nginx 上缓存的跳转响应
+            edgeCachePurger.purge(linkUpdateReqDTO.getFullShortUrl());
             Date currentDate = new Date();
             if (hasLinkDO.getValidDate() != null && hasLinkDO.getValidDate().before(currentDate)) {
                 if (Objects.equals(linkUpdateReqDTO.getValidDateType(), ValidDateTypeEnum.PERMANENT.getType()) || linkUpdateReqDTO.getValidDate().after(currentDate)) {
-                    stringRedisTemplate.delete(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, linkUpdateReqDTO.getFullShortUrl()));
+                    localCacheInvalidationBus.publish(LocalCacheTypeEnum.NEGATIVE, linkUpdateReqDTO.getFullShortUrl(),
+                            List.of(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, linkUpdateReqDTO.getFullShortUrl())));
                 }
             }
         }
@@ -347,18 +498,15 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
         // 计算 v = epochDay(Asia/Shanghai) % 2
         int v = (int)(LocalDate.now(ZoneId.of("Asia/Shanghai")).toEpochDay() % 2);
         
-        String uvPrefix = String.format(STATS_UV_PREFIX, v);
-        String uipPrefix = String.format(STATS_UIP_PREFIX, v);
-        String fsuList = String.join(",", fullShortUrls);
-        
         try {
-            // 批量获取 UV 数据
-            List<Object> uvResults = stringRedisTemplate.execute(hllBatchScript, 
-                Arrays.asList(uvPrefix), fsuList);
-            
-            // 批量获取 UIP 数据
-            List<Object> uipResults = stringRedisTemplate.execute(hllBatchScript, 
-                Arrays.asList(uipPrefix), fsuList);
+            // pipeline 批量 PFCOUNT：同一短链接的 UV / UIP key 同 slot 且相邻，集群模式下按节点拆分批次
+            List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String fullShortUrl : fullShortUrls) {
+                    connection.hyperLogLogCommands().pfCount(String.format(STATS_UV_HLL_KEY, v, fullShortUrl).getBytes(StandardCharsets.UTF_8));
+                    connection.hyperLogLogCommands().pfCount(String.format(STATS_UIP_HLL_KEY, v, fullShortUrl).getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
             
             // 合并结果
             for (int i = 0; i < fullShortUrls.size(); i++) {
@@ -367,13 +515,10 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
                 int todayUv = 0;
                 int todayUip = 0;
                 
-                if (uvResults != null && i < uvResults.size()) {
-                    Object uvObj = uvResults.get(i);
+                if (results != null && 2 * i + 1 < results.size()) {
+                    Object uvObj = results.get(2 * i);
                     todayUv = uvObj instanceof Number ? ((Number) uvObj).intValue() : 0;
-                }
-                
-                if (uipResults != null && i < uipResults.size()) {
-                    Object uipObj = uipResults.get(i);
+                    Object uipObj = results.get(2 * i + 1);
                     todayUip = uipObj instanceof Number ? ((Number) uipObj).intValue() : 0;
                 }
                 
@@ -420,104 +565,624 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
     @SneakyThrows
     @Override
     public void restoreUrl(String shortUri, ServletRequest request, ServletResponse response) {
-        String serverName = request.getServerName();
-        String serverPort = Optional.of(request.getServerPort())
-                .filter(each -> !Objects.equals(each, 80))
-                .map(String::valueOf)
-                .map(each -> ":" + each)
-                .orElse("");
-        String fullShortUrl = StrBuilder.create(serverName)
-                .append(serverPort)
-                .append("/")
-                .append(shortUri)
-                .toString();
-        // 1. 优先查询本地 Caffeine 缓存
-        String originalLink = redirectCache.getIfPresent(fullShortUrl);
-        if (StrUtil.isNotBlank(originalLink)) {
-            linkStats(buildLinkStatsRecordAndSetUser(fullShortUrl, request, response));
-            ((HttpServletResponse) response).sendRedirect(originalLink);
+        String fullShortUrl = LinkUtil.buildFullShortUrl(request.getServerName(), request.getServerPort(), shortUri);
+        CompletableFuture<RedirectEntry> resolved = resolveRedirect(shortUri, fullShortUrl);
+        if (!resolved.isDone() && redirectProperties.getSingleFlight().isAsyncResponse() && request.isAsyncSupported()) {
+            // 异步响应：释放 Tomcat 工作线程，加载完成后在容器线程上写出响应
+            AsyncContext asyncContext = request.startAsync(request, response);
+            asyncContext.setTimeout(redirectProperties.getSingleFlight().getLoadTimeoutMillis() + 1000L);
+            // 加载完成与容器超时只有先到者写响应
+            AtomicBoolean responded = new AtomicBoolean();
+            asyncContext.addListener(new RedirectAsyncTimeoutListener(fullShortUrl, responded));
+            resolved.whenComplete((loaded, ex) -> {
+                if (!responded.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    asyncContext.start(() -> {
+                        try {
+                            completeRedirect(fullShortUrl, loaded, ex, asyncContext.getRequest(), asyncContext.getResponse());
+                        } catch (Throwable t) {
+                            log.error("Async redirect response error, fullShortUrl={}", fullShortUrl, t);
+                        } finally {
+                            asyncContext.complete();
+                        }
+                    });
+                } catch (IllegalStateException t) {
+                    // 异步上下文已被容器完成或回收
+                    log.warn("Async redirect dispatch error, fullShortUrl={}, cause={}", fullShortUrl, t.toString());
+                }
+            });
             return;
         }
-        // 2. 查询 Redis 缓存
-        originalLink = stringRedisTemplate.opsForValue().get(String.format(GOTO_SHORT_LINK_KEY, fullShortUrl));
-        if (StrUtil.isNotBlank(originalLink)) {
+        RedirectEntry loaded = null;
+        Throwable failure = null;
+        try {
+            loaded = resolved.join();
+        } catch (CompletionException | CancellationException ex) {
+            failure = ex;
+        }
+        completeRedirect(fullShortUrl, loaded, failure, request, response);
+    }
+
+    @Override
+    public CompletableFuture<RedirectEntry> resolveRedirect(String shortUri, String fullShortUrl) {
+        long startNanos = System.nanoTime();
+        // 1. 优先查询本地 Caffeine 缓存（条目按短链接剩余有效期过期）
+        RedirectEntry entry = redirectLocalCache.getIfPresent(fullShortUrl);
+        if (entry == null) {
+            // 热点短链接受保护层（不受本地跳转缓存容量淘汰、槽位覆盖影响）
+            entry = hotLinkDetector.getPinned(fullShortUrl);
+        }
+        if (entry != null) {
+            redirectMetrics.recordResolve(RedirectTierEnum.LOCAL_HIT, startNanos);
+            return CompletableFuture.completedFuture(entry);
+        }
+        // 堆外全量副本（启用时），命中不回填堆内缓存，避免长尾短链接挤占热点
+        entry = offHeapRedirectStore.get(fullShortUrl);
+        if (entry != null) {
+            redirectMetrics.recordResolve(RedirectTierEnum.OFF_HEAP_HIT, startNanos);
+            return CompletableFuture.completedFuture(entry);
+        }
+        // 查询本地负缓存，已判定不存在/已失效的短链接不再产生网络往返
+        if (redirectNegativeCache.getIfPresent(fullShortUrl) != null) {
+            redirectMetrics.recordResolve(RedirectTierEnum.NEGATIVE_HIT, startNanos);
+            return CompletableFuture.completedFuture(null);
+        }
+        // 短码序号高于全局已分配水位的一定不存在，在 Redis 与布隆过滤器之前否定，随机构造的短码不产生网络往返
+        if (!ShortCodeUtil.mightExist(shortUri)) {
+            redirectMetrics.recordResolve(RedirectTierEnum.BLOOM_REJECT, startNanos);
+            return CompletableFuture.completedFuture(null);
+        }
+        String gotoKey = linkKey(GOTO_SHORT_LINK_KEY_PREFIX, fullShortUrl);
+        String gotoIsNullKey = linkKey(GOTO_IS_NULL_SHORT_LINK_KEY_PREFIX, fullShortUrl);
+        String gotoPolicyKey = linkKey(GOTO_POLICY_SHORT_LINK_KEY_PREFIX, fullShortUrl);
+        // 2. 单次往返查询 Redis 跳转目标、空值标记与跳转策略
+        RedisLookupResult lookup = guardedLookupRedis(gotoKey, gotoIsNullKey, gotoPolicyKey);
+        if (lookup.entry() != null) {
             // 回写本地缓存
-            redirectCache.put(fullShortUrl, originalLink);
-            linkStats(buildLinkStatsRecordAndSetUser(fullShortUrl, request, response));
-            ((HttpServletResponse) response).sendRedirect(originalLink);
-            return;
+            cacheRedirectEntry(fullShortUrl, lookup.entry());
+            // XFetch：永久短链接的跳转 key 缓存临近过期时按概率提前后台回源，避免过期瞬间集中回源；
+            // 设置了有效期的短链接 key 到期即失效，回源只会多查一次 DB
+            if (lookup.cacheTtl() && redirectRefresher.shouldRecomputeEarly(lookup.entry().validUntil() - System.currentTimeMillis())) {
+                redirectRefresher.recomputeEarly(fullShortUrl, () -> {
+                    RedirectEntry recomputed = loadRedirectEntryFromDb(fullShortUrl, gotoIsNullKey);
+                    if (recomputed != null) {
+                        cacheRedirectEntry(fullShortUrl, recomputed);
+                    }
+                });
+            }
+            redirectMetrics.recordResolve(RedirectTierEnum.REDIS_HIT, startNanos);
+            return CompletableFuture.completedFuture(lookup.entry());
         }
-        boolean contains = ShortCodeUtil.mightExist(shortUri);
-        if (!contains) {
-            ((HttpServletResponse) response).sendRedirect("/page/notfound");
-            return;
+        if (lookup.negative()) {
+            redirectNegativeCache.put(fullShortUrl, Boolean.TRUE);
+            redirectMetrics.recordResolve(RedirectTierEnum.NEGATIVE_HIT, startNanos);
+            return CompletableFuture.completedFuture(null);
         }
-        contains = shortUriCreateCachePenetrationBloomFilter.contains(fullShortUrl);
-        if (!contains) {
-            ((HttpServletResponse) response).sendRedirect("/page/notfound");
-            return;
+        if (lookup.unavailable()) {
+            // Redis 熔断降级：已访问过的短链接使用超过本地 TTL、但仍在有效期内的条目
+            entry = redirectLocalCache.getStale(fullShortUrl);
+            if (entry != null) {
+                redirectMetrics.recordResolve(RedirectTierEnum.STALE_HIT, startNanos);
+                return CompletableFuture.completedFuture(entry);
+            }
         }
-        String gotoIsNullShortLink = stringRedisTemplate.opsForValue().get(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl));
-        if (StrUtil.isNotBlank(gotoIsNullShortLink)) {
-            ((HttpServletResponse) response).sendRedirect("/page/notfound");
-            return;
+        boolean contains = guardedBloomContains(fullShortUrl);
+        if (!contains) {
+            redirectNegativeCache.put(fullShortUrl, Boolean.TRUE);
+            redirectMetrics.recordResolve(RedirectTierEnum.BLOOM_REJECT, startNanos);
+            return CompletableFuture.completedFuture(null);
         }
-        // 本地每键互斥：使用 Caffeine 管理 ReentrantLock，避免跳转路径使用分布式锁导致尾延迟放大
-        ReentrantLock lock = redirectLockCache.get(fullShortUrl, k -> new ReentrantLock());
-        lock.lock();
+        // 单飞回源：同一短链接的并发未命中共享一次加载，等待期间不占用锁
+        CompletableFuture<RedirectEntry> load;
+        boolean leader = redirectLoader.getIfPresent(fullShortUrl) == null;
+        long waitStartNanos = System.nanoTime();
         try {
-            // 双重检查：先查本地缓存
-            originalLink = redirectCache.getIfPresent(fullShortUrl);
-            if (StrUtil.isNotBlank(originalLink)) {
-                linkStats(buildLinkStatsRecordAndSetUser(fullShortUrl, request, response));
-                ((HttpServletResponse) response).sendRedirect(originalLink);
-                return;
+            load = redirectLoader.get(fullShortUrl, (key, executor) -> CompletableFuture
+                    .supplyAsync(() -> loadRedirectEntry(key, gotoKey, gotoIsNullKey, gotoPolicyKey, executor), executor)
+                    .thenCompose(Function.identity()));
+        } catch (RejectedExecutionException ex) {
+            redirectMetrics.recordResolve(RedirectTierEnum.FAILED, startNanos);
+            return CompletableFuture.<RedirectEntry>failedFuture(ex).handle((loaded, failure) -> fallbackOnLoadFailure(fullShortUrl, failure));
+        }
+        // 加载完成即移除，结果由 redirectLocalCache / redirectNegativeCache 承载
+        load.whenComplete((loaded, ex) -> redirectLoader.asMap().remove(fullShortUrl, load));
+        // 每个等待者独立计时，超时不影响共享的加载
+        return load.copy()
+                .orTimeout(redirectProperties.getSingleFlight().getLoadTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((loaded, ex) -> {
+                    redirectMetrics.recordLoadWait(leader, waitStartNanos);
+                    redirectMetrics.recordResolve(ex != null ? RedirectTierEnum.FAILED
+                            : loaded != null ? RedirectTierEnum.DB_LOAD : RedirectTierEnum.NOT_FOUND, startNanos);
+                })
+                .handle((loaded, ex) -> ex == null ? loaded : fallbackOnLoadFailure(fullShortUrl, ex));
+    }
+
+    /**
+     * 加载超时或失败时再查一次本地缓存（可能已被其他节点广播或并发加载回填），仍未命中则以原因异常结束
+     */
+    private RedirectEntry fallbackOnLoadFailure(String fullShortUrl, Throwable failure) {
+        RedirectEntry entry = redirectLocalCache.getIfPresent(fullShortUrl);
+        if (entry != null) {
+            return entry;
+        }
+        if (redirectNegativeCache.getIfPresent(fullShortUrl) != null) {
+            return null;
+        }
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof TimeoutException || cause instanceof RejectedExecutionException) {
+            log.warn("Redirect load unavailable, fullShortUrl={}, cause={}", fullShortUrl, cause.getClass().getSimpleName());
+        } else {
+            log.error("Redirect load error, fullShortUrl={}", fullShortUrl, cause);
+        }
+        throw cause instanceof CompletionException completionException ? completionException : new CompletionException(cause);
+    }
+
+    /**
+     * 单飞加载跳转条目（运行在回源线程池）
+     * 依次双重检查本地缓存、Redis 与空值缓存，最后回源 DB 并回填各级缓存；等待其他节点的回源租约时不占用回源线程
+     * @return 短链接不存在或已失效时以 null 完成
+     */
+    private CompletableFuture<RedirectEntry> loadRedirectEntry(String fullShortUrl, String gotoKey, String gotoIsNullKey,
+                                                               String gotoPolicyKey, Executor executor) {
+        // 双重检查：先查本地缓存
+        RedirectEntry entry = redirectLocalCache.getIfPresent(fullShortUrl);
+        if (entry != null) {
+            return CompletableFuture.completedFuture(entry);
+        }
+        // 双重检查：再查 Redis（跳转目标、空值标记与跳转策略一次往返）
+        RedisLookupResult lookup = guardedLookupRedis(gotoKey, gotoIsNullKey, gotoPolicyKey);
+        if (lookup.entry() != null) {
+            // 回写本地缓存
+            cacheRedirectEntry(fullShortUrl, lookup.entry());
+            return CompletableFuture.completedFuture(lookup.entry());
+        }
+        if (lookup.negative()) {
+            redirectNegativeCache.put(fullShortUrl, Boolean.TRUE);
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<RedirectEntry> load;
+        if (lookup.unavailable()) {
+            // Redis 熔断降级：限制直连 DB 的并发，超出时由调用方返回 503
+            entry = redirectLocalCache.getStale(fullShortUrl);
+            if (entry != null) {
+                return CompletableFuture.completedFuture(entry);
             }
-            // 双重检查：再查 Redis
-            originalLink = stringRedisTemplate.opsForValue().get(String.format(GOTO_SHORT_LINK_KEY, fullShortUrl));
-            if (StrUtil.isNotBlank(originalLink)) {
-                // 回写本地缓存
-                redirectCache.put(fullShortUrl, originalLink);
-                linkStats(buildLinkStatsRecordAndSetUser(fullShortUrl, request, response));
-                ((HttpServletResponse) response).sendRedirect(originalLink);
-                return;
+            if (!degradedDbPermits.tryAcquire()) {
+                throw new RejectedExecutionException("Degraded redirect DB permits exhausted");
             }
-            gotoIsNullShortLink = stringRedisTemplate.opsForValue().get(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl));
-            if (StrUtil.isNotBlank(gotoIsNullShortLink)) {
-                ((HttpServletResponse) response).sendRedirect("/page/notfound");
-                return;
+            try {
+                load = CompletableFuture.completedFuture(loadRedirectEntryFromDb(fullShortUrl, gotoIsNullKey));
+            } finally {
+                degradedDbPermits.release();
             }
-            LambdaQueryWrapper<LinkGotoDO> linkGotoQueryWrapper = Wrappers.lambdaQuery(LinkGotoDO.class)
-                    .eq(LinkGotoDO::getFullShortUrl, fullShortUrl);
-            LinkGotoDO linkGotoDO = linkGotoMapper.selectOne(linkGotoQueryWrapper);
-            if (linkGotoDO == null) {
-                stringRedisTemplate.opsForValue().set(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl), "-", 30, TimeUnit.MINUTES);
-                ((HttpServletResponse) response).sendRedirect("/page/notfound");
-                return;
+        } else if (redirectLoadLease.isEnabled()) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(redirectProperties.getLoadLease().getWaitMillis());
+            load = loadRedirectEntryWithLease(fullShortUrl, gotoKey, gotoIsNullKey, gotoPolicyKey, deadline, executor);
+        } else {
+            load = CompletableFuture.completedFuture(loadRedirectEntryFromDb(fullShortUrl, gotoIsNullKey));
+        }
+        return load.thenApply(loaded -> {
+            if (loaded != null) {
+                cacheRedirectEntry(fullShortUrl, loaded);
             }
-            LambdaQueryWrapper<LinkDO> queryWrapper = Wrappers.lambdaQuery(LinkDO.class)
-                    .eq(LinkDO::getGid, linkGotoDO.getGid())
-                    .eq(LinkDO::getFullShortUrl, fullShortUrl)
-                    .eq(LinkDO::getDelFlag, 0)
-                    .eq(LinkDO::getEnableStatus, 0);
-            LinkDO linkDO = baseMapper.selectOne(queryWrapper);
-            if (linkDO == null || (linkDO.getValidDate() != null && linkDO.getValidDate().before(new Date()))) {
-                stringRedisTemplate.opsForValue().set(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, fullShortUrl), "-", 30, TimeUnit.MINUTES);
-                ((HttpServletResponse) response).sendRedirect("/page/notfound");
-                return;
+            return loaded;
+        });
+    }
+
+    /**
+     * 跨节点单飞回源：抢到租约的节点回源 DB 并回填 Redis，其余节点按轮询间隔定时查询 Redis 等待结果
+     * 等待期间不占用回源线程，每次轮询到期后才提交到回源线程池执行一次查询；
+     * 租约被释放或过期（持有者回源失败、宕机）时重新抢占；超过等待时间或 Redis 不可用时直接回源
+     */
+    private CompletableFuture<RedirectEntry> loadRedirectEntryWithLease(String fullShortUrl, String gotoKey, String gotoIsNullKey,
+                                                                        String gotoPolicyKey, long deadline, Executor executor) {
+        String token = redirectLoadLease.tryAcquire(fullShortUrl);
+        if (token != null) {
+            try {
+                return CompletableFuture.completedFuture(loadRedirectEntryFromDb(fullShortUrl, gotoIsNullKey));
+            } finally {
+                redirectLoadLease.release(fullShortUrl, token);
+            }
+        }
+        long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0) {
+            redirectLoadLease.recordAwait(false);
+            return CompletableFuture.completedFuture(loadRedirectEntryFromDb(fullShortUrl, gotoIsNullKey));
+        }
+        long delayNanos = Math.min(remainingNanos, TimeUnit.MILLISECONDS.toNanos(redirectProperties.getLoadLease().getPollIntervalMillis()));
+        return scheduleLoad(executor, delayNanos, () -> {
+            RedisLookupResult lookup = guardedLookupRedis(gotoKey, gotoIsNullKey, gotoPolicyKey);
+            if (lookup.entry() != null) {
+                redirectLoadLease.recordAwait(true);
+                return CompletableFuture.completedFuture(lookup.entry());
+            }
+            if (lookup.negative()) {
+                redirectLoadLease.recordAwait(true);
+                redirectNegativeCache.put(fullShortUrl, Boolean.TRUE);
+                return CompletableFuture.completedFuture(null);
+            }
+            if (lookup.unavailable()) {
+                redirectLoadLease.recordAwait(false);
+                return CompletableFuture.completedFuture(loadRedirectEntryFromDb(fullShortUrl, gotoIsNullKey));
+            }
+            return loadRedirectEntryWithLease(fullShortUrl, gotoKey, gotoIsNullKey, gotoPolicyKey, deadline, executor);
+        });
+    }
+
+    /**
+     * 延迟后在回源线程池上执行下一步加载，延迟期间不占用任何回源线程
+     * 回源线程池已满时以 RejectedExecutionException 结束，由调用方降级
+     */
+    private static CompletableFuture<RedirectEntry> scheduleLoad(Executor executor, long delayNanos,
+                                                                 Supplier<CompletableFuture<RedirectEntry>> step) {
+        CompletableFuture<RedirectEntry> result = new CompletableFuture<>();
+        Executor guarded = command -> {
+            try {
+                executor.execute(command);
+            } catch (RejectedExecutionException ex) {
+                result.completeExceptionally(ex);
+            }
+        };
+        CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS, guarded).execute(() -> {
+            try {
+                step.get().whenComplete((loaded, ex) -> {
+                    if (ex != null) {
+                        result.completeExceptionally(ex);
+                    } else {
+                        result.complete(loaded);
+                    }
+                });
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
             }
-            stringRedisTemplate.opsForValue().set(
-                    String.format(GOTO_SHORT_LINK_KEY, fullShortUrl),
-                    linkDO.getOriginUrl(),
-                    LinkUtil.getLinkCacheValidTime(linkDO.getValidDate()), TimeUnit.MILLISECONDS
-            );
-            // 同时写入本地缓存
-            redirectCache.put(fullShortUrl, linkDO.getOriginUrl());
-            linkStats(buildLinkStatsRecordAndSetUser(fullShortUrl, request, response));
-            ((HttpServletResponse) response).sendRedirect(linkDO.getOriginUrl());
+        });
+        return result;
+    }
+
+    /**
+     * 后台刷新本地跳转条目（运行在刷新线程池，由 {@link RedirectRefresher} 调用）
+     * 结果由调用方回填本地缓存，此处只刷新 Redis：Redis 命中直接返回，跳转 key 已过期时回源 DB 并重写 Redis
+     * @return 短链接已不存在或已失效返回 null；Redis 熔断时返回旧条目，继续使用到本地 TTL
+     */
+    private RedirectEntry reloadRedirectEntry(String fullShortUrl, RedirectEntry oldEntry) {
+        RedisLookupResult lookup = guardedLookupRedis(
+                linkKey(GOTO_SHORT_LINK_KEY_PREFIX, fullShortUrl),
+                linkKey(GOTO_IS_NULL_SHORT_LINK_KEY_PREFIX, fullShortUrl),
+                linkKey(GOTO_POLICY_SHORT_LINK_KEY_PREFIX, fullShortUrl));
+        if (lookup.entry() != null) {
+            return lookup.entry();
+        }
+        if (lookup.negative()) {
+            return null;
+        }
+        if (lookup.unavailable()) {
+            return oldEntry;
+        }
+        return loadRedirectEntryFromDb(fullShortUrl, linkKey(GOTO_IS_NULL_SHORT_LINK_KEY_PREFIX, fullShortUrl));
+    }
+
+    /**
+     * 回源 DB 加载跳转条目并回填 Redis（写入受熔断保护），本地缓存由调用方回填
+     */
+    private RedirectEntry loadRedirectEntryFromDb(String fullShortUrl, String gotoIsNullKey) {
+        long startMillis = System.currentTimeMillis();
+        try {
+            return doLoadRedirectEntryFromDb(fullShortUrl, gotoIsNullKey);
         } finally {
-            lock.unlock();
+            redirectRefresher.recordLoadMillis(System.currentTimeMillis() - startMillis);
+        }
+    }
+
+    private RedirectEntry doLoadRedirectEntryFromDb(String fullShortUrl, String gotoIsNullKey) {
+        LambdaQueryWrapper<LinkGotoDO> linkGotoQueryWrapper = Wrappers.lambdaQuery(LinkGotoDO.class)
+                .eq(LinkGotoDO::getFullShortUrl, fullShortUrl);
+        LinkGotoDO linkGotoDO = linkGotoMapper.selectOne(linkGotoQueryWrapper);
+        if (linkGotoDO == null) {
+            guardedRedisWrite(() -> stringRedisTemplate.opsForValue().set(gotoIsNullKey, "-", 30, TimeUnit.MINUTES));
+            redirectNegativeCache.put(fullShortUrl, Boolean.TRUE);
+            return null;
+        }
+        if (linkGotoDO.getOriginUrl() != null) {
+            // 跳转表已冗余跳转字段：单分片一次查询完成回源
+            if (!Objects.equals(linkGotoDO.getEnableStatus(), 0) || !Objects.equals(linkGotoDO.getDelFlag(), 0)
+                    || (linkGotoDO.getValidDate() != null && linkGotoDO.getValidDate().before(new Date()))) {
+                guardedRedisWrite(() -> stringRedisTemplate.opsForValue().set(gotoIsNullKey, "-", 30, TimeUnit.MINUTES));
+                redirectNegativeCache.put(fullShortUrl, Boolean.TRUE);
+                return null;
+            }
+            RedirectEntry entry = RedirectEntry.of(linkGotoDO);
+            guardedRedisWrite(() -> cacheGotoInRedis(fullShortUrl, linkGotoDO.getOriginUrl(), linkGotoDO.getValidDate(), entry.status(), entry.edgeCacheable(),
+                    entry.rules() == null ? null : entry.rules().source(), entry.variants() == null ? null : entry.variants().source()));
+            return entry;
+        }
+        // 存量数据尚未回填：按 gid 查询 t_link
+        LambdaQueryWrapper<LinkDO> queryWrapper = Wrappers.lambdaQuery(LinkDO.class)
+                .eq(LinkDO::getGid, linkGotoDO.getGid())
+                .eq(LinkDO::getFullShortUrl, fullShortUrl)
+                .eq(LinkDO::getDelFlag, 0)
+                .eq(LinkDO::getEnableStatus, 0);
+        LinkDO linkDO = baseMapper.selectOne(queryWrapper);
+        if (linkDO == null || (linkDO.getValidDate() != null && linkDO.getValidDate().before(new Date()))) {
+            guardedRedisWrite(() -> stringRedisTemplate.opsForValue().set(gotoIsNullKey, "-", 30, TimeUnit.MINUTES));
+            redirectNegativeCache.put(fullShortUrl, Boolean.TRUE);
+            return null;
         }
+        RedirectEntry entry = RedirectEntry.of(linkDO);
+        guardedRedisWrite(() -> cacheGotoInRedis(fullShortUrl, linkDO.getOriginUrl(), linkDO.getValidDate(), entry.status(), entry.edgeCacheable(),
+                entry.rules() == null ? null : entry.rules().source(), entry.variants() == null ? null : entry.variants().source()));
+        return entry;
+    }
+
+    /**
+     * 根据解析结果写出响应：命中跳转，不存在直接返回预渲染的 404 页面，加载失败返回 503 并提示重试
+     */
+    @SneakyThrows
+    private void completeRedirect(String fullShortUrl, RedirectEntry loaded, Throwable failure,
+                                  ServletRequest request, ServletResponse response) {
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        if (failure != null) {
+            writeServiceUnavailable(httpResponse);
+            return;
+        }
+        if (loaded != null) {
+            sendRedirect(fullShortUrl, loaded, request, response);
+        } else {
+            staticPageResponses.writeNotFound(httpResponse);
+        }
+    }
+
+    private static void writeServiceUnavailable(HttpServletResponse response) {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", "1");
+    }
+
+    /**
+     * 异步跳转的容器超时处理：加载尚未完成时直接返回 503，不交给容器的默认超时错误页
+     */
+    private record RedirectAsyncTimeoutListener(String fullShortUrl, AtomicBoolean responded) implements AsyncListener {
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            if (!responded.compareAndSet(false, true)) {
+                // 加载结果已在写出，由写出方完成异步上下文
+                return;
+            }
+            log.warn("Async redirect timed out, fullShortUrl={}", fullShortUrl);
+            try {
+                writeServiceUnavailable((HttpServletResponse) event.getAsyncContext().getResponse());
+            } finally {
+                event.getAsyncContext().complete();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            responded.set(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    /**
+     * 单次往返读取 Redis 跳转目标、空值标记、跳转 key 剩余 TTL 及跳转策略（Lua: GET + PTTL + GET / EXISTS）
+     * 设置了有效期的短链接跳转 key 的 TTL 与有效期一致，据此还原本地条目的有效期；启用副本读时经 {@link RedisReplicaReader} 读取副本或对冲
+     */
+    private RedisLookupResult lookupRedis(String gotoKey, String gotoIsNullKey, String gotoPolicyKey) {
+        List<Object> result = redisReplicaReader.isEnabled()
+                ? redisReplicaReader.lookupRedirect(gotoKey, gotoIsNullKey, gotoPolicyKey)
+                : stringRedisTemplate.execute(redirectLookupScript, List.of(gotoKey, gotoIsNullKey, gotoPolicyKey));
+        if (result == null || result.size() < 3) {
+            return RedisLookupResult.MISS;
+        }
+        if (result.get(0) instanceof String originUrl && !originUrl.isEmpty()) {
+            long pttl = result.get(2) instanceof Number number ? number.longValue() : -1L;
+            String policy = result.size() > 3 && result.get(3) instanceof String value ? value : null;
+            return new RedisLookupResult(RedirectEntry.ofRedis(originUrl, pttl, policy), false, false, !RedirectEntry.hasValidDate(policy));
+        }
+        boolean negative = result.get(1) instanceof Number number && number.longValue() == 1L;
+        return negative ? RedisLookupResult.NEGATIVE : RedisLookupResult.MISS;
+    }
+
+    /**
+     * 受熔断保护的 Redis 跳转查询，慢调用与异常计入熔断统计
+     * @return 熔断打开或调用失败时返回 {@link RedisLookupResult#UNAVAILABLE}
+     */
+    private RedisLookupResult guardedLookupRedis(String gotoKey, String gotoIsNullKey, String gotoPolicyKey) {
+        if (!redisCircuitBreaker.allowRequest()) {
+            return RedisLookupResult.UNAVAILABLE;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            RedisLookupResult lookup = lookupRedis(gotoKey, gotoIsNullKey, gotoPolicyKey);
+            redisCircuitBreaker.onSuccess(System.nanoTime() - startNanos);
+            return lookup;
+        } catch (RuntimeException ex) {
+            redisCircuitBreaker.onFailure(ex);
+            log.warn("Redirect redis lookup error, key={}, cause={}", gotoKey, ex.toString());
+            return RedisLookupResult.UNAVAILABLE;
+        }
+    }
+
+    /**
+     * 受熔断保护的布隆过滤器查询，Redis 不可用时按可能存在处理，交由回源判定
+     */
+    private boolean guardedBloomContains(String fullShortUrl) {
+        if (!redisCircuitBreaker.allowRequest()) {
+            return true;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            boolean contains = shortUriCreateCachePenetrationBloomFilter.contains(fullShortUrl);
+            redisCircuitBreaker.onSuccess(System.nanoTime() - startNanos);
+            return contains;
+        } catch (RuntimeException ex) {
+            redisCircuitBreaker.onFailure(ex);
+            log.warn("Redirect bloom filter error, fullShortUrl={}, cause={}", fullShortUrl, ex.toString());
+            return true;
+        }
+    }
+
+    /**
+     * 受熔断保护的 Redis 回填写入，失败仅计入熔断统计，本地缓存照常回填
+     */
+    private void guardedRedisWrite(Runnable write) {
+        if (!redisCircuitBreaker.allowRequest()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            write.run();
+            redisCircuitBreaker.onSuccess(System.nanoTime() - startNanos);
+        } catch (RuntimeException ex) {
+            redisCircuitBreaker.onFailure(ex);
+            log.warn("Redirect redis write error, cause={}", ex.toString());
+        }
+    }
+
+    /**
+     * Redis 跳转查询结果
+     * @param entry 命中时的跳转条目，未命中为 null
+     * @param negative 是否命中空值缓存
+     * @param unavailable Redis 熔断打开或调用失败
+     * @param cacheTtl 跳转 key 的 TTL 是否为永久短链接的缓存时长（可提前回源续期），设置了有效期的短链接为 false
+     */
+    private record RedisLookupResult(RedirectEntry entry, boolean negative, boolean unavailable, boolean cacheTtl) {
+
+        static final RedisLookupResult MISS = new RedisLookupResult(null, false, false, false);
+        static final RedisLookupResult NEGATIVE = new RedisLookupResult(null, true, false, false);
+        static final RedisLookupResult UNAVAILABLE = new RedisLookupResult(null, false, true, false);
+    }
+
+    /**
+     * 回填本地跳转缓存，热点短链接同步刷新受保护层，启用堆外副本时同步写入
+     */
+    private void cacheRedirectEntry(String fullShortUrl, RedirectEntry entry) {
+        redirectLocalCache.put(fullShortUrl, entry);
+        hotLinkDetector.pinIfHot(fullShortUrl, entry);
+        offHeapRedirectStore.put(fullShortUrl, entry);
+    }
+
+    /**
+     * 写入 Redis 跳转 key，非默认跳转策略或设置了有效期时同时写入跳转策略 key（TTL 一致，pipeline 一次往返）
+     * 先写策略 key 再写跳转 key，读到跳转 key 时策略 key 必然已存在
+     */
+    private void cacheGotoInRedis(String fullShortUrl, String originUrl, Date validDate, int status, boolean edgeCacheable,
+                                  String redirectRules, String redirectVariants) {
+        long validTime = LinkUtil.getLinkCacheValidTime(validDate);
+        if (validDate == null && RedirectEntry.isDefaultPolicy(status, edgeCacheable, redirectRules, redirectVariants)) {
+            stringRedisTemplate.opsForValue().set(linkKey(GOTO_SHORT_LINK_KEY_PREFIX, fullShortUrl), originUrl, validTime, TimeUnit.MILLISECONDS);
+            return;
+        }
+        byte[] policyKey = linkKey(GOTO_POLICY_SHORT_LINK_KEY_PREFIX, fullShortUrl).getBytes(StandardCharsets.UTF_8);
+        byte[] policy = RedirectEntry.encodePolicy(status, edgeCacheable, validDate != null, redirectRules, redirectVariants).getBytes(StandardCharsets.UTF_8);
+        byte[] gotoKey = linkKey(GOTO_SHORT_LINK_KEY_PREFIX, fullShortUrl).getBytes(StandardCharsets.UTF_8);
+        byte[] target = originUrl.getBytes(StandardCharsets.UTF_8);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().set(policyKey, policy, Expiration.milliseconds(validTime), RedisStringCommands.SetOption.upsert());
+            connection.stringCommands().set(gotoKey, target, Expiration.milliseconds(validTime), RedisStringCommands.SetOption.upsert());
+            return null;
+        });
+    }
+
+    /**
+     * 校验跳转状态码，未传时取默认值
+     */
+    private Integer resolveRedirectType(Integer redirectType, Integer defaultRedirectType) {
+        if (redirectType == null) {
+            return defaultRedirectType;
+        }
+        if (!RedirectTypeEnum.isValid(redirectType)) {
+            throw new ClientException("跳转状态码仅支持 301/302/307/308");
+        }
+        return redirectType;
+    }
+
+    /**
+     * 校验并编译条件跳转规则，各规则跳转链接同样受跳转域名白名单限制
+     * @return 规范化后的规则 JSON，未设置规则返回 null
+     */
+    private String resolveRedirectRules(List<RedirectRuleDTO> redirectRules) {
+        if (CollUtil.isEmpty(redirectRules)) {
+            return null;
+        }
+        RedirectRules compiled;
+        try {
+            compiled = RedirectRules.compile(redirectRules);
+        } catch (IllegalArgumentException ex) {
+            throw new ClientException(ex.getMessage());
+        }
+        redirectRules.forEach(each -> verificationWhitelist(each.getOriginUrl()));
+        return compiled.source();
+    }
+
+    /**
+     * 校验并编译加权分流目标，各目标跳转链接同样受跳转域名白名单限制
+     * @return 规范化后的分流 JSON，未设置返回 null
+     */
+    private String resolveRedirectVariants(List<RedirectVariantDTO> redirectVariants) {
+        if (CollUtil.isEmpty(redirectVariants)) {
+            return null;
+        }
+        RedirectVariants compiled;
+        try {
+            compiled = RedirectVariants.compile(redirectVariants);
+        } catch (IllegalArgumentException ex) {
+            throw new ClientException(ex.getMessage());
+        }
+        redirectVariants.forEach(each -> verificationWhitelist(each.getOriginUrl()));
+        return compiled.source();
+    }
+
+    /**
+     * 记录统计并按短链接跳转策略写出 301/302/307/308
+     * Location 已在回填缓存时预编码，直接写响应头，跳过 sendRedirect 的相对路径解析与缓冲区重置
+     * 可边缘缓存的短链接附带 public Cache-Control（不超过剩余有效期），重复点击由 CDN / nginx 直接响应，不再计入统计
+     * 带条件跳转规则或分流目标的短链接按本次访问的 UA、IP、时间与 uv 选择跳转目标
+     */
+    private void sendRedirect(String fullShortUrl, RedirectEntry entry, ServletRequest request, ServletResponse response) {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        String cacheControl = redirectCacheControl(entry);
+        // 可缓存的响应不能携带 Set-Cookie，否则会被共享给其他访客（nginx 默认也不缓存带 Set-Cookie 的响应）
+        String uv = resolveUvAndSetCookie(fullShortUrl, httpRequest, httpResponse, REDIRECT_CACHE_CONTROL_NO_STORE.equals(cacheControl));
+        String uip = LinkUtil.getActualIp(httpRequest);
+        String userAgent = httpRequest.getHeader("User-Agent");
+        int target = redirectTarget(entry, userAgent, uip, uv);
+        recordRedirect(fullShortUrl, uv, uip, userAgent, RedirectEntry.variantOf(target));
+        httpResponse.setStatus(entry.status());
+        httpResponse.setHeader("Location", entry.locationOf(target));
+        httpResponse.setHeader("Cache-Control", cacheControl);
+    }
+
+    @Override
+    public int redirectTarget(RedirectEntry entry, String userAgent, String uip, String uv) {
+        return entry.selectTarget(userAgent, uip, uv, redirectGeoClient);
+    }
+
+    @Override
+    public String redirectCacheControl(RedirectEntry entry) {
+        // 条件跳转与分流的响应因访客而异，不允许边缘缓存
+        if (!entry.edgeCacheable() || entry.personalized()) {
+            return REDIRECT_CACHE_CONTROL_NO_STORE;
+        }
+        // 可边缘缓存短链接：max-age / s-maxage 均不超过剩余有效期
+        RedirectProperties.EdgeCacheProperties props = redirectProperties.getEdgeCache();
+        long remainingSeconds = entry.validUntil() == RedirectEntry.PERMANENT
+                ? Long.MAX_VALUE
+                : (entry.validUntil() - System.currentTimeMillis()) / 1000;
+        long edgeMaxAge = Math.min(props.getEdgeMaxAgeSeconds(), remainingSeconds);
+        if (edgeMaxAge <= 0) {
+            return REDIRECT_CACHE_CONTROL_NO_STORE;
+        }
+        return "public, max-age=" + Math.min(props.getBrowserMaxAgeSeconds(), edgeMaxAge) + ", s-maxage=" + edgeMaxAge;
     }
 
     @Override
@@ -547,46 +1212,59 @@ public class LinkServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements
                 .build();
     }
 
-    private LinkStatsRecordDTO buildLinkStatsRecordAndSetUser(String fullShortUrl, ServletRequest request, ServletResponse response) {
-        Cookie[] cookies = ((HttpServletRequest) request).getCookies();
-        AtomicReference<String> uv = new AtomicReference<>();
-        // UV Cookie 最大保留 3 个月（从常量类提取）
-        Runnable addResponseCookieTask = () -> {
-            uv.set(UUID.fastUUID().toString());
-            Cookie uvCookie = new Cookie("uv", uv.get());
-            uvCookie.setMaxAge(UV_COOKIE_MAX_AGE_SECONDS);
-            uvCookie.setPath(StrUtil.sub(fullShortUrl, fullShortUrl.indexOf("/"), fullShortUrl.length()));
-            ((HttpServletResponse) response).addCookie(uvCookie);
-        };
-        if (ArrayUtil.isNotEmpty(cookies)) {
-            Arrays.stream(cookies)
-                    .filter(each -> Objects.equals(each.getName(), "uv"))
-                    .findFirst()
-                    .map(Cookie::getValue)
-                    .ifPresentOrElse(uv::set, addResponseCookieTask);
-        } else {
-            addResponseCookieTask.run();
+    /**
+     * 读取 UV Cookie，不存在时生成新 UV 并按需下发
+     */
+    private String resolveUvAndSetCookie(String fullShortUrl, HttpServletRequest httpRequest, HttpServletResponse httpResponse, boolean setUvCookie) {
+        String uv = null;
+        Cookie[] cookies = httpRequest.getCookies();
+        if (cookies != null) {
+            for (Cookie each : cookies) {
+                if ("uv".equals(each.getName())) {
+                    uv = each.getValue();
+                    break;
+                }
+            }
+        }
+        if (uv == null) {
+            // UV Cookie 最大保留 3 个月（从常量类提取）
+            uv = UUID.fastUUID().toString();
+            // 可边缘缓存的响应不下发 Cookie，本次访问按新 UV 计
+            if (setUvCookie) {
+                Cookie uvCookie = new Cookie("uv", uv);
+                uvCookie.setMaxAge(UV_COOKIE_MAX_AGE_SECONDS);
+                uvCookie.setPath(fullShortUrl.substring(fullShortUrl.indexOf('/')));
+                httpResponse.addCookie(uvCookie);
+            }
         }
-        String uip = LinkUtil.getActualIp(((HttpServletRequest) request));
-        String os = LinkUtil.getOs(((HttpServletRequest) request));
-        String browser = LinkUtil.getBrowser(((HttpServletRequest) request));
-        String device = LinkUtil.getDevice(((HttpServletRequest) request));
-        return LinkStatsRecordDTO.builder()
+        return uv;
+    }
+
+    @Override
+    public void recordRedirect(String fullShortUrl, String uv, String uip, String userAgent, int variant) {
+        hotLinkDetector.record(fullShortUrl);
+        // UA 只解析一次（按原始 UA 缓存），os / browser / device 共用同一结果
+        UserAgentInfo userAgentInfo = UserAgentClassifier.classify(userAgent);
+        linkStats(LinkStatsRecordDTO.builder()
                 .fullShortUrl(fullShortUrl)
-                .uv(uv.get())
+                .uv(uv)
                 .uip(uip)
-                .os(os)
-                .browser(browser)
-                .device(device)
+                .os(userAgentInfo.os())
+                .browser(userAgentInfo.browser())
+                .device(userAgentInfo.device())
+                .variant(variant < 0 ? null : variant)
                 .currentDate(new Date())
-                .build();
+                .build());
+    }
+
+    @Override
+    public List<HotLinkRespDTO> listHotLinks() {
+        return hotLinkDetector.listHotLinks();
     }
 
     @Override
     public void linkStats(LinkStatsRecordDTO linkStatsRecordDTO) {
-        Map<String, String> producerMap = new HashMap<>();
-        producerMap.put("statsRecord", JSON.toJSONString(linkStatsRecordDTO));
-        linkStatsSaveProducer.send(producerMap);
+        linkStatsSaveProducer.send(linkStatsRecordDTO);
     }
 
     private void verificationWhitelist(String originUrl) {
@@ -41,6 +41,7 @@ public class LinkStatsServiceImpl implements LinkStatsService {
     private final LinkBrowserStatsMapper linkBrowserStatsMapper;
     private final LinkOsStatsMapper linkOsStatsMapper;
     private final LinkDeviceStatsMapper linkDeviceStatsMapper;
+    private final LinkVariantStatsMapper linkVariantStatsMapper;
     private final LinkNetworkStatsMapper linkNetworkStatsMapper;
 
     @Override
@@ -223,6 +224,22 @@ public class LinkStatsServiceImpl implements LinkStatsService {
                     .build();
             networkStats.add(networkRespDTO);
         });
+        // 分流目标访问详情
+        List<LinkStatsVariantRespDTO> variantStats = new ArrayList<>();
+        List<LinkVariantStatsDO> listVariantStatsByShortLink = linkVariantStatsMapper.listVariantStatsByShortLink(linkStatsReqDTO);
+        int variantSum = listVariantStatsByShortLink.stream()
+                .mapToInt(LinkVariantStatsDO::getCnt)
+                .sum();
+        listVariantStatsByShortLink.forEach(each -> {
+            double ratio = (double) each.getCnt() / variantSum;
+            double actualRatio = Math.round(ratio * 100.0) / 100.0;
+            LinkStatsVariantRespDTO variantRespDTO = LinkStatsVariantRespDTO.builder()
+                    .cnt(each.getCnt())
+                    .variant(each.getVariant())
+                    .ratio(actualRatio)
+                    .build();
+            variantStats.add(variantRespDTO);
+        });
         return LinkStatsRespDTO.builder()
                 .pv(pvUvUidStatsByShortLink.getPv())
                 .uv(pvUvUidStatsByShortLink.getUv())
@@ -237,6 +254,7 @@ public class LinkStatsServiceImpl implements LinkStatsService {
                 .uvTypeStats(uvTypeStats)
                 .deviceStats(deviceStats)
                 .networkStats(networkStats)
+                .variantStats(variantStats)
                 .build();
     }
 
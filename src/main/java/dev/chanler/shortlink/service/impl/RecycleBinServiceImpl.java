@@ -7,7 +7,12 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import dev.chanler.shortlink.common.biz.user.GroupOwnershipVerifier;
+import dev.chanler.shortlink.common.cache.EdgeCachePurger;
+import dev.chanler.shortlink.common.cache.LocalCacheInvalidationBus;
+import dev.chanler.shortlink.common.enums.LocalCacheTypeEnum;
 import dev.chanler.shortlink.dao.entity.LinkDO;
+import dev.chanler.shortlink.dao.entity.LinkGotoDO;
+import dev.chanler.shortlink.dao.mapper.LinkGotoMapper;
 import dev.chanler.shortlink.dao.mapper.LinkMapper;
 import dev.chanler.shortlink.dto.req.RecycleBinLinkPageReqDTO;
 import dev.chanler.shortlink.dto.req.RecycleBinRemoveReqDTO;
@@ -16,10 +21,13 @@ import dev.chanler.shortlink.dto.req.RecycleBinSaveReqDTO;
 import dev.chanler.shortlink.dto.resp.LinkPageRespDTO;
 import dev.chanler.shortlink.service.RecycleBinService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_IS_NULL_SHORT_LINK_KEY;
+import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_POLICY_SHORT_LINK_KEY;
 import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_SHORT_LINK_KEY;
 
 /**
@@ -30,9 +38,12 @@ import static dev.chanler.shortlink.common.constant.RedisKeyConstant.GOTO_SHORT_
 @RequiredArgsConstructor
 public class RecycleBinServiceImpl extends ServiceImpl<LinkMapper, LinkDO> implements RecycleBinService {
 
-    private final StringRedisTemplate stringRedisTemplate;
     private final GroupOwnershipVerifier groupOwnershipService;
+    private final LocalCacheInvalidationBus localCacheInvalidationBus;
+    private final EdgeCachePurger edgeCachePurger;
+    private final LinkGotoMapper linkGotoMapper;
 
+    @Transactional(rollbackFor = Exception.class)
     @Override
     public void saveRecycledBin(RecycleBinSaveReqDTO recycleBinSaveReqDTO) {
         groupOwnershipService.assertOwnedByCurrentUser(recycleBinSaveReqDTO.getGid());
@@ -44,10 +55,15 @@ public class RecycleBinServiceImpl extends ServiceImpl<LinkMapper, LinkDO> imple
         LinkDO linkDO = LinkDO.builder()
                 .enableStatus(1)
                 .build();
-        baseMapper.update(linkDO, updateWrapper);
-        stringRedisTemplate.delete(
-                String.format(GOTO_SHORT_LINK_KEY, recycleBinSaveReqDTO.getFullShortUrl())
-        );
+        if (baseMapper.update(linkDO, updateWrapper) > 0) {
+            syncLinkGoto(recycleBinSaveReqDTO.getFullShortUrl(), recycleBinSaveReqDTO.getGid(),
+                    LinkGotoDO.builder().enableStatus(1).build());
+        }
+        localCacheInvalidationBus.publish(LocalCacheTypeEnum.REDIRECT, recycleBinSaveReqDTO.getFullShortUrl(), List.of(
+                String.format(GOTO_SHORT_LINK_KEY, recycleBinSaveReqDTO.getFullShortUrl()),
+                String.format(GOTO_POLICY_SHORT_LINK_KEY, recycleBinSaveReqDTO.getFullShortUrl())
+        ));
+        edgeCachePurger.purge(recycleBinSaveReqDTO.getFullShortUrl());
     }
 
     @Override
@@ -66,6 +82,7 @@ public class RecycleBinServiceImpl extends ServiceImpl<LinkMapper, LinkDO> imple
         });
     }
 
+    @Transactional(rollbackFor = Exception.class)
     @Override
     public void restoreLink(RecycleBinRestoreReqDTO recycleBinRestoreReqDTO) {
         groupOwnershipService.assertOwnedByCurrentUser(recycleBinRestoreReqDTO.getGid());
@@ -77,12 +94,17 @@ public class RecycleBinServiceImpl extends ServiceImpl<LinkMapper, LinkDO> imple
         LinkDO linkDO = LinkDO.builder()
                 .enableStatus(0)
                 .build();
-        baseMapper.update(linkDO, updateWrapper);
-        stringRedisTemplate.delete(
-                String.format(GOTO_IS_NULL_SHORT_LINK_KEY, recycleBinRestoreReqDTO.getFullShortUrl())
-        );
+        if (baseMapper.update(linkDO, updateWrapper) > 0) {
+            syncLinkGoto(recycleBinRestoreReqDTO.getFullShortUrl(), recycleBinRestoreReqDTO.getGid(),
+                    LinkGotoDO.builder().enableStatus(0).build());
+        }
+        localCacheInvalidationBus.publish(LocalCacheTypeEnum.NEGATIVE, recycleBinRestoreReqDTO.getFullShortUrl(),
+                List.of(String.format(GOTO_IS_NULL_SHORT_LINK_KEY, recycleBinRestoreReqDTO.getFullShortUrl())));
+        // 移入回收站期间边缘节点可能缓存了 404 跳转
+        edgeCachePurger.purge(recycleBinRestoreReqDTO.getFullShortUrl());
     }
 
+    @Transactional(rollbackFor = Exception.class)
     @Override
     public void removeLink(RecycleBinRemoveReqDTO recycleBinRemoveReqDTO) {
         groupOwnershipService.assertOwnedByCurrentUser(recycleBinRemoveReqDTO.getGid());
@@ -95,6 +117,21 @@ public class RecycleBinServiceImpl extends ServiceImpl<LinkMapper, LinkDO> imple
                 .delTime(System.currentTimeMillis())
                 .build();
         delLinkDO.setDelFlag(1);
-        baseMapper.update(delLinkDO, updateWrapper);
+        if (baseMapper.update(delLinkDO, updateWrapper) > 0) {
+            syncLinkGoto(recycleBinRemoveReqDTO.getFullShortUrl(), recycleBinRemoveReqDTO.getGid(),
+                    LinkGotoDO.builder().delFlag(1).build());
+        }
+        localCacheInvalidationBus.publish(LocalCacheTypeEnum.REDIRECT, recycleBinRemoveReqDTO.getFullShortUrl());
+        edgeCachePurger.purge(recycleBinRemoveReqDTO.getFullShortUrl());
+    }
+
+    /**
+     * 同步跳转表冗余的启用、删除标识（跳转表按 full_short_url 分片）
+     */
+    private void syncLinkGoto(String fullShortUrl, String gid, LinkGotoDO linkGotoDO) {
+        LambdaUpdateWrapper<LinkGotoDO> updateWrapper = Wrappers.lambdaUpdate(LinkGotoDO.class)
+                .eq(LinkGotoDO::getFullShortUrl, fullShortUrl)
+                .eq(LinkGotoDO::getGid, gid);
+        linkGotoMapper.update(linkGotoDO, updateWrapper);
     }
 }
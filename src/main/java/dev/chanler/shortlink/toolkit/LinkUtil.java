@@ -7,6 +7,7 @@ import cn.hutool.core.util.URLUtil;
 import com.google.common.net.InternetDomainName;
 import dev.chanler.shortlink.common.config.GotoDomainWhiteListConfiguration;
 import dev.chanler.shortlink.toolkit.ipgeo.GeoInfo;
+import dev.chanler.shortlink.toolkit.useragent.UserAgentClassifier;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -20,6 +21,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -46,6 +48,88 @@ public class LinkUtil {
                 .orElse(DEFAULT_CACHE_VALID_TIME);
     }
 
+    /**
+     * 跳转热路径 key 构建器（线程复用，host/port 前缀预先拼好）
+     */
+    private static final ThreadLocal<FullShortUrlBuilder> FULL_SHORT_URL_BUILDER = ThreadLocal.withInitial(FullShortUrlBuilder::new);
+
+    /**
+     * 构建完整短链接 host[:port]/shortUri
+     * 同一线程连续请求同一 host/port 时只追加短码，整个过程仅分配结果 String
+     * @param serverName 请求 host
+     * @param serverPort 请求端口，80 时省略
+     * @param shortUri 短码
+     * @return 完整短链接
+     */
+    public static String buildFullShortUrl(String serverName, int serverPort, String shortUri) {
+        return FULL_SHORT_URL_BUILDER.get().build(serverName, serverPort, shortUri);
+    }
+
+    /**
+     * 将原始链接预编码为可直接写入 Location 响应头的值
+     * 纯可见 ASCII 直接返回原对象（不分配），否则对非 ASCII、空白与控制字符做 UTF-8 百分号编码
+     * @param originUrl 原始链接
+     * @return Location 响应头值
+     */
+    public static String encodeLocation(String originUrl) {
+        if (originUrl == null) {
+            return null;
+        }
+        int len = originUrl.length();
+        int i = 0;
+        while (i < len) {
+            char c = originUrl.charAt(i);
+            if (c <= 0x20 || c >= 0x7F) {
+                break;
+            }
+            i++;
+        }
+        if (i == len) {
+            return originUrl;
+        }
+        StringBuilder sb = new StringBuilder(len + 16);
+        sb.append(originUrl, 0, i);
+        byte[] bytes = originUrl.substring(i).getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            int v = b & 0xFF;
+            if (v <= 0x20 || v >= 0x7F) {
+                sb.append('%').append(HEX[v >> 4]).append(HEX[v & 0x0F]);
+            } else {
+                sb.append((char) v);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * 复用 StringBuilder 的完整短链接构建器，缓存上一次的 host/port 前缀
+     */
+    private static final class FullShortUrlBuilder {
+
+        private final StringBuilder sb = new StringBuilder(64);
+        private String lastServerName;
+        private int lastServerPort = -1;
+        private int prefixLength;
+
+        String build(String serverName, int serverPort, String shortUri) {
+            if (serverPort != lastServerPort || !serverName.equals(lastServerName)) {
+                sb.setLength(0);
+                sb.append(serverName);
+                if (serverPort != 80) {
+                    sb.append(':').append(serverPort);
+                }
+                sb.append('/');
+                lastServerName = serverName;
+                lastServerPort = serverPort;
+                prefixLength = sb.length();
+            }
+            sb.setLength(prefixLength);
+            return sb.append(shortUri).toString();
+        }
+    }
+
     /**
      * 获取实际访问IP
      * @param request HttpServletResponse对象
@@ -55,6 +139,16 @@ public class LinkUtil {
         if (request == null) {
             return null;
         }
+        return getActualIp(request::getHeader, request.getRemoteAddr());
+    }
+
+    /**
+     * 获取实际访问IP（与容器无关，供独立跳转监听器使用）
+     * @param headerLookup 请求头读取函数
+     * @param remoteAddr 对端地址
+     * @return 实际访问IP
+     */
+    public static String getActualIp(Function<String, String> headerLookup, String remoteAddr) {
         String[] headerNames = {
                 "X-Forwarded-For",
                 "X-Real-IP",
@@ -64,16 +158,17 @@ public class LinkUtil {
                 "HTTP_X_FORWARDED_FOR"
         };
         for (String header : headerNames) {
-            String ip = request.getHeader(header);
+            String ip = headerLookup.apply(header);
             if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
                 continue;
             }
-            String first = ip.split(",")[0].trim();
+            int comma = ip.indexOf(',');
+            String first = (comma < 0 ? ip : ip.substring(0, comma)).trim();
             if (!first.isEmpty() && !"unknown".equalsIgnoreCase(first)) {
                 return first;
             }
         }
-        return request.getRemoteAddr();
+        return remoteAddr;
     }
 
     /**
@@ -82,23 +177,7 @@ public class LinkUtil {
      * @return 操作系统
      */
     public static String getOs(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent").toLowerCase();
-        if (userAgent == null) {
-            return "Unknown";
-        }
-        if (userAgent.contains("windows")) {
-            return "Windows";
-        } else if (userAgent.contains("mac")) {
-            return "Mac";
-        } else if (userAgent.contains("x11") || userAgent.contains("linux")) {
-            return "Unix";
-        } else if (userAgent.contains("android")) {
-            return "Android";
-        } else if (userAgent.contains("iphone") || userAgent.contains("ipad")) {
-            return "iOS";
-        } else {
-            return "Unknown";
-        }
+        return UserAgentClassifier.classify(request.getHeader("User-Agent")).os();
     }
 
     /**
@@ -107,25 +186,7 @@ public class LinkUtil {
      * @return 浏览器
      */
     public static String getBrowser(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent").toLowerCase();
-        if (userAgent == null) {
-            return "Unknown";
-        }
-        if (userAgent.contains("edg")) {
-            return "Edge";
-        } else if (userAgent.contains("msie") || userAgent.contains("trident")) {
-            return "Internet Explorer";
-        } else if (userAgent.contains("chrome")) {
-            return "Chrome";
-        } else if (userAgent.contains("safari") && !userAgent.contains("chrome")) {
-            return "Safari";
-        } else if (userAgent.contains("firefox")) {
-            return "Firefox";
-        } else if (userAgent.contains("opera") || userAgent.contains("opr")) {
-            return "Opera";
-        } else {
-            return "Unknown";
-        }
+        return UserAgentClassifier.classify(request.getHeader("User-Agent")).browser();
     }
 
     /**
@@ -134,15 +195,7 @@ public class LinkUtil {
      * @return 设备类型
      */
     public static String getDevice(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent").toLowerCase();
-        if (userAgent == null) {
-            return "Unknown";
-        }
-        if (userAgent.contains("mobile")) {
-            return "Mobile";
-        } else {
-            return "Desktop";
-        }
+        return UserAgentClassifier.classify(request.getHeader("User-Agent")).device();
     }
 
     /**
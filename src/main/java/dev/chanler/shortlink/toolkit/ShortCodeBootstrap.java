@@ -1,24 +1,50 @@
 package dev.chanler.shortlink.toolkit;
 
+import dev.chanler.shortlink.common.cache.RedisCircuitBreaker;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 /**
- * 启动引导：由 Spring 容器在应用启动时执行一次，初始化短码生成器。
+ * 启动引导：由 Spring 容器在应用启动时执行一次，初始化短码生成器；
+ * 并在后台按 watermarkRefreshMillis 刷新全局已分配水位，跳转请求线程只读本地水位
  * @author: Chanler
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class ShortCodeBootstrap {
 
     private final StringRedisTemplate stringRedisTemplate;
     private final ShortCodeProps shortCodeProps;
+    private final RedisCircuitBreaker redisCircuitBreaker;
 
     @PostConstruct
     public void init() {
         ShortCodeUtil.init(stringRedisTemplate, shortCodeProps);
+        refreshWatermark();
     }
-}
 
+    /**
+     * 后台刷新全局已分配水位（受熔断保护），失败或熔断时立即让跳转放弃按水位否定
+     */
+    @Scheduled(fixedDelayString = "#{@shortCodeProps.watermarkRefreshMillis}")
+    public void refreshWatermark() {
+        if (!redisCircuitBreaker.allowRequest()) {
+            ShortCodeUtil.invalidateWatermark();
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            ShortCodeUtil.refreshWatermark(startNanos);
+            redisCircuitBreaker.onSuccess(System.nanoTime() - startNanos);
+        } catch (RuntimeException ex) {
+            redisCircuitBreaker.onFailure(ex);
+            ShortCodeUtil.invalidateWatermark();
+            log.warn("Short code watermark refresh error, cause={}", ex.toString());
+        }
+    }
+}
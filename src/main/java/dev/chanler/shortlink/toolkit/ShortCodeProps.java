@@ -37,4 +37,14 @@ public class ShortCodeProps {
      * 仿射置换参数 b（需 0<=b<62^length）。为空则用默认值
      */
     private String b;
+
+    /**
+     * 全局已分配水位的后台刷新间隔，单位：毫秒（默认 1000）。连续三个间隔未刷新成功（或 Redis 熔断）时不再按水位否定
+     */
+    private Long watermarkRefreshMillis = 1_000L;
+
+    /**
+     * 水位之上的容差号段数（默认 100）：序号落在水位之上该范围内的短码可能刚由其他节点发放，按可能存在处理
+     */
+    private Long watermarkSlackSegments = 100L;
 }
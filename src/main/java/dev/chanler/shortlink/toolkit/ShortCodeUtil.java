@@ -33,6 +33,8 @@ public class ShortCodeUtil {
     private static volatile long B;               // 仿射参数 b
     private static volatile long N;               // N=62^LENGTH
     private static volatile long INV_A;           // a 在模 N 下的乘法逆元
+    private static volatile long WATERMARK_STALE_NANOS; // 水位超过该时长未刷新视为过期
+    private static volatile long WATERMARK_SLACK; // 水位之上按可能存在处理的序号范围
 
     /**
      * Redis 依赖
@@ -54,6 +56,17 @@ public class ShortCodeUtil {
 
     private static final Object LOCK = new Object();
 
+    /**
+     * 全局已分配水位：集群内所有节点已取走号段的最大序号（Redis 计数器值 - 1），序号大于水位的短码一定不存在；
+     * 各节点号段不同，仅凭本地游标判定会把其他节点发放的更大序号误判为不存在
+     */
+    private static final AtomicLong allocatedMax = new AtomicLong(-1);
+    /**
+     * 水位最近一次成功刷新的开始时间，由 {@link ShortCodeBootstrap} 后台定时刷新
+     */
+    private static volatile long watermarkRefreshedNanos;
+    private static volatile boolean watermarkValid;
+
     private record Segment(long start, long end) {}
 
     private ShortCodeUtil() {}
@@ -106,6 +119,15 @@ public class ShortCodeUtil {
         BigInteger inv = BigInteger.valueOf(A).modInverse(BigInteger.valueOf(N));
         INV_A = inv.longValue();
 
+        long refreshMillis = (props.getWatermarkRefreshMillis() == null ? 1_000L : props.getWatermarkRefreshMillis());
+        long slackSegments = (props.getWatermarkSlackSegments() == null ? 100L : props.getWatermarkSlackSegments());
+        if (refreshMillis <= 0 || slackSegments < 0) {
+            throw new IllegalArgumentException("watermarkRefreshMillis must be > 0 and watermarkSlackSegments must be >= 0");
+        }
+        // 允许连续错过两次刷新，第三次仍未成功时放弃否定
+        WATERMARK_STALE_NANOS = refreshMillis * 1_000_000L * 3;
+        WATERMARK_SLACK = SEGMENT_STEP * slackSegments;
+
         stringRedisTemplate = redisTemplate;
         // 启动预热：同步拉首个号段，避免首个请求落慢路径
         Segment first = fetchFromRedis();
@@ -192,6 +214,9 @@ public class ShortCodeUtil {
         }
         long newEnd = val - 1;
         long newStart = newEnd - SEGMENT_STEP + 1;
+        // INCRBY 返回值即全局计数器，顺带推进水位
+        allocatedMax.accumulateAndGet(newEnd, Math::max);
+        watermarkRefreshedNanos = System.nanoTime();
         return new Segment(newStart, newEnd);
     }
 
@@ -257,6 +282,22 @@ public class ShortCodeUtil {
         return v;
     }
 
+    /* Base62 解码 s[from, to) 为 y（long），不分配子串；含非法字符或超过 10 位返回 -1 */
+    public static long decodeToY(String s, int from, int to) {
+        if (to - from > 10) return -1L;
+        long v = 0L;
+        for (int k = from; k < to; k++) {
+            char c = s.charAt(k);
+            int idx;
+            if (c >= '0' && c <= '9') idx = c - '0';
+            else if (c >= 'A' && c <= 'Z') idx = 10 + (c - 'A');
+            else if (c >= 'a' && c <= 'z') idx = 36 + (c - 'a');
+            else return -1L;
+            v = v * 62 + idx;
+        }
+        return v;
+    }
+
     /* 解码短码为原始序号 i（long） */
     public static long decodeToIndex(String code) {
         ensureInit();
@@ -265,19 +306,56 @@ public class ShortCodeUtil {
         }
         long y = decodeToY(code);
         long t = (y - B) % N; if (t < 0) t += N;
-        // i = invA * t mod N（用 BigInteger 做一次取模乘法，避免 long 中间值溢出）
-        long i = BigInteger.valueOf(INV_A).multiply(BigInteger.valueOf(t)).mod(BigInteger.valueOf(N)).longValue();
-        return i;
+        // i = invA * t mod N
+        return mulMod(INV_A, t, N);
+    }
+
+    /*
+     * a * b mod n（a、b < n < 2^42，6/7 位下 n <= 62^7 成立）：b 拆为高低 21 位，各部分乘积均小于 2^63，
+     * 不创建 BigInteger，跳转热路径每次未命中都会调用
+     */
+    private static long mulMod(long a, long b, long n) {
+        long high = (a * (b >>> 21)) % n;
+        long low = (a * (b & 0x1FFFFFL)) % n;
+        return ((high << 21) % n + low) % n;
     }
 
-    /* 快速否定：仅当 i > maxAllocated 才能断言不存在；否则返回 true（可能存在） */
+    /*
+     * 快速否定：仅当 i > 全局已分配水位才能断言不存在；否则返回 true（可能存在）
+     * 只读本地水位，不产生网络往返：紧邻水位的短码可能刚由其他节点发放，按可能存在处理；
+     * 水位过期（后台刷新失败、Redis 熔断）时不再否定，交由 Redis 与布隆过滤器判定；
+     * 其余（随机构造的短码绝大多数远超水位）直接否定
+     */
     public static boolean mightExist(String code) {
         try {
             if (code == null || code.length() != LENGTH) return true;
             long i = decodeToIndex(code);
-            return i <= cursor.get();
+            long watermark = allocatedMax.get();
+            if (i <= watermark) return true;
+            if (!watermarkValid || System.nanoTime() - watermarkRefreshedNanos >= WATERMARK_STALE_NANOS) return true;
+            return i - watermark <= WATERMARK_SLACK;
         } catch (Exception e) {
             return true;
         }
     }
+
+    /*
+     * 读取 Redis 计数器刷新水位（由 {@link ShortCodeBootstrap} 在后台线程调用，调用方负责熔断保护）
+     * @param startNanos 本次读取开始时间，水位的新鲜度以此为准
+     */
+    static void refreshWatermark(long startNanos) {
+        String value = stringRedisTemplate.opsForValue().get(SHORT_CODE_ALLOCATION_KEY);
+        if (value != null) {
+            allocatedMax.accumulateAndGet(Long.parseLong(value) - 1, Math::max);
+        }
+        watermarkRefreshedNanos = startNanos;
+        watermarkValid = true;
+    }
+
+    /*
+     * 水位刷新失败或 Redis 熔断时调用，立即停止按水位否定
+     */
+    static void invalidateWatermark() {
+        watermarkValid = false;
+    }
 }
@@ -0,0 +1,103 @@
+package dev.chanler.shortlink.toolkit.useragent;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Locale;
+
+/**
+ * User-Agent 分类器
+ * 每个 UA 只转小写一次，依次判定操作系统、浏览器、设备与爬虫标识；
+ * 移动系统先于桌面系统判定：iPhone / iPad 的 UA 含 "like Mac OS X"，Android 的 UA 含 "Linux; Android"；
+ * 真实流量中不同 UA 数量很少，结果按原始 UA 缓存在有界本地缓存中，命中时无需任何字符串扫描
+ * @author: Chanler
+ */
+public final class UserAgentClassifier {
+
+    /**
+     * 超长 UA 多为伪造或异常流量，不进入缓存，避免挤占常见 UA
+     */
+    private static final int MAX_CACHEABLE_LENGTH = 512;
+
+    private static final String[] BOT_MARKERS = {
+            "bot", "spider", "crawl", "slurp", "curl", "wget", "python", "java/", "go-http-client", "okhttp", "headless"
+    };
+
+    private static final Cache<String, UserAgentInfo> CACHE = Caffeine.newBuilder()
+            .maximumSize(4096)
+            .build();
+
+    private UserAgentClassifier() {
+    }
+
+    /**
+     * 解析 User-Agent
+     * @param userAgent 原始 User-Agent 请求头，可为 null
+     * @return 解析结果
+     */
+    public static UserAgentInfo classify(String userAgent) {
+        if (userAgent == null || userAgent.isEmpty()) {
+            return UserAgentInfo.ABSENT;
+        }
+        if (userAgent.length() > MAX_CACHEABLE_LENGTH) {
+            return parse(userAgent);
+        }
+        UserAgentInfo cached = CACHE.getIfPresent(userAgent);
+        if (cached != null) {
+            return cached;
+        }
+        UserAgentInfo info = parse(userAgent);
+        CACHE.put(userAgent, info);
+        return info;
+    }
+
+    private static UserAgentInfo parse(String userAgent) {
+        String ua = userAgent.toLowerCase(Locale.ROOT);
+        return new UserAgentInfo(parseOs(ua), parseBrowser(ua), parseDevice(ua), parseBot(ua));
+    }
+
+    private static String parseOs(String ua) {
+        if (ua.contains("windows")) {
+            return "Windows";
+        } else if (ua.contains("iphone") || ua.contains("ipad")) {
+            return "iOS";
+        } else if (ua.contains("android")) {
+            return "Android";
+        } else if (ua.contains("mac")) {
+            return "Mac";
+        } else if (ua.contains("x11") || ua.contains("linux")) {
+            return "Unix";
+        }
+        return UserAgentInfo.UNKNOWN;
+    }
+
+    private static String parseBrowser(String ua) {
+        if (ua.contains("edg")) {
+            return "Edge";
+        } else if (ua.contains("msie") || ua.contains("trident")) {
+            return "Internet Explorer";
+        } else if (ua.contains("chrome")) {
+            return "Chrome";
+        } else if (ua.contains("safari")) {
+            return "Safari";
+        } else if (ua.contains("firefox")) {
+            return "Firefox";
+        } else if (ua.contains("opera") || ua.contains("opr")) {
+            return "Opera";
+        }
+        return UserAgentInfo.UNKNOWN;
+    }
+
+    private static String parseDevice(String ua) {
+        return ua.contains("mobile") ? "Mobile" : "Desktop";
+    }
+
+    private static boolean parseBot(String ua) {
+        for (String marker : BOT_MARKERS) {
+            if (ua.contains(marker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
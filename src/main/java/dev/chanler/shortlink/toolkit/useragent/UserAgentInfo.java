@@ -0,0 +1,19 @@
+package dev.chanler.shortlink.toolkit.useragent;
+
+/**
+ * User-Agent 解析结果（不可变，可安全缓存共享）
+ * @param os 操作系统
+ * @param browser 浏览器
+ * @param device 设备类型
+ * @param bot 是否爬虫/脚本客户端
+ * @author: Chanler
+ */
+public record UserAgentInfo(String os, String browser, String device, boolean bot) {
+
+    public static final String UNKNOWN = "Unknown";
+
+    /**
+     * User-Agent 缺失时的结果
+     */
+    public static final UserAgentInfo ABSENT = new UserAgentInfo(UNKNOWN, UNKNOWN, UNKNOWN, false);
+}
@@ -0,0 +1,10 @@
+-- Publish a local cache invalidation event with a monotonically increasing sequence
+-- KEYS[1]: sequence key (short-link:cache-invalidation:seq)
+-- ARGV[1]: channel
+-- ARGV[2]: cache type
+-- ARGV[3]: cache key
+-- return: sequence number of this event
+
+local seq = redis.call('INCR', KEYS[1])
+redis.call('PUBLISH', ARGV[1], seq .. '|' .. ARGV[2] .. '|' .. ARGV[3])
+return seq
@@ -1,19 +1,27 @@
 -- hll_count_add_delta.lua
--- KEYS[1] = HLL key  (uv/uip)
--- KEYS[2] = active set key (uv/uip)
--- ARGV[1] = member (uv/ip)
--- ARGV[2] = fullShortUrl (for active set)
--- ARGV[3] = ttlSeconds (int, e.g. 259200)
-local before = redis.call('PFCOUNT', KEYS[1])
-redis.call('PFADD', KEYS[1], ARGV[1])
--- 将 fsu 记入活跃集合（幂等）
-redis.call('SADD', KEYS[2], ARGV[2])
--- TTL 兜底：首次出现或无 TTL 时设置统一过期
-local ttl1 = redis.call('TTL', KEYS[1])
-if not ttl1 or ttl1 < 0 then redis.call('EXPIRE', KEYS[1], ARGV[3]) end
-local ttl2 = redis.call('TTL', KEYS[2])
-if not ttl2 or ttl2 < 0 then redis.call('EXPIRE', KEYS[2], ARGV[3]) end
-local after = redis.call('PFCOUNT', KEYS[1])
-local delta = after - before
-if delta < 0 then delta = 0 end
-return delta
\ No newline at end of file
+-- 同一短链接的 UV / UIP HLL 一次往返完成 PFADD 并返回增量
+-- 两个 key 以 {fullShortUrl} 为 hash tag，位于同一 slot，兼容 Redis Cluster；活跃集合为全局 key，由 stats_active_add.lua 写入
+-- KEYS[1] = UV HLL key
+-- KEYS[2] = UIP HLL key
+-- ARGV[1] = uv member
+-- ARGV[2] = uip member
+-- ARGV[3] = ttlSeconds (int, e.g. 86400)
+-- 返回 {uvDelta, uipDelta, created}，created = 1 表示本次新建了 HLL（首次出现或无 TTL），调用方据此调用 stats_active_add.lua 写入活跃集合
+
+local ttl = tonumber(ARGV[3])
+local created = 0
+local deltas = {}
+for i = 1, 2 do
+    local before = redis.call('PFCOUNT', KEYS[i])
+    redis.call('PFADD', KEYS[i], ARGV[i])
+    -- TTL 兜底：首次出现或无 TTL 时设置统一过期
+    local current = redis.call('TTL', KEYS[i])
+    if not current or current < 0 then
+        redis.call('EXPIRE', KEYS[i], ttl)
+        created = 1
+    end
+    local delta = redis.call('PFCOUNT', KEYS[i]) - before
+    if delta < 0 then delta = 0 end
+    deltas[i] = delta
+end
+return {deltas[1], deltas[2], created}
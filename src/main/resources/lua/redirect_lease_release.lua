@@ -0,0 +1,9 @@
+-- Release a redirect load lease only if it is still held by the caller
+-- KEYS[1]: lease key (short-link:lease:goto:{fullShortUrl})
+-- ARGV[1]: owner token
+-- return: 1 if released, 0 if expired or taken over by another node
+
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
@@ -0,0 +1,22 @@
+-- redirect_lookup.lua
+-- 单次往返查询短链接跳转目标、空值标记、剩余 TTL 与跳转策略
+-- 三个 key 以 {fullShortUrl} 为 hash tag，位于同一 slot，兼容 Redis Cluster
+-- KEYS[1] = 跳转 key (short-link:goto:{fullShortUrl})
+-- KEYS[2] = 空值 key (short-link:is-null:goto_{fullShortUrl})
+-- KEYS[3] = 跳转策略 key (short-link:goto-policy:{fullShortUrl})，默认策略不存在
+-- 返回 {target, negative, pttl, policy}
+--   命中：{原始链接, 0, 剩余毫秒数（永久为 -1）, 跳转策略（默认策略为 ''）}
+--   空值：{'', 1, -2, ''}
+--   未命中：{'', 0, -2, ''}
+
+local target = redis.call('GET', KEYS[1])
+if target then
+    local policy = redis.call('GET', KEYS[3])
+    return {target, 0, redis.call('PTTL', KEYS[1]), policy or ''}
+end
+
+if redis.call('EXISTS', KEYS[2]) == 1 then
+    return {'', 1, -2, ''}
+end
+
+return {'', 0, -2, ''}
@@ -0,0 +1,18 @@
+-- stats_active_add.lua
+-- 当天首次写入 HLL 的短链接登记到 UV / UIP 活跃集合，SADD 与 TTL 兜底在同一脚本内原子完成
+-- 活跃集合为全局 key，无法与 {fullShortUrl} 同 slot，故不并入 hll_count_add_delta.lua；
+-- 两个集合以 {v} 为 hash tag，位于同一 slot，兼容 Redis Cluster
+-- KEYS[1] = UV 活跃集合 key
+-- KEYS[2] = UIP 活跃集合 key
+-- ARGV[1] = fullShortUrl
+-- ARGV[2] = ttlSeconds (int, e.g. 86400)
+
+local ttl = tonumber(ARGV[2])
+for i = 1, 2 do
+    redis.call('SADD', KEYS[i], ARGV[1])
+    local current = redis.call('TTL', KEYS[i])
+    if not current or current < 0 then
+        redis.call('EXPIRE', KEYS[i], ttl)
+    end
+end
+return 1
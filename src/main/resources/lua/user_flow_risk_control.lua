@@ -1,9 +1,9 @@
-local username = KEYS[1]
+-- 用户流量风控：滑动窗口计数
+-- KEYS[1] = 滑动窗口 ZSET key (short-link:user-flow-risk-control:{username})，由调用方传入，兼容 Redis Cluster
+-- ARGV[1] = 时间窗口，单位：秒
+local accessKey = KEYS[1]
 local timeWindowSec = tonumber(ARGV[1]) -- 时间窗口，单位：秒
 
--- 构造 Redis 中存储用户访问记录的 ZSET 键名
-local accessKey = "short-link:user-flow-risk-control:" .. username
-
 -- 当前时间戳（毫秒）
 local now = redis.call("TIME")
 local nowMillis = now[1] * 1000 + math.floor(now[2] / 1000)
@@ -0,0 +1,39 @@
+package dev.chanler.shortlink.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Redis 跳转策略编码与解析
+ * @author: Chanler
+ */
+class RedirectEntryTest {
+
+    private static final String ORIGIN_URL = "https://github.com/ChanlerDev/shortlink";
+
+    @Test
+    void validDateFlagRoundTrips() {
+        String policy = RedirectEntry.encodePolicy(301, true, true, null, null);
+        assertTrue(RedirectEntry.hasValidDate(policy));
+        RedirectEntry entry = RedirectEntry.ofRedis(ORIGIN_URL, 60_000L, policy);
+        assertEquals(301, entry.status());
+        assertTrue(entry.edgeCacheable());
+
+        policy = RedirectEntry.encodePolicy(302, false, true, null, null);
+        assertTrue(RedirectEntry.hasValidDate(policy));
+        assertFalse(RedirectEntry.ofRedis(ORIGIN_URL, 60_000L, policy).edgeCacheable());
+    }
+
+    @Test
+    void permanentLinkPolicyHasCacheTtl() {
+        assertFalse(RedirectEntry.hasValidDate(null));
+        assertFalse(RedirectEntry.hasValidDate(""));
+        assertFalse(RedirectEntry.hasValidDate(RedirectEntry.encodePolicy(307, true, false, null, null)));
+        // 升级前写入的 {status}|{edgeCacheable 0/1}
+        assertFalse(RedirectEntry.hasValidDate("301|1"));
+        assertTrue(RedirectEntry.ofRedis(ORIGIN_URL, 60_000L, "301|1").edgeCacheable());
+    }
+}
@@ -0,0 +1,47 @@
+package dev.chanler.shortlink.common.cache;
+
+import dev.chanler.shortlink.dto.biz.RedirectRuleDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 跳转规则操作系统条件匹配，使用真实浏览器 UA
+ * @author: Chanler
+ */
+class RedirectRulesTest {
+
+    private static final String IPHONE_SAFARI =
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_4 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.4 Mobile/15E148 Safari/604.1";
+    private static final String IPAD_SAFARI =
+            "Mozilla/5.0 (iPad; CPU OS 17_4 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.4 Mobile/15E148 Safari/604.1";
+    private static final String ANDROID_CHROME =
+            "Mozilla/5.0 (Linux; Android 14; Pixel 8) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0.6367.82 Mobile Safari/537.36";
+    private static final String MAC_SAFARI =
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.4 Safari/605.1.15";
+    private static final String LINUX_FIREFOX =
+            "Mozilla/5.0 (X11; Linux x86_64; rv:125.0) Gecko/20100101 Firefox/125.0";
+
+    private final RedirectRules rules = RedirectRules.compile(List.of(
+            RedirectRuleDTO.builder().os(List.of("iOS")).originUrl("https://apps.apple.com/app/id1").build(),
+            RedirectRuleDTO.builder().os(List.of("Android")).originUrl("https://play.google.com/store/apps/details?id=dev.chanler").build()));
+
+    @Test
+    void iosUserAgentsMatchIosRule() {
+        assertEquals(0, rules.select(IPHONE_SAFARI, null, null));
+        assertEquals(0, rules.select(IPAD_SAFARI, null, null));
+    }
+
+    @Test
+    void androidUserAgentMatchesAndroidRule() {
+        assertEquals(1, rules.select(ANDROID_CHROME, null, null));
+    }
+
+    @Test
+    void desktopUserAgentsMatchNoMobileRule() {
+        assertEquals(-1, rules.select(MAC_SAFARI, null, null));
+        assertEquals(-1, rules.select(LINUX_FIREFOX, null, null));
+    }
+}